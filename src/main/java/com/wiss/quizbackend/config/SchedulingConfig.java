@@ -0,0 +1,12 @@
+package com.wiss.quizbackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Aktiviert {@code @Scheduled} (z.B. ActiveGameSweeper).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,6 +1,7 @@
 package com.wiss.quizbackend.config;
 
 import com.wiss.quizbackend.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -48,6 +49,9 @@ public class SecurityConfig {
 
                 // SCHRITT 3: Authorization Rules - WER DARF WO REIN?
                 .authorizeHttpRequests(auth -> auth
+                        // Async-Dispatch am Ende eines SSE-Streams: der Request wurde beim
+                        // Verbindungsaufbau schon geprüft, das JWT liegt hier nicht mehr vor
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/swagger-ui/**",
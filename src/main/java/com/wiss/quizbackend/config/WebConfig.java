@@ -13,6 +13,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:5173") // <- Vite dev Server
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("X-Next-Cursor", "X-Total-Count", "ETag", "Last-Modified") // <- Paging- und Cache-Header fürs Frontend lesbar machen
                 .allowCredentials(false)
                 .maxAge(3600); // browser cached CORS-Info für 1h (3'600s)
     }
@@ -0,0 +1,46 @@
+package com.wiss.quizbackend.controller;
+
+import com.wiss.quizbackend.security.PrincipalCache;
+import com.wiss.quizbackend.service.EntityCacheStatsService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Betriebs-Endpoints für Admins (Monitoring).
+ */
+@RestController
+@RequestMapping("/api/admin")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final PrincipalCache principalCache;
+    private final EntityCacheStatsService entityCacheStatsService;
+
+    // Constructor Injection
+    public AdminController(PrincipalCache principalCache, EntityCacheStatsService entityCacheStatsService) {
+        this.principalCache = principalCache;
+        this.entityCacheStatsService = entityCacheStatsService;
+    }
+
+    /**
+     * GET /api/admin/cache/principals
+     * Hit/Miss-Statistik des Principal-Caches im JwtAuthenticationFilter
+     */
+    @GetMapping("/cache/principals")
+    public Map<String, Object> getPrincipalCacheStats() {
+        return principalCache.getStats();
+    }
+
+    /**
+     * GET /api/admin/cache/entities
+     * Hit/Miss-Statistik des Hibernate Second-Level-Caches (Question, Antworten, AppUser)
+     */
+    @GetMapping("/cache/entities")
+    public Map<String, Object> getEntityCacheStats() {
+        return entityCacheStatsService.getStats();
+    }
+}
@@ -99,6 +99,7 @@ public class AuthController {
 
             // 3. JWT Token generieren
             String token = jwtService.generateToken(
+                    user.getId(),
                     user.getUsername(),
                     user.getRole().name()
             );
@@ -1,12 +1,14 @@
 package com.wiss.quizbackend.controller;
 
-import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.dto.AnswerRequestDTO;
+import com.wiss.quizbackend.dto.AnswerResultDTO;
+import com.wiss.quizbackend.dto.GameStartDTO;
 import com.wiss.quizbackend.entity.GameSession;
-import com.wiss.quizbackend.service.AppUserService;
+import com.wiss.quizbackend.security.AuthenticatedUser;
 import com.wiss.quizbackend.service.GameSessionService;
+import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -14,35 +16,43 @@ import org.springframework.web.bind.annotation.*;
 public class GameSessionController {
 
     private final GameSessionService gameSessionService;
-    private final AppUserService appUserService;
 
-    public GameSessionController(GameSessionService gameSessionService, AppUserService appUserService) {
+    public GameSessionController(GameSessionService gameSessionService) {
         this.gameSessionService = gameSessionService;
-        this.appUserService = appUserService;
     }
 
     /**
      * POST /api/game/start
-     * Startet ein neues Quiz-Game
+     * Startet ein neues Quiz-Game und liefert das Deck (Fragen ohne korrekte Antwort)
      */
     @PostMapping("/start")
     @ResponseStatus(HttpStatus.CREATED)
-    public GameSession startGame(@RequestBody GameSession gameSession, @AuthenticationPrincipal UserDetails userDetails) {
-        // Get the User from the request
-        AppUser user = appUserService.findByUsername(userDetails.getUsername()).orElseThrow();
+    public GameStartDTO startGame(@RequestBody GameSession gameSession, @AuthenticationPrincipal AuthenticatedUser user) {
+        // User-ID direkt aus dem Principal (kein findByUsername mehr)
+        return gameSessionService.startGame(user.getUserId(), gameSession.getCategory(), gameSession.getTotalQuestions());
+    }
 
-        return gameSessionService.startGame(user.getId(), gameSession.getCategory(), gameSession.getTotalQuestions());
+    /**
+     * POST /api/game/{sessionId}/answer
+     * Wertet die Antwort auf eine Frage des Decks serverseitig aus
+     */
+    @PostMapping("/{sessionId}/answer")
+    public AnswerResultDTO answerQuestion(@PathVariable Long sessionId,
+                                          @Valid @RequestBody AnswerRequestDTO request,
+                                          @AuthenticationPrincipal AuthenticatedUser user) {
+        return gameSessionService.answerQuestion(
+                sessionId, user.getUserId(), request.getQuestionId(), request.getAnswer());
     }
 
     /**
      * PUT /api/game/{sessionId}/finish
-     * Beendet ein Game mit Resultat
+     * Beendet ein Game - das Resultat kommt aus den Antworten auf dem Server,
+     * ein correctAnswers im Body wird ignoriert
      */
     @PutMapping("/{sessionId}/finish")
     public GameSession finishGame(@PathVariable Long sessionId,
-                                  @RequestBody GameSession gameSession) {
-
-        return gameSessionService.finishGame(sessionId, gameSession.getCorrectAnswers());
+                                  @AuthenticationPrincipal AuthenticatedUser user) {
+        return gameSessionService.finishGame(sessionId, user.getUserId());
     }
 
     /**
@@ -1,12 +1,13 @@
 package com.wiss.quizbackend.controller;
 
 import com.wiss.quizbackend.dto.LeaderboardDTO;
-import com.wiss.quizbackend.entity.AppUser;
-import com.wiss.quizbackend.service.AppUserService;
+import com.wiss.quizbackend.security.AuthenticatedUser;
 import com.wiss.quizbackend.service.LeaderboardService;
+import com.wiss.quizbackend.stream.LeaderboardStream;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -16,31 +17,62 @@ import java.util.Map;
 public class LeaderboardController {
 
     private final LeaderboardService leaderboardService;
-    private final AppUserService appUserService;
+    private final LeaderboardStream leaderboardStream;
 
 
     // Constructor Injection
-    public LeaderboardController(LeaderboardService leaderboardService,AppUserService appUserService) {
+    public LeaderboardController(LeaderboardService leaderboardService, LeaderboardStream leaderboardStream) {
         this.leaderboardService = leaderboardService;
-        this.appUserService = appUserService;
+        this.leaderboardStream = leaderboardStream;
     }
 
     /**
-     * GET /api/leaderboard/top10
-     * Lädt die Top 10 Spieler (Global)
+     * GET /api/leaderboard/top10?limit=50
+     * Lädt die Top 10 Spieler (Global), mit limit auch mehr (max. leaderboard.max-page-size)
      */
     @GetMapping("/top10")
-    public List<LeaderboardDTO> getTop10Players() {
-        return leaderboardService.getTop10Players();
+    public List<LeaderboardDTO> getTop10Players(@RequestParam(required = false) Integer limit) {
+        return leaderboardService.getTopPlayers(limit);
     }
 
     /**
-     * GET /api/leaderboard/top10/sports
-     * Lädt die Top 10 Spieler einer Kategorie
+     * GET /api/leaderboard/top10/by-category?limit=5
+     * Lädt die Top 10 Spieler jeder Kategorie in einer Antwort
+     */
+    @GetMapping("/top10/by-category")
+    public Map<String, List<LeaderboardDTO>> getTop10PerCategory(@RequestParam(required = false) Integer limit) {
+        return leaderboardService.getTopPlayersPerCategory(limit);
+    }
+
+    /**
+     * GET /api/leaderboard/top10/sports?limit=50
+     * Lädt die Top 10 Spieler einer Kategorie, mit limit auch mehr
      */
     @GetMapping("/top10/{category}")
-    public List<LeaderboardDTO> getTop10ByCategory(@PathVariable String category) {
-        return leaderboardService.getTop10PlayersByCategory(category);
+    public List<LeaderboardDTO> getTop10ByCategory(@PathVariable String category,
+                                                   @RequestParam(required = false) Integer limit) {
+        return leaderboardService.getTopPlayersByCategory(category, limit);
+    }
+
+    /**
+     * GET /api/leaderboard/top?window=week&category=sports&limit=20
+     * Lädt die besten Spieler der letzten 24 Stunden (day), 7 Tage (week) oder 30 Tage (month)
+     */
+    @GetMapping("/top")
+    public List<LeaderboardDTO> getTopInWindow(@RequestParam String window,
+                                               @RequestParam(required = false) String category,
+                                               @RequestParam(required = false) Integer limit) {
+        return leaderboardService.getTopPlayersInWindow(window, category, limit);
+    }
+
+    /**
+     * GET /api/leaderboard/stream?category=sports
+     * Live-Leaderboard per Server-Sent Events (ohne category: globales Leaderboard):
+     * zuerst ein "snapshot" der Top N, danach "update"s mit den geänderten Plätzen (höchstens eins pro Tick)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLeaderboard(@RequestParam(required = false) String category) {
+        return leaderboardStream.subscribe(category);
     }
 
     /**
@@ -48,11 +80,29 @@ public class LeaderboardController {
      * Lädt Statistiken eines Users
      */
     @GetMapping("/user/stats")
-    public Map<String, Object> getUserStats(@AuthenticationPrincipal UserDetails userDetails) {
+    public Map<String, Object> getUserStats(@AuthenticationPrincipal AuthenticatedUser user) {
+        return leaderboardService.getUserStats(user.getUserId());
+    }
 
-        AppUser user = appUserService.findByUsername(userDetails.getUsername()).orElseThrow();
+    /**
+     * GET /api/leaderboard/me/rank?category=sports
+     * Lädt den eigenen Platz (ohne category: globales Leaderboard)
+     */
+    @GetMapping("/me/rank")
+    public LeaderboardDTO getMyRank(@AuthenticationPrincipal AuthenticatedUser user,
+                                    @RequestParam(required = false) String category) {
+        return leaderboardService.getUserRank(user.getUserId(), category);
+    }
 
-        return leaderboardService.getUserStats(user.getId());
+    /**
+     * GET /api/leaderboard/me/neighbors?radius=5&category=sports
+     * Lädt die Spieler vor und nach dem eigenen Platz
+     */
+    @GetMapping("/me/neighbors")
+    public List<LeaderboardDTO> getMyNeighbors(@AuthenticationPrincipal AuthenticatedUser user,
+                                               @RequestParam(defaultValue = "5") int radius,
+                                               @RequestParam(required = false) String category) {
+        return leaderboardService.getUserNeighbors(user.getUserId(), category, radius);
     }
 
     /**
@@ -1,5 +1,9 @@
 package com.wiss.quizbackend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.quizbackend.dto.CursorPageDTO;
+import com.wiss.quizbackend.dto.ImportReportDTO;
+import com.wiss.quizbackend.dto.QuestionChangesDTO;
 import com.wiss.quizbackend.dto.QuestionDTO;
 import com.wiss.quizbackend.dto.QuestionFormDTO;
 import com.wiss.quizbackend.entity.Question;
@@ -7,16 +11,33 @@ import com.wiss.quizbackend.exception.CategoryNotFoundException;
 import com.wiss.quizbackend.exception.DifficultyNotFoundException;
 import com.wiss.quizbackend.exception.InvalidQuestionDataException;
 import com.wiss.quizbackend.exception.QuestionNotFoundException;
+import com.wiss.quizbackend.security.AuthenticatedUser;
+import com.wiss.quizbackend.service.QuestionCatalogVersion;
+import com.wiss.quizbackend.service.QuestionImportService;
 import com.wiss.quizbackend.service.QuestionService;
+import com.wiss.quizbackend.service.QuestionSyncService;
+import com.wiss.quizbackend.stream.QuestionChangeStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -33,6 +54,12 @@ import java.util.List;
  *   <li>Erweiterte Funktionen: Suche, Filter, Statistiken</li>
  * </ul>
  *
+ * <p>
+ * Die JSON-GETs senden ETag und Last-Modified der {@link QuestionCatalogVersion} und
+ * beantworten {@code If-None-Match} bzw. {@code If-Modified-Since} mit 304, solange sich
+ * keine Frage geändert hat (ausgenommen /random und die ndjson-Streams).
+ * </p>
+ *
  * @author Johnny Krup
  * @version 1.0
  * @since 2025-06-01
@@ -43,47 +70,142 @@ import java.util.List;
 @RequestMapping("/api/questions")
 @Tag(name="Questions", description = "CRUD Operations für Quiz-Fragen")
 public class QuestionController {
+    /**
+     * Response-Header mit dem Cursor für die nächste Seite (fehlt auf der letzten Seite).
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Response-Header mit der Gesamtanzahl Treffer einer Suche.
+     */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final QuestionService service;
+    private final QuestionImportService importService;
+    private final ObjectMapper objectMapper;
+    private final QuestionCatalogVersion catalogVersion;
+    private final QuestionSyncService syncService;
+    private final QuestionChangeStream changeStream;
 
     /**
      * Erstellt einen neuen QuestionController mit dem angegebenen Service.
      *
      * @param service Der QuestionService für die Geschäftslogik
+     * @param importService Für den Bulk-Import
+     * @param objectMapper Für das zeilenweise Schreiben im ndjson-Stream
+     * @param catalogVersion Für ETag / Last-Modified der GET-Endpoints
+     * @param syncService Für den Delta-Sync
+     * @param changeStream Für den SSE-Feed der Änderungen
      */
-    public QuestionController(QuestionService service) {
+    public QuestionController(QuestionService service, QuestionImportService importService,
+                              ObjectMapper objectMapper, QuestionCatalogVersion catalogVersion,
+                              QuestionSyncService syncService, QuestionChangeStream changeStream) {
         this.service = service;
+        this.importService = importService;
+        this.objectMapper = objectMapper;
+        this.catalogVersion = catalogVersion;
+        this.syncService = syncService;
+        this.changeStream = changeStream;
     }
 
     /**
      * Ruft alle verfügbaren Quiz-Fragen ab.
+     * <p>
+     * Mit {@code cursor} und/oder {@code limit} wird nur eine Seite zurückgegeben
+     * (Keyset-Pagination nach ID). Der Cursor für die nächste Seite steht im
+     * Header {@value #NEXT_CURSOR_HEADER}.
+     * </p>
      *
-     * @return Liste aller Fragen als DTOs
+     * @param cursor ID der letzten Frage der vorherigen Seite (optional)
+     * @param limit Seitengrösse, maximal 500 (optional)
+     * @return Liste aller Fragen (bzw. einer Seite) als DTOs
      */
     @GetMapping
     @Operation(
             summary = "Alle Fragen abrufen",
-            description = "Gibt alle verfügbaren Quiz-Fragen zurück"
+            description = "Gibt alle verfügbaren Quiz-Fragen zurück, optional seitenweise (cursor/limit)"
     )
     @PreAuthorize("hasAnyRole('ADMIN', 'PLAYER')")
     @ApiResponse(responseCode = "200", description = "Liste erfolgreich abgerufen")
-    public List<QuestionDTO> getAllQuestions() {
-        return service.getAllQuestionsAsDTO();
+    public ResponseEntity<List<QuestionDTO>> getAllQuestions(
+            @Parameter(description = "ID der letzten Frage der vorherigen Seite", example = "100")
+            @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Seitengrösse (max. 500)", example = "100")
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (catalogVersion.checkNotModified(request)) {
+            return null;  // 304 - weder Service noch Serializer werden bemüht
+        }
+        if (cursor == null && limit == null) {
+            return ResponseEntity.ok(service.getAllQuestionsAsDTO());
+        }
+        return toPageResponse(service.getQuestionPageAsDTO(null, null, cursor, limit));
+    }
+
+    /**
+     * Streamt alle Quiz-Fragen als ndjson (eine Frage pro Zeile).
+     * <p>
+     * Wird gewählt mit {@code Accept: application/x-ndjson}. Die Fragen werden
+     * seitenweise aus der Datenbank gelesen und sofort geschrieben.
+     * </p>
+     *
+     * @param response Die HTTP Response, in die gestreamt wird
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Alle Fragen streamen",
+            description = "Streamt alle Quiz-Fragen als ndjson, ohne die ganze Liste im Speicher zu halten"
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'PLAYER')")
+    public void streamAllQuestions(HttpServletResponse response) throws IOException {
+        OutputStream out = startNdjson(response);
+        service.streamQuestionsAsDTO(null, null, page -> writeNdjson(out, page));
     }
 
     /**
      * Ruft alle verfügbaren Quiz-Fragen ab.
+     * <p>
+     * Unterstützt dieselbe Keyset-Pagination wie {@link #getAllQuestions(Long, Integer)}.
+     * </p>
      *
-     * @return Liste aller Fragen als DTOs
+     * @param cursor ID der letzten Frage der vorherigen Seite (optional)
+     * @param limit Seitengrösse, maximal 500 (optional)
+     * @return Liste aller Fragen (bzw. einer Seite) als DTOs
      */
     @GetMapping("/all")
     @Operation(
             summary = "Alle Fragen abrufen",
-            description = "Gibt alle verfügbaren Quiz-Fragen zurück"
+            description = "Gibt alle verfügbaren Quiz-Fragen zurück, optional seitenweise (cursor/limit)"
     )
     @PreAuthorize("hasAnyRole('ADMIN','PLAYER')")
     @ApiResponse(responseCode = "200", description = "Liste erfolgreich abgerufen")
-    public List<QuestionFormDTO> getAllFormQuestions() {
-        return service.getAllQuestionsAsFormDTO();
+    public ResponseEntity<List<QuestionFormDTO>> getAllFormQuestions(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (catalogVersion.checkNotModified(request)) {
+            return null;
+        }
+        if (cursor == null && limit == null) {
+            return ResponseEntity.ok(service.getAllQuestionsAsFormDTO());
+        }
+        return toPageResponse(service.getQuestionPageAsFormDTO(cursor, limit));
+    }
+
+    /**
+     * Streamt alle Quiz-Fragen im Formular-Format als ndjson.
+     *
+     * @param response Die HTTP Response, in die gestreamt wird
+     */
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Alle Fragen streamen (Formular-Format)",
+            description = "Streamt alle Quiz-Fragen als ndjson, ohne die ganze Liste im Speicher zu halten"
+    )
+    @PreAuthorize("hasAnyRole('ADMIN','PLAYER')")
+    public void streamAllFormQuestions(HttpServletResponse response) throws IOException {
+        OutputStream out = startNdjson(response);
+        service.streamQuestionsAsFormDTO(page -> writeNdjson(out, page));
     }
 
     /**
@@ -109,7 +231,11 @@ public class QuestionController {
                     example = "1",
                     required = true
             )
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
+        if (catalogVersion.checkNotModified(request)) {
+            return null;
+        }
         return service.getQuestionByIdAsDTO(id);
     }
 
@@ -130,7 +256,10 @@ public class QuestionController {
     @ApiResponse(responseCode = "200", description = "Frage gefunden")
     @ApiResponse(responseCode = "404", description = "Frage nicht gefunden")
     @ApiResponse(responseCode = "400", description = "Ungültige ID übergeben")
-    public QuestionFormDTO getQuestionByIdForEdit(@PathVariable Long id) {
+    public QuestionFormDTO getQuestionByIdForEdit(@PathVariable Long id, WebRequest request) {
+        if (catalogVersion.checkNotModified(request)) {
+            return null;
+        }
         return service.getQuestionByIdAsFormDTO(id);
     }
 
@@ -150,7 +279,11 @@ public class QuestionController {
     @ApiResponse(responseCode = "200", description = "Ergebnisse nach Kategorie zurückgegeben")
     public List<QuestionDTO> getQuestionsByCategory(
             @Parameter(description = "Kategorie", example = "sports", required = true)
-            @PathVariable String category) {
+            @PathVariable String category,
+            WebRequest request) {
+        if (catalogVersion.checkNotModified(request)) {
+            return null;
+        }
         return service.getQuestionsByCategoryAsDTO(category);
     }
 
@@ -170,7 +303,11 @@ public class QuestionController {
     @ApiResponse(responseCode = "200", description = "Ergebnisse nach Schwierigkeit zurückgegeben")
     public List<QuestionDTO> getQuestionsByDifficulty(
             @Parameter(description = "Schwierigkeit", example = "easy", required = true)
-            @PathVariable String difficulty) {
+            @PathVariable String difficulty,
+            WebRequest request) {
+        if (catalogVersion.checkNotModified(request)) {
+            return null;
+        }
         return service.getQuestionsByDifficultyAsDTO(difficulty);
     }
 
@@ -222,6 +359,33 @@ public class QuestionController {
         return service.createQuestionFromForm(question);
     }
 
+    /**
+     * Importiert viele Fragen auf einmal (JSON-Array oder ndjson).
+     * <p>
+     * Der Request-Body wird direkt vom InputStream gelesen und nie als Ganzes geparst.
+     * Akzeptiert das QuestionDTO-Format und das OpenTDB-Format
+     * ({@code correct_answer}, {@code incorrect_answers}). Ungültige Einträge und
+     * Duplikate werden übersprungen und im Report aufgeführt.
+     * </p>
+     *
+     * @param request Der Request, dessen Body gestreamt gelesen wird
+     * @param user Der eingeloggte Admin (wird als Ersteller eingetragen)
+     * @return Report mit importierten, doppelten und fehlerhaften Einträgen
+     */
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(
+            summary = "Fragen importieren",
+            description = "Importiert ein JSON-Array oder ndjson von Fragen in Chunks und liefert einen Report"
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiResponse(responseCode = "200", description = "Import durchgeführt, Details im Report")
+    public ImportReportDTO importQuestions(
+            HttpServletRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) throws IOException {
+        return importService.importQuestions(request.getInputStream(), user.getUserId());
+    }
+
 
     /**
      * Aktualisiert eine bestehende Quiz-Frage.
@@ -306,42 +470,86 @@ public class QuestionController {
      */
     @GetMapping("/filter")
     @PreAuthorize("hasAnyRole('ADMIN', 'PLAYER')")
-    public List<QuestionDTO> getQuestionsByFilter(
+    public ResponseEntity<List<QuestionDTO>> getQuestionsByFilter(
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String difficulty) {
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (catalogVersion.checkNotModified(request)) {
+            return null;
+        }
+
+        if (cursor != null || limit != null) {
+            return toPageResponse(service.getQuestionPageAsDTO(category, difficulty, cursor, limit));
+        }
 
         if (category != null && difficulty != null) {
-            return service.getQuestionsByCategoryAndDifficulty(category, difficulty);
+            return ResponseEntity.ok(service.getQuestionsByCategoryAndDifficulty(category, difficulty));
         } else if (category != null) {
-            return service.getQuestionsByCategoryAsDTO(category);
+            return ResponseEntity.ok(service.getQuestionsByCategoryAsDTO(category));
         } else if (difficulty != null) {
-            return service.getQuestionsByDifficultyAsDTO(difficulty);
+            return ResponseEntity.ok(service.getQuestionsByDifficultyAsDTO(difficulty));
         } else {
-            return service.getAllQuestionsAsDTO();
+            return ResponseEntity.ok(service.getAllQuestionsAsDTO());
         }
     }
 
+    /**
+     * Streamt die gefilterten Fragen als ndjson (eine Frage pro Zeile).
+     *
+     * @param category Die Kategorie (optional)
+     * @param difficulty Der Schwierigkeitsgrad (optional)
+     * @param response Die HTTP Response, in die gestreamt wird
+     */
+    @GetMapping(value = "/filter", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'PLAYER')")
+    public void streamQuestionsByFilter(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String difficulty,
+            HttpServletResponse response) throws IOException {
+        // Vor startNdjson: danach ist der Content-Type gesetzt und ein Fehler kein JSON mehr
+        QuestionService.validateFilter(category, difficulty);
+        OutputStream out = startNdjson(response);
+        service.streamQuestionsAsDTO(category, difficulty, page -> writeNdjson(out, page));
+    }
+
     /**
      * Durchsucht Fragen basierend auf einem Suchbegriff.
      * <p>
      * Sucht im Fragetext und in den Antworten nach dem angegebenen Begriff.
-     * Die Suche ist case-insensitive.
+     * Die Suche ist case-insensitive, versteht Umlaute (ü = ue) und einfache
+     * Wortformen (Städte = Stadt) und sortiert nach Relevanz. Die Gesamtanzahl
+     * Treffer steht im Header {@value #TOTAL_COUNT_HEADER}.
      * </p>
      *
      * @param q Der Suchbegriff
-     * @return Liste der Fragen, die den Suchbegriff enthalten
+     * @param page Die Seite (0-basiert, Standard: 0)
+     * @param size Treffer pro Seite (Standard: 20, maximal 100)
+     * @return Liste der Fragen, die den Suchbegriff enthalten, beste zuerst
      * @throws IllegalArgumentException wenn der Suchbegriff leer ist
      */
     @GetMapping("/search")
     @Operation(
             summary = "Fragen durchsuchen",
-            description = "Sucht Fragen basierend auf einem Suchbegriff"
+            description = "Sucht Fragen basierend auf einem Suchbegriff, sortiert nach Relevanz"
     )
     @PreAuthorize("hasAnyRole('ADMIN', 'PLAYER')")
-    public List<QuestionDTO> searchQuestions(
+    public ResponseEntity<List<QuestionDTO>> searchQuestions(
             @Parameter(description = "Suchbegriff", example = "Schweiz")
-            @RequestParam String q) {
-        return service.searchQuestions(q);
+            @RequestParam String q,
+            @Parameter(description = "Seite (0-basiert)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Treffer pro Seite (max. 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        if (catalogVersion.checkNotModified(request)) {
+            return null;
+        }
+        Page<QuestionDTO> result = service.searchQuestions(q, page, size);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(result.getTotalElements()))
+                .body(result.getContent());
     }
 
     /**
@@ -357,9 +565,13 @@ public class QuestionController {
             description = "Zählt die Anzahl Fragen einer bestimmten Kategorie zusammen"
     )
     @PreAuthorize("hasAnyRole('ADMIN', 'PLAYER')")
-    public long getQuestionCountByCategory(
+    public Long getQuestionCountByCategory(
             @Parameter(description = "Kategorie", example = "history")
-            @PathVariable String category) {
+            @PathVariable String category,
+            WebRequest request) {
+        if (catalogVersion.checkNotModified(request)) {
+            return null;
+        }
         return service.getQuestionCountByCategory(category);
     }
 
@@ -385,7 +597,10 @@ public class QuestionController {
             @Parameter(description = "Kategorie", example = "movies")
             @RequestParam String category,
             @Parameter(description = "Anzahl", example = "3")
-            @RequestParam(defaultValue = "5") int limit) {
+            @RequestParam(defaultValue = "5") int limit,
+            HttpServletResponse response) {
+        // Jeder Aufruf liefert andere Fragen - kein ETag, nicht cachen
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
         if(category != null){
             return service.getRandomQuestionsByCategory(category, limit);
         } else {
@@ -404,7 +619,88 @@ public class QuestionController {
             description = "Gibt die Anzahl aller verfügbaen Fragen zurück"
     )
     @PreAuthorize("hasAnyRole('ADMIN', 'PLAYER')")
-    public long getQuestionsCount() {
+    public Long getQuestionsCount(WebRequest request) {
+        if (catalogVersion.checkNotModified(request)) {
+            return null;
+        }
         return service.getTotalQuestionsCount();
     }
+
+    /**
+     * Delta-Sync: nur die Fragen, die seit der Änderungsnummer {@code since} neu, geändert
+     * oder gelöscht wurden.
+     * <p>
+     * Der Client startet mit {@code since=0} und übergibt danach jeweils {@code nextSince}
+     * der letzten Antwort. Solange {@code hasMore} true ist, gibt es weitere Seiten.
+     * </p>
+     *
+     * @param since Höchste Änderungsnummer, die der Client schon kennt
+     * @param limit Ungefähre Anzahl Änderungen pro Seite (max. 1000)
+     * @return Geänderte Fragen, gelöschte IDs und die Nummer für den nächsten Request
+     * @throws IllegalArgumentException wenn since negativ oder limit ungültig ist
+     */
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Änderungen seit einer Änderungsnummer",
+            description = "Gibt neue, geänderte und gelöschte Fragen seit 'since' zurück (Delta-Sync für Client-Caches)"
+    )
+    @PreAuthorize("hasAnyRole('ADMIN','PLAYER')")
+    @ApiResponse(responseCode = "200", description = "Änderungen erfolgreich abgerufen")
+    @ApiResponse(responseCode = "400", description = "Ungültiger Parameter")
+    public QuestionChangesDTO getChanges(
+            @Parameter(description = "Höchste bekannte Änderungsnummer", example = "0")
+            @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Änderungen pro Seite (max. 1000)", example = "500")
+            @RequestParam(required = false) Integer limit) {
+        return syncService.getChangesSince(since, limit);
+    }
+
+    /**
+     * Server-Sent Events für jede Änderung am Fragen-Katalog (nach dem Commit).
+     * <p>
+     * Eventnamen: {@code created}, {@code updated}, {@code deleted}; die Daten sind ein
+     * QuestionChangeEventDTO als JSON. Zu langsame Clients werden getrennt und holen das
+     * Verpasste nach dem Reconnect über {@code /api/questions/changes}.
+     * </p>
+     *
+     * @return Der Emitter, über den die Events geschickt werden
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Änderungen live verfolgen (SSE)",
+            description = "Pusht created/updated/deleted-Events, sobald eine Änderung committet ist"
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamChanges() {
+        return changeStream.subscribe();
+    }
+
+    private <T> ResponseEntity<List<T>> toPageResponse(CursorPageDTO<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return response.body(page.getItems());
+    }
+
+    private OutputStream startNdjson(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        return response.getOutputStream();
+    }
+
+    /**
+     * Schreibt eine Seite als ndjson und flusht, damit der Client nicht auf das Ende warten muss.
+     */
+    private void writeNdjson(OutputStream out, List<?> page) {
+        try {
+            for (Object item : page) {
+                out.write(objectMapper.writeValueAsBytes(item));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,37 @@
+package com.wiss.quizbackend.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request für {@code POST /api/game/{id}/answer}.
+ */
+public class AnswerRequestDTO {
+
+    @NotNull(message = "questionId ist erforderlich")
+    private Long questionId;
+
+    private String answer;   // null = Zeit abgelaufen / keine Antwort
+
+    public AnswerRequestDTO() {}
+
+    public AnswerRequestDTO(Long questionId, String answer) {
+        this.questionId = questionId;
+        this.answer = answer;
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public void setQuestionId(Long questionId) {
+        this.questionId = questionId;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public void setAnswer(String answer) {
+        this.answer = answer;
+    }
+}
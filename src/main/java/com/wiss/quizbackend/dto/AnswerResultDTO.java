@@ -0,0 +1,55 @@
+package com.wiss.quizbackend.dto;
+
+/**
+ * Auswertung einer Antwort plus aktueller Spielstand.
+ */
+public class AnswerResultDTO {
+
+    private final Long questionId;
+    private final boolean correct;
+    private final String correctAnswer;
+    private final int answeredCount;
+    private final int correctCount;
+    private final int totalQuestions;
+
+    public AnswerResultDTO(Long questionId, boolean correct, String correctAnswer,
+                           int answeredCount, int correctCount, int totalQuestions) {
+        this.questionId = questionId;
+        this.correct = correct;
+        this.correctAnswer = correctAnswer;
+        this.answeredCount = answeredCount;
+        this.correctCount = correctCount;
+        this.totalQuestions = totalQuestions;
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public boolean isCorrect() {
+        return correct;
+    }
+
+    public String getCorrectAnswer() {
+        return correctAnswer;
+    }
+
+    public int getAnsweredCount() {
+        return answeredCount;
+    }
+
+    public int getCorrectCount() {
+        return correctCount;
+    }
+
+    public int getTotalQuestions() {
+        return totalQuestions;
+    }
+
+    /**
+     * Alle Fragen beantwortet - der Client kann das Game jetzt beenden.
+     */
+    public boolean isComplete() {
+        return answeredCount == totalQuestions;
+    }
+}
@@ -0,0 +1,35 @@
+package com.wiss.quizbackend.dto;
+
+import java.util.List;
+
+/**
+ * Eine Seite aus einer Keyset-Pagination (Cursor = ID des letzten Elements).
+ * <p>
+ * Der Client übergibt {@code nextCursor} beim nächsten Request als {@code cursor}.
+ * Ist {@code nextCursor} null, gibt es keine weiteren Seiten.
+ * </p>
+ *
+ * @param <T> Typ der Elemente (z.B. QuestionDTO)
+ */
+public class CursorPageDTO<T> {
+
+    private final List<T> items;
+    private final Long nextCursor;
+
+    public CursorPageDTO(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.wiss.quizbackend.dto;
+
+import com.wiss.quizbackend.entity.Question;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Frage im Deck eines Games - OHNE korrekte Antwort.
+ * <p>
+ * Die Auswertung passiert auf dem Server ({@code POST /api/game/{id}/answer}),
+ * deshalb wird die korrekte Antwort erst nach dem Beantworten zurückgegeben.
+ * </p>
+ */
+public class GameQuestionDTO {
+
+    private Long id;
+    private String question;
+    private List<String> answers;   // Gemischt, inkl. korrekter Antwort
+    private String category;
+    private String difficulty;
+
+    public GameQuestionDTO() {}
+
+    public GameQuestionDTO(Long id, String question, List<String> answers, String category, String difficulty) {
+        this.id = id;
+        this.question = question;
+        this.answers = answers;
+        this.category = category;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Erstellt die Deck-Frage mit gemischten Antworten.
+     */
+    public static GameQuestionDTO from(Question question) {
+        List<String> answers = new ArrayList<>(question.getIncorrectAnswers());
+        answers.add(question.getCorrectAnswer());
+        Collections.shuffle(answers);
+        return new GameQuestionDTO(question.getId(), question.getQuestion(), answers,
+                question.getCategory(), question.getDifficulty());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public List<String> getAnswers() {
+        return answers;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+}
@@ -0,0 +1,65 @@
+package com.wiss.quizbackend.dto;
+
+import com.wiss.quizbackend.entity.GameSession;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Antwort auf {@code POST /api/game/start}: die gespeicherte GameSession
+ * (gleiche Felder wie bisher) plus das Deck mit den Fragen.
+ */
+public class GameStartDTO {
+
+    private final Long id;
+    private final Long userId;
+    private final String category;
+    private final Integer correctAnswers;
+    private final Integer totalQuestions;
+    private final Integer totalScore;
+    private final LocalDateTime playedAt;
+    private final List<GameQuestionDTO> questions;
+
+    public GameStartDTO(GameSession session, List<GameQuestionDTO> questions) {
+        this.id = session.getId();
+        this.userId = session.getUserId();
+        this.category = session.getCategory();
+        this.correctAnswers = session.getCorrectAnswers();
+        this.totalQuestions = session.getTotalQuestions();
+        this.totalScore = session.getTotalScore();
+        this.playedAt = session.getPlayedAt();
+        this.questions = questions;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Integer getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public Integer getTotalQuestions() {
+        return totalQuestions;
+    }
+
+    public Integer getTotalScore() {
+        return totalScore;
+    }
+
+    public LocalDateTime getPlayedAt() {
+        return playedAt;
+    }
+
+    public List<GameQuestionDTO> getQuestions() {
+        return questions;
+    }
+}
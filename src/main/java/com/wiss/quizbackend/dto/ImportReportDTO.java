@@ -0,0 +1,90 @@
+package com.wiss.quizbackend.dto;
+
+import java.util.List;
+
+/**
+ * Resultat eines Bulk-Imports ({@code POST /api/questions/import}).
+ * <p>
+ * {@code received = imported + duplicates + failed}. Fehler werden nur bis zu einer
+ * Obergrenze einzeln aufgelistet ({@code errorsTruncated}), gezählt werden aber alle.
+ * Ist {@code aborted} gesetzt, war der Upload ab {@code received} nicht mehr lesbar -
+ * alles davor ist trotzdem gespeichert.
+ * </p>
+ */
+public class ImportReportDTO {
+
+    private final int received;
+    private final int imported;
+    private final int duplicates;
+    private final int failed;
+    private final int chunks;
+    private final boolean aborted;
+    private final List<ImportError> errors;
+    private final boolean errorsTruncated;
+
+    public ImportReportDTO(int received, int imported, int duplicates, int failed, int chunks,
+                           boolean aborted, List<ImportError> errors, boolean errorsTruncated) {
+        this.received = received;
+        this.imported = imported;
+        this.duplicates = duplicates;
+        this.failed = failed;
+        this.chunks = chunks;
+        this.aborted = aborted;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    /**
+     * Ein abgelehnter Eintrag.
+     */
+    public static class ImportError {
+
+        private final int index;       // 0-basiert, Position im Upload (Array-Element bzw. ndjson-Zeile)
+        private final String message;
+
+        public ImportError(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
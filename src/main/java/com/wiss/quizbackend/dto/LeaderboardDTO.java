@@ -13,6 +13,7 @@ public class LeaderboardDTO {
     private Long gamesPlayed;
     private Long totalScore;
     private String category;  // Optional: Für Kategorie-spezifisches Leaderboard
+    private Integer rank;     // Platz in der Rangliste (1 = erster Platz)
 
     // Default Constructor
     public LeaderboardDTO() {}
@@ -78,6 +79,14 @@ public class LeaderboardDTO {
         this.category = category;
     }
 
+    public Integer getRank() {
+        return rank;
+    }
+
+    public void setRank(Integer rank) {
+        this.rank = rank;
+    }
+
     @Override
     public String toString() {
         return "LeaderboardDTO{" +
@@ -86,6 +95,7 @@ public class LeaderboardDTO {
                 ", gamesPlayed=" + gamesPlayed +
                 ", totalScore=" + totalScore +
                 ", category='" + category + '\'' +
+                ", rank=" + rank +
                 '}';
     }
 
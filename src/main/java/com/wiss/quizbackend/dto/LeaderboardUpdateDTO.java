@@ -0,0 +1,36 @@
+package com.wiss.quizbackend.dto;
+
+import java.util.List;
+
+/**
+ * Ein Event im SSE-Stream GET /api/leaderboard/stream.
+ * <p>
+ * Beim Verbinden kommt ein {@code snapshot} mit der ganzen Top-N-Liste, danach nur noch
+ * {@code update}s mit den Plätzen, die sich geändert haben (jeweils mit {@code rank}).
+ * Der Client ersetzt diese Plätze und kürzt seine Liste auf {@code size} Einträge.
+ * </p>
+ */
+public class LeaderboardUpdateDTO {
+
+    private final String category;  // null = globales Leaderboard
+    private final int size;
+    private final List<LeaderboardDTO> entries;
+
+    public LeaderboardUpdateDTO(String category, int size, List<LeaderboardDTO> entries) {
+        this.category = category;
+        this.size = size;
+        this.entries = entries;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public List<LeaderboardDTO> getEntries() {
+        return entries;
+    }
+}
@@ -0,0 +1,40 @@
+package com.wiss.quizbackend.dto;
+
+/**
+ * Ein Event im SSE-Stream GET /api/questions/stream.
+ * <p>
+ * {@code type} ist CREATED, UPDATED oder DELETED (gleich wie der SSE-Eventname in
+ * Kleinbuchstaben). Bei DELETED ist {@code question} null. {@code changeSeq} ist die
+ * Änderungsnummer aus dem Delta-Sync und zugleich die SSE-Event-ID.
+ * </p>
+ */
+public class QuestionChangeEventDTO {
+
+    private final String type;
+    private final Long questionId;
+    private final QuestionFormDTO question;
+    private final long changeSeq;
+
+    public QuestionChangeEventDTO(String type, Long questionId, QuestionFormDTO question, long changeSeq) {
+        this.type = type;
+        this.questionId = questionId;
+        this.question = question;
+        this.changeSeq = changeSeq;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public QuestionFormDTO getQuestion() {
+        return question;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+}
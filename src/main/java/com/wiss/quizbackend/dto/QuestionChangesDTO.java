@@ -0,0 +1,56 @@
+package com.wiss.quizbackend.dto;
+
+import java.util.List;
+
+/**
+ * Antwort des Delta-Syncs (GET /api/questions/changes).
+ * <p>
+ * Der Client übernimmt {@code upserts} (neu oder geändert, per ID ersetzen), entfernt
+ * {@code deleted} aus seinem Cache und merkt sich {@code nextSince} für den nächsten Request.
+ * Bei {@code reset = true} muss er seinen Cache vorher komplett leeren: Sein {@code since}
+ * war zu alt, {@code upserts} enthält dann den ganzen Katalog.
+ * </p>
+ */
+public class QuestionChangesDTO {
+
+    private final long since;
+    private final long nextSince;
+    private final boolean reset;
+    private final boolean hasMore;
+    private final List<QuestionFormDTO> upserts;
+    private final List<Long> deleted;
+
+    public QuestionChangesDTO(long since, long nextSince, boolean reset, boolean hasMore,
+                              List<QuestionFormDTO> upserts, List<Long> deleted) {
+        this.since = since;
+        this.nextSince = nextSince;
+        this.reset = reset;
+        this.hasMore = hasMore;
+        this.upserts = upserts;
+        this.deleted = deleted;
+    }
+
+    public long getSince() {
+        return since;
+    }
+
+    public long getNextSince() {
+        return nextSince;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public List<QuestionFormDTO> getUpserts() {
+        return upserts;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+}
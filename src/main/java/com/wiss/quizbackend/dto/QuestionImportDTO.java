@@ -0,0 +1,108 @@
+package com.wiss.quizbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Eine Frage aus einem Bulk-Import ({@code POST /api/questions/import}).
+ * <p>
+ * Akzeptiert sowohl das Format von {@link QuestionDTO} ({@code correctAnswer} plus
+ * alle vier {@code answers}) als auch das OpenTDB-Format ({@code correct_answer} plus
+ * {@code incorrect_answers}). Unbekannte Felder wie {@code type} werden ignoriert.
+ * Validiert wird erst im QuestionImportService, damit ein fehlerhafter Eintrag
+ * nicht den ganzen Import abbricht.
+ * </p>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class QuestionImportDTO {
+
+    private String question;
+
+    @JsonAlias("correct_answer")
+    private String correctAnswer;
+
+    @JsonAlias("incorrect_answers")
+    private List<String> incorrectAnswers;
+
+    private List<String> answers;   // QuestionDTO-Format: korrekte + falsche Antworten
+
+    private String category;
+    private String difficulty;
+
+    public QuestionImportDTO() {}
+
+    public QuestionImportDTO(String question, String correctAnswer, List<String> incorrectAnswers,
+                             String category, String difficulty) {
+        this.question = question;
+        this.correctAnswer = correctAnswer;
+        this.incorrectAnswers = incorrectAnswers;
+        this.category = category;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Die falschen Antworten - entweder direkt ({@code incorrect_answers})
+     * oder aus {@code answers} ohne die korrekte Antwort.
+     */
+    public List<String> resolveIncorrectAnswers() {
+        if (incorrectAnswers != null) {
+            return incorrectAnswers;
+        }
+        if (answers != null) {
+            return answers.stream()
+                    .filter(answer -> answer == null || !answer.equals(correctAnswer))
+                    .toList();
+        }
+        return List.of();
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public void setQuestion(String question) {
+        this.question = question;
+    }
+
+    public String getCorrectAnswer() {
+        return correctAnswer;
+    }
+
+    public void setCorrectAnswer(String correctAnswer) {
+        this.correctAnswer = correctAnswer;
+    }
+
+    public List<String> getIncorrectAnswers() {
+        return incorrectAnswers;
+    }
+
+    public void setIncorrectAnswers(List<String> incorrectAnswers) {
+        this.incorrectAnswers = incorrectAnswers;
+    }
+
+    public List<String> getAnswers() {
+        return answers;
+    }
+
+    public void setAnswers(List<String> answers) {
+        this.answers = answers;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+}
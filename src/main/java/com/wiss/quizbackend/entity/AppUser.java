@@ -3,6 +3,8 @@ package com.wiss.quizbackend.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -13,12 +15,17 @@ import java.util.List;
 
 @Entity
 @Table(name = "app_users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppUser.CACHE_REGION)
 @Getter
 @Setter
 public class AppUser implements UserDetails {
+    public static final String CACHE_REGION = "app-user";
+
     // Attributes
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "app_users_seq")
+    @SequenceGenerator(name = "app_users_seq", sequenceName = "app_users_seq", allocationSize = 50)
     private long id;
 
     @Version
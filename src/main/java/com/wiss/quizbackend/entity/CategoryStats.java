@@ -0,0 +1,53 @@
+package com.wiss.quizbackend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Statistik eines Users in einer Kategorie (Teil von {@link UserStats}).
+ */
+@Embeddable
+public class CategoryStats {
+
+    @Column(name = "games_played", nullable = false)
+    private long gamesPlayed;
+
+    @Column(name = "total_score", nullable = false)
+    private long totalScore;
+
+    @Column(name = "best_score", nullable = false)
+    private int bestScore;
+
+    // Default Constructor für JPA
+    public CategoryStats() {}
+
+    public CategoryStats(long gamesPlayed, long totalScore, int bestScore) {
+        this.gamesPlayed = gamesPlayed;
+        this.totalScore = totalScore;
+        this.bestScore = bestScore;
+    }
+
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public void setGamesPlayed(long gamesPlayed) {
+        this.gamesPlayed = gamesPlayed;
+    }
+
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    public void setTotalScore(long totalScore) {
+        this.totalScore = totalScore;
+    }
+
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    public void setBestScore(int bestScore) {
+        this.bestScore = bestScore;
+    }
+}
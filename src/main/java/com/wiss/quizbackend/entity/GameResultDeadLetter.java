@@ -0,0 +1,99 @@
+package com.wiss.quizbackend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultat, das der Write-Behind auch nach mehreren Versuchen nicht schreiben konnte.
+ * Statt es zu verwerfen, wird es hier abgelegt und kann nach Behebung des Fehlers
+ * nachgetragen werden (UPDATE game_sessions + UserStats-Rebuild des Users).
+ */
+@Entity
+@Table(name = "game_result_dead_letters")
+public class GameResultDeadLetter {
+
+    // Spaltenbreite von error
+    public static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long sessionId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 64)
+    private String category;
+
+    @Column(nullable = false)
+    private int correctAnswers;
+
+    @Column(nullable = false)
+    private int score;
+
+    @Column(nullable = false)
+    private LocalDateTime playedAt;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String error;
+
+    @Column(nullable = false)
+    private LocalDateTime failedAt;
+
+    // Default Constructor für JPA
+    public GameResultDeadLetter() {}
+
+    public GameResultDeadLetter(Long sessionId, Long userId, String category,
+                                int correctAnswers, int score, LocalDateTime playedAt, String error) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.category = category;
+        this.correctAnswers = correctAnswers;
+        this.score = score;
+        this.playedAt = playedAt;
+        this.error = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error;
+        this.failedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public LocalDateTime getPlayedAt() {
+        return playedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getFailedAt() {
+        return failedAt;
+    }
+}
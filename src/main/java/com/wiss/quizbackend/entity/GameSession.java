@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 public class GameSession {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_sessions_seq")
+    @SequenceGenerator(name = "game_sessions_seq", sequenceName = "game_sessions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
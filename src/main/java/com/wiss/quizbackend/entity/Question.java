@@ -2,15 +2,31 @@ package com.wiss.quizbackend.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.Constraint;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity                                     // ← "Das wird eine Datenbank-Tabelle"
 @Table(name = "questions")                  // ← "Tabelle soll 'questions' heissen (Optional)"
+@NamedEntityGraph(                          // ← "Antworten + Ersteller in derselben Query mitladen (kein N+1)"
+        name = Question.WITH_ANSWERS,
+        attributeNodes = {
+                @NamedAttributeNode("incorrectAnswers"),
+                @NamedAttributeNode("createdBy")
+        }
+)
+@Cacheable                                  // ← "Im Second-Level-Cache halten (Region in application.conf)"
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Question.CACHE_REGION)
 public class Question {
 
+    public static final String WITH_ANSWERS = "Question.withAnswers";
+    public static final String CACHE_REGION = "question";
+    public static final String ANSWERS_CACHE_REGION = "question-incorrect-answers";
+
     @Id                                    // ← "Das ist der Primary Key"
-    @GeneratedValue(strategy = GenerationType.IDENTITY)  // ← "PostgreSQL macht Auto-Increment"
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "questions_seq")  // ← "IDs aus einer Sequence"
+    @SequenceGenerator(name = "questions_seq", sequenceName = "questions_seq", allocationSize = 50)  // ← "50 IDs pro DB-Aufruf (pooled) - erlaubt JDBC-Batching"
     private Long id;
 
     @Column(nullable = false, length = 128)  // ← "Spalte darf nicht NULL sein, max 128 Zeichen"
@@ -22,6 +38,7 @@ public class Question {
     @ElementCollection                     // ← "Liste wird als separate Tabelle gespeichert"
     @CollectionTable(name = "question_incorrect_answers", joinColumns = @JoinColumn(name = "question_id"))
     @Column(name = "incorrect_answer")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Question.ANSWERS_CACHE_REGION)
     private List<String> incorrectAnswers;
 
     @Column(nullable = false, length = 64)
@@ -33,6 +50,9 @@ public class Question {
     @Version
     private Long version;
 
+    @Column(name = "change_seq", nullable = false)  // ← "Nummer der letzten Änderung für den Delta-Sync (QuestionChangeLog)"
+    private long changeSeq;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by_user_id") // foreign key
     private AppUser createdBy;
@@ -88,6 +108,14 @@ public class Question {
         this.id = id;
     }
 
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     public String getQuestion() {
         return question;
     }
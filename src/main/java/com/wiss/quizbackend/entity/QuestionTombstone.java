@@ -0,0 +1,45 @@
+package com.wiss.quizbackend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Spur einer gelöschten Frage für den Delta-Sync (GET /api/questions/changes).
+ * Clients mit lokalem Cache erfahren so, welche Fragen sie entfernen müssen.
+ */
+@Entity
+@Table(name = "question_tombstones")
+public class QuestionTombstone {
+
+    @Id
+    @Column(name = "question_id")
+    private Long questionId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Default Constructor für JPA
+    public QuestionTombstone() {}
+
+    public QuestionTombstone(Long questionId, long changeSeq) {
+        this.questionId = questionId;
+        this.changeSeq = changeSeq;
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
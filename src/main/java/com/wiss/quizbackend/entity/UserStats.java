@@ -0,0 +1,120 @@
+package com.wiss.quizbackend.entity;
+
+import jakarta.persistence.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Materialisierte Statistik pro User (Tabelle {@code user_stats}).
+ * <p>
+ * Wird vom GameSessionService in derselben Transaktion wie die GameSession nachgeführt,
+ * damit {@code /api/leaderboard/user/stats} nur noch einen Primary-Key-Read braucht
+ * statt drei Aggregationen über alle Games des Users.
+ * Der Username wird mitgespeichert (Usernames sind nicht änderbar).
+ * </p>
+ */
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;                    // ← Kein Auto-Increment: gleiche ID wie AppUser
+
+    @Column(nullable = false, length = 50)
+    private String username;
+
+    @Column(name = "games_played", nullable = false)
+    private long gamesPlayed;
+
+    @Column(name = "total_score", nullable = false)
+    private long totalScore;
+
+    @Column(name = "best_score", nullable = false)
+    private int bestScore;
+
+    @ElementCollection(fetch = FetchType.EAGER)  // ← Wird beim findById per Join mitgeladen
+    @CollectionTable(name = "user_category_stats", joinColumns = @JoinColumn(name = "user_id"))
+    @MapKeyColumn(name = "category", length = 64)
+    private Map<String, CategoryStats> categories = new HashMap<>();
+
+    // Default Constructor für JPA
+    public UserStats() {}
+
+    public UserStats(Long userId, String username) {
+        this.userId = userId;
+        this.username = username;
+    }
+
+    /**
+     * Ein Game wurde gestartet (zählt wie bisher {@code COUNT(game_sessions)} sofort als gespielt).
+     */
+    public void recordGameStarted(String category) {
+        gamesPlayed++;
+        CategoryStats stats = categories.computeIfAbsent(normalize(category), key -> new CategoryStats());
+        stats.setGamesPlayed(stats.getGamesPlayed() + 1);
+    }
+
+    /**
+     * Ein Game wurde beendet.
+     *
+     * @param scoreDelta Differenz zum bisher gespeicherten Score der GameSession
+     * @param score Der neue Score der GameSession
+     */
+    public void recordGameFinished(String category, long scoreDelta, int score) {
+        totalScore += scoreDelta;
+        bestScore = Math.max(bestScore, score);
+        CategoryStats stats = categories.computeIfAbsent(normalize(category), key -> new CategoryStats());
+        stats.setTotalScore(stats.getTotalScore() + scoreDelta);
+        stats.setBestScore(Math.max(stats.getBestScore(), score));
+    }
+
+    /**
+     * Durchschnittlicher Score pro Game (wie bisher {@code AVG(total_score)}).
+     */
+    public double getAverageScore() {
+        return gamesPlayed == 0 ? 0.0 : (double) totalScore / gamesPlayed;
+    }
+
+    private static String normalize(String category) {
+        return category.trim().toLowerCase();
+    }
+
+    // Getter und Setter
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public void setGamesPlayed(long gamesPlayed) {
+        this.gamesPlayed = gamesPlayed;
+    }
+
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    public void setTotalScore(long totalScore) {
+        this.totalScore = totalScore;
+    }
+
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    public void setBestScore(int bestScore) {
+        this.bestScore = bestScore;
+    }
+
+    public Map<String, CategoryStats> getCategories() {
+        return categories;
+    }
+}
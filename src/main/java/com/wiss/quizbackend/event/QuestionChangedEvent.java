@@ -0,0 +1,65 @@
+package com.wiss.quizbackend.event;
+
+import com.wiss.quizbackend.entity.Question;
+
+/**
+ * Event, das der QuestionService bei jeder Änderung am Fragen-Katalog publiziert.
+ * <p>
+ * Listener registrieren sich mit {@code @TransactionalEventListener}, damit sie
+ * erst NACH dem Commit reagieren. Die mitgegebene Frage ist eine losgelöste Kopie
+ * (siehe {@link com.wiss.quizbackend.mapper.QuestionMapper#toSnapshot(Question)})
+ * und kann gefahrlos ausserhalb der Transaktion gelesen werden.
+ * </p>
+ * <p>
+ * {@code changeSeq} ist die Änderungsnummer der Transaktion (siehe QuestionChangeLog),
+ * dieselbe wie im Delta-Sync GET /api/questions/changes.
+ * </p>
+ */
+public class QuestionChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long questionId;
+    private final Question question;  // null bei DELETED
+    private final long changeSeq;
+
+    public QuestionChangedEvent(Type type, Long questionId, Question question, long changeSeq) {
+        this.type = type;
+        this.questionId = questionId;
+        this.question = question;
+        this.changeSeq = changeSeq;
+    }
+
+    public static QuestionChangedEvent created(Question question) {
+        return new QuestionChangedEvent(Type.CREATED, question.getId(), question, question.getChangeSeq());
+    }
+
+    public static QuestionChangedEvent updated(Question question) {
+        return new QuestionChangedEvent(Type.UPDATED, question.getId(), question, question.getChangeSeq());
+    }
+
+    public static QuestionChangedEvent deleted(Long questionId, long changeSeq) {
+        return new QuestionChangedEvent(Type.DELETED, questionId, null, changeSeq);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public Question getQuestion() {
+        return question;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+}
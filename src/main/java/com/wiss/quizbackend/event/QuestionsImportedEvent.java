@@ -0,0 +1,34 @@
+package com.wiss.quizbackend.event;
+
+import com.wiss.quizbackend.entity.Question;
+
+import java.util.List;
+
+/**
+ * Event für einen ganzen Chunk neuer Fragen aus einem Bulk-Import.
+ * <p>
+ * Inhaltlich dasselbe wie ein {@link QuestionChangedEvent} vom Typ CREATED pro Frage,
+ * aber die Listener können den Chunk in einem Schritt übernehmen - der QuestionCatalog
+ * baut seinen Snapshot dann einmal pro Chunk statt einmal pro Frage neu.
+ * Die Fragen sind losgelöste Kopien (siehe QuestionMapper#toSnapshot).
+ * </p>
+ * Ein Chunk wird zusammen committet und hat deshalb EINE Änderungsnummer ({@code changeSeq}).
+ */
+public class QuestionsImportedEvent {
+
+    private final List<Question> questions;
+    private final long changeSeq;
+
+    public QuestionsImportedEvent(List<Question> questions, long changeSeq) {
+        this.questions = List.copyOf(questions);
+        this.changeSeq = changeSeq;
+    }
+
+    public List<Question> getQuestions() {
+        return questions;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+}
@@ -0,0 +1,64 @@
+package com.wiss.quizbackend.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event, das der GameSessionService publiziert, wenn sich die Wertung eines Users ändert.
+ * <p>
+ * Enthält nur die Differenz: Beim Start eines Games zählt {@code gamesDelta = 1}, beim
+ * Beenden kommt die Score-Differenz dazu. So entspricht die Summe aller Events genau dem,
+ * was {@code SUM(total_score)} und {@code COUNT(id)} über {@code game_sessions} liefern.
+ * Listener reagieren mit {@code @TransactionalEventListener} erst nach dem Commit.
+ * </p>
+ * <p>
+ * {@code playedAt} ist der Start der GameSession: Auch der Score eines später beendeten
+ * Games zählt in den Zeitfenstern (WindowedLeaderboard) zum Startzeitpunkt - wie bei
+ * einer Query über {@code played_at}.
+ * </p>
+ */
+public class ScoreChangedEvent {
+
+    private final Long userId;
+    private final String category;
+    private final long gamesDelta;
+    private final long scoreDelta;
+    private final LocalDateTime playedAt;
+
+    public ScoreChangedEvent(Long userId, String category, long gamesDelta, long scoreDelta,
+                             LocalDateTime playedAt) {
+        this.userId = userId;
+        this.category = category;
+        this.gamesDelta = gamesDelta;
+        this.scoreDelta = scoreDelta;
+        this.playedAt = playedAt;
+    }
+
+    public static ScoreChangedEvent gameStarted(Long userId, String category, LocalDateTime playedAt) {
+        return new ScoreChangedEvent(userId, category, 1, 0, playedAt);
+    }
+
+    public static ScoreChangedEvent gameFinished(Long userId, String category, long scoreDelta,
+                                                 LocalDateTime playedAt) {
+        return new ScoreChangedEvent(userId, category, 0, scoreDelta, playedAt);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getGamesDelta() {
+        return gamesDelta;
+    }
+
+    public long getScoreDelta() {
+        return scoreDelta;
+    }
+
+    public LocalDateTime getPlayedAt() {
+        return playedAt;
+    }
+}
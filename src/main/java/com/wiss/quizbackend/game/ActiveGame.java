@@ -0,0 +1,138 @@
+package com.wiss.quizbackend.game;
+
+import com.wiss.quizbackend.entity.Question;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Zustand eines laufenden Games im Speicher (Deck, beantwortete Fragen, Punkte).
+ * <p>
+ * Die korrekten Antworten bleiben auf dem Server - der Client bekommt nur die Fragen
+ * und schickt pro Frage seine Antwort. Erst beim Beenden wird das Resultat in
+ * {@code game_sessions} geschrieben.
+ * </p>
+ * <p>
+ * Beim Beenden wird das Game zuerst nur als "wird beendet" markiert ({@link #claimFinish()}) und
+ * erst nach dem Commit aus dem {@link ActiveGameStore} entfernt. Schlägt das Speichern fehl,
+ * gibt {@link #releaseFinish()} das Game wieder frei und der Client kann nochmals beenden.
+ * </p>
+ * Thread-safe: alle Zustandsänderungen sind synchronisiert.
+ */
+public class ActiveGame {
+
+    private final Long sessionId;
+    private final Long userId;
+    private final String category;
+    private final LocalDateTime playedAt;
+    private final Map<Long, String> correctAnswers;   // questionId → korrekte Antwort (Deck-Reihenfolge)
+    private final Set<Long> answered = new HashSet<>();
+    private int correctCount;
+    private boolean finishing;
+    private volatile long lastAccessNanos;
+
+    public ActiveGame(Long sessionId, Long userId, String category, LocalDateTime playedAt, List<Question> deck) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.category = category;
+        this.playedAt = playedAt;
+        this.correctAnswers = new LinkedHashMap<>();
+        for (Question question : deck) {
+            correctAnswers.put(question.getId(), question.getCorrectAnswer());
+        }
+        this.lastAccessNanos = System.nanoTime();
+    }
+
+    /**
+     * Wertet eine Antwort aus. Jede Frage des Decks kann genau einmal beantwortet werden.
+     *
+     * @return {@code true} wenn die Antwort korrekt ist
+     * @throws IllegalArgumentException wenn die Frage nicht im Deck ist oder schon beantwortet wurde
+     */
+    public synchronized boolean answer(Long questionId, String answer) {
+        String correct = correctAnswers.get(questionId);
+        if (correct == null) {
+            throw new IllegalArgumentException("Frage " + questionId + " gehört nicht zu diesem Game!");
+        }
+        if (finishing) {
+            throw new IllegalArgumentException("Game " + sessionId + " wird gerade beendet!");
+        }
+        if (!answered.add(questionId)) {
+            throw new IllegalArgumentException("Frage " + questionId + " wurde bereits beantwortet!");
+        }
+        boolean isCorrect = answer != null && correct.trim().equalsIgnoreCase(answer.trim());
+        if (isCorrect) {
+            correctCount++;
+        }
+        touch();
+        return isCorrect;
+    }
+
+    /**
+     * Markiert das Game als "wird beendet" (atomar - nur ein Aufrufer bekommt {@code true}).
+     * Danach werden keine Antworten mehr angenommen.
+     */
+    public synchronized boolean claimFinish() {
+        if (finishing) {
+            return false;
+        }
+        finishing = true;
+        return true;
+    }
+
+    /**
+     * Beenden ist fehlgeschlagen (Rollback) - das Game läuft weiter.
+     */
+    public synchronized void releaseFinish() {
+        finishing = false;
+        touch();
+    }
+
+    public String getCorrectAnswer(Long questionId) {
+        return correctAnswers.get(questionId);
+    }
+
+    public void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    boolean isIdle(long now, long idleTimeoutNanos) {
+        return now - lastAccessNanos > idleTimeoutNanos;
+    }
+
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public LocalDateTime getPlayedAt() {
+        return playedAt;
+    }
+
+    public int getTotalQuestions() {
+        return correctAnswers.size();
+    }
+
+    public synchronized int getAnsweredCount() {
+        return answered.size();
+    }
+
+    public synchronized int getCorrectCount() {
+        return correctCount;
+    }
+
+    public synchronized boolean isComplete() {
+        return answered.size() == correctAnswers.size();
+    }
+}
@@ -0,0 +1,73 @@
+package com.wiss.quizbackend.game;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Laufende Games im Speicher, nach Session-ID.
+ * <p>
+ * Games ohne Aktivität während {@code game.active-session.idle-timeout-seconds} werden
+ * vom {@link ActiveGameSweeper} mit dem bis dahin erreichten Resultat beendet.
+ * </p>
+ */
+@Component
+public class ActiveGameStore {
+
+    private final Map<Long, ActiveGame> games = new ConcurrentHashMap<>();
+    private final long idleTimeoutNanos;
+
+    public ActiveGameStore(@Value("${game.active-session.idle-timeout-seconds:1800}") long idleTimeoutSeconds) {
+        this.idleTimeoutNanos = idleTimeoutSeconds * 1_000_000_000L;
+    }
+
+    public void register(ActiveGame game) {
+        games.put(game.getSessionId(), game);
+    }
+
+    /**
+     * Das laufende Game eines Users.
+     *
+     * @return Das Game, oder leer falls es nicht (mehr) läuft oder einem anderen User gehört
+     */
+    public Optional<ActiveGame> find(Long sessionId, Long userId) {
+        ActiveGame game = games.get(sessionId);
+        if (game == null || !game.getUserId().equals(userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(game);
+    }
+
+    /**
+     * Entfernt genau dieses Game (atomar - nur ein Aufrufer bekommt {@code true}).
+     */
+    public boolean remove(ActiveGame game) {
+        return games.remove(game.getSessionId(), game);
+    }
+
+    /**
+     * Markiert alle Games ohne Aktivität seit dem Idle-Timeout als "wird beendet".
+     * Entfernt werden sie erst nach dem Commit des Resultats (siehe GameSessionService).
+     *
+     * @return Die markierten Games (zum Beenden)
+     */
+    public List<ActiveGame> claimIdle() {
+        long now = System.nanoTime();
+        List<ActiveGame> idle = new ArrayList<>();
+        for (ActiveGame game : games.values()) {
+            if (game.isIdle(now, idleTimeoutNanos) && game.claimFinish()) {
+                idle.add(game);
+            }
+        }
+        return idle;
+    }
+
+    public int size() {
+        return games.size();
+    }
+}
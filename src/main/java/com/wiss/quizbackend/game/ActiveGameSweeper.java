@@ -0,0 +1,33 @@
+package com.wiss.quizbackend.game;
+
+import com.wiss.quizbackend.service.GameSessionService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Beendet verlassene Games: Wer nicht mehr antwortet, bekommt das bis dahin erreichte Resultat.
+ */
+@Component
+public class ActiveGameSweeper {
+
+    private final ActiveGameStore activeGameStore;
+    private final GameSessionService gameSessionService;
+
+    public ActiveGameSweeper(ActiveGameStore activeGameStore, GameSessionService gameSessionService) {
+        this.activeGameStore = activeGameStore;
+        this.gameSessionService = gameSessionService;
+    }
+
+    @Scheduled(fixedDelayString = "${game.active-session.sweep-interval-ms:60000}")
+    public void finishIdleGames() {
+        for (ActiveGame game : activeGameStore.claimIdle()) {
+            try {
+                gameSessionService.finishExpiredGame(game);
+            } catch (RuntimeException e) {
+                // Nach dem Rollback ist das Game wieder frei - der nächste Lauf versucht es erneut
+                System.err.println("❌ Abgelaufenes Game " + game.getSessionId()
+                        + " konnte nicht beendet werden: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.wiss.quizbackend.game;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultat eines beendeten Games, das noch in {@code game_sessions} geschrieben werden muss.
+ */
+public final class FinishedGame {
+
+    private final Long sessionId;
+    private final Long userId;
+    private final String category;
+    private final int correctAnswers;
+    private final int score;
+    private final LocalDateTime playedAt;
+
+    public FinishedGame(Long sessionId, Long userId, String category, int correctAnswers, int score,
+                        LocalDateTime playedAt) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.category = category;
+        this.correctAnswers = correctAnswers;
+        this.score = score;
+        this.playedAt = playedAt;
+    }
+
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public LocalDateTime getPlayedAt() {
+        return playedAt;
+    }
+}
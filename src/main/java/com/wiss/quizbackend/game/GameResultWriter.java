@@ -0,0 +1,98 @@
+package com.wiss.quizbackend.game;
+
+import com.wiss.quizbackend.entity.GameResultDeadLetter;
+import com.wiss.quizbackend.event.ScoreChangedEvent;
+import com.wiss.quizbackend.repository.GameResultDeadLetterRepository;
+import com.wiss.quizbackend.service.UserStatsService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Schreibt mehrere Game-Resultate in EINER Transaktion als JDBC-Batch.
+ * <p>
+ * Die GameSessions wurden beim Start schon eingefügt - hier sind es nur noch UPDATEs,
+ * über (id, played_at), damit PostgreSQL nur die passende Monatspartition anfasst.
+ * UserStats und Leaderboard werden in derselben Transaktion bzw. nach dem Commit nachgeführt.
+ * </p>
+ * Ein Game wird genau einmal beendet (ActiveGameStore), der Score zählt daher vollständig
+ * als Differenz zum Start-Score 0.
+ * <p>
+ * Die UserStats werden pro User gesammelt nachgeführt: eine Zeilen-Sperre pro User statt pro
+ * Game, und immer in aufsteigender User-ID, damit sich parallele Batches nicht verklemmen.
+ * </p>
+ */
+@Component
+public class GameResultWriter {
+
+    private static final String UPDATE_SQL =
+            "UPDATE game_sessions SET correct_answers = ?, total_score = ? WHERE id = ? AND played_at = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserStatsService userStatsService;
+    private final GameResultDeadLetterRepository deadLetterRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public GameResultWriter(JdbcTemplate jdbcTemplate,
+                            UserStatsService userStatsService,
+                            GameResultDeadLetterRepository deadLetterRepository,
+                            ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userStatsService = userStatsService;
+        this.deadLetterRepository = deadLetterRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public void writeBatch(List<FinishedGame> games) {
+        // played_at ist der Partitionsschlüssel: ohne ihn sucht PostgreSQL die ID in jeder Partition
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, games, games.size(), (statement, game) -> {
+            statement.setInt(1, game.getCorrectAnswers());
+            statement.setInt(2, game.getScore());
+            statement.setLong(3, game.getSessionId());
+            statement.setTimestamp(4, Timestamp.valueOf(game.getPlayedAt()));
+        });
+        // 0 Zeilen = Session nicht gefunden: Fehler, damit der Write-Behind wiederholt bzw. ablegt
+        // (SUCCESS_NO_INFO bei umgeschriebenen Batches gilt als Erfolg)
+        for (int[] counts : updated) {
+            for (int count : counts) {
+                if (count == 0) {
+                    throw new IllegalStateException("GameSession für Resultat nicht gefunden (id/played_at)!");
+                }
+            }
+        }
+
+        Map<Long, List<FinishedGame>> gamesByUser = new TreeMap<>();
+        for (FinishedGame game : games) {
+            gamesByUser.computeIfAbsent(game.getUserId(), userId -> new ArrayList<>()).add(game);
+        }
+        gamesByUser.forEach(userStatsService::recordGamesFinished);
+
+        for (FinishedGame game : games) {
+            eventPublisher.publishEvent(ScoreChangedEvent.gameFinished(
+                    game.getUserId(), game.getCategory(), game.getScore(), game.getPlayedAt()));
+        }
+    }
+
+    /**
+     * Legt ein Resultat, das nicht geschrieben werden konnte, in {@code game_result_dead_letters}
+     * ab, damit es nach Behebung des Fehlers nachgetragen werden kann.
+     */
+    @Transactional
+    public void writeDeadLetter(FinishedGame game, String error) {
+        deadLetterRepository.save(new GameResultDeadLetter(
+                game.getSessionId(),
+                game.getUserId(),
+                game.getCategory(),
+                game.getCorrectAnswers(),
+                game.getScore(),
+                game.getPlayedAt(),
+                error));
+    }
+}
@@ -0,0 +1,285 @@
+package com.wiss.quizbackend.game;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-Behind für beendete Games (optional, {@code game.write-behind.enabled=true}).
+ * <p>
+ * {@code finishGame} legt das Resultat nur in eine begrenzte Queue. Ein Hintergrund-Thread
+ * schreibt sie gesammelt mit dem {@link GameResultWriter}: sobald {@code batch-size}
+ * Resultate da sind oder spätestens {@code max-latency-ms} nach dem ältesten.
+ * </p>
+ * <ul>
+ *     <li>Backpressure: Ist die Queue voll, wartet der Aufrufer bis {@code offer-timeout-ms}
+ *     und schreibt danach selbst synchron.</li>
+ *     <li>Fehler: Ein Resultat, das sich nicht schreiben lässt, wird mit exponentiellem Backoff
+ *     (ab {@code retry-backoff-ms}) erneut versucht. Nach {@code max-retries} Versuchen landet es
+ *     in {@code game_result_dead_letters}; klappt auch das nicht, wird weiter versucht.
+ *     Verworfen wird nichts.</li>
+ *     <li>Shutdown: Stoppt nach dem Webserver (keine neuen Requests mehr) und schreibt
+ *     die Queue vollständig leer, bevor die DataSource geschlossen wird. Was dann immer noch
+ *     nicht geschrieben werden kann, geht vollständig ins Fehler-Log.</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "game.write-behind.enabled", havingValue = "true")
+public class WriteBehindQueue implements SmartLifecycle {
+
+    // Backoff wächst bis auf das 64-fache von retry-backoff-ms und bleibt dann konstant
+    private static final int MAX_BACKOFF_SHIFT = 6;
+
+    private final GameResultWriter writer;
+    private final BlockingQueue<FinishedGame> queue;
+    private final int batchSize;
+    private final long maxLatencyNanos;
+    private final long offerTimeoutMillis;
+    private final int maxRetries;
+    private final long retryBackoffNanos;
+
+    // Fehlgeschlagene Resultate, die noch einmal versucht werden (Zugriff nur unter "this")
+    private final List<PendingRetry> retries = new ArrayList<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public WriteBehindQueue(GameResultWriter writer,
+                            @Value("${game.write-behind.capacity:10000}") int capacity,
+                            @Value("${game.write-behind.batch-size:500}") int batchSize,
+                            @Value("${game.write-behind.max-latency-ms:200}") long maxLatencyMillis,
+                            @Value("${game.write-behind.offer-timeout-ms:50}") long offerTimeoutMillis,
+                            @Value("${game.write-behind.max-retries:5}") int maxRetries,
+                            @Value("${game.write-behind.retry-backoff-ms:1000}") long retryBackoffMillis) {
+        if (maxRetries < 1) {
+            throw new IllegalArgumentException("game.write-behind.max-retries muss mindestens 1 sein!");
+        }
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxRetries = maxRetries;
+        this.retryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(retryBackoffMillis);
+    }
+
+    /**
+     * Übernimmt ein Resultat zum späteren Schreiben.
+     * Ist die Queue voll (oder der Writer gestoppt), wird synchron geschrieben.
+     */
+    public void submit(FinishedGame game) {
+        try {
+            if (running && queue.offer(game, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.writeBatch(List.of(game));
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Anzahl fehlgeschlagener Resultate, die auf einen weiteren Versuch warten.
+     */
+    public synchronized int getPendingRetryCount() {
+        return retries.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "game-write-behind");
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        // Kein interrupt(): ein laufender Batch soll fertig geschrieben werden
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Rest synchron leeren (auch was während des Stoppens noch dazukam)
+        List<FinishedGame> rest = new ArrayList<>(batchSize);
+        while (queue.drainTo(rest, batchSize) > 0) {
+            flush(rest);
+            rest = new ArrayList<>(batchSize);
+        }
+        drainRetries();
+        System.out.println("💾 Write-Behind gestoppt, Queue geleert");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Tiefer als der Webserver (DEFAULT_PHASE - 2048): wird erst danach gestoppt
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        List<FinishedGame> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                long wait = retryDue();
+                FinishedGame first = queue.poll(wait, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;   // running und fällige Wiederholungen erneut prüfen
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxLatencyNanos;
+
+                // Sammeln bis der Batch voll ist oder die maximale Latenz erreicht ist
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    FinishedGame next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Nicht vorgesehen (stop() unterbricht nicht) - Gesammeltes trotzdem schreiben
+                System.err.println("⚠️ Write-Behind unterbrochen, schreibe " + batch.size() + " Resultate");
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    private synchronized void flush(List<FinishedGame> batch) {
+        try {
+            writer.writeBatch(batch);
+        } catch (RuntimeException e) {
+            System.err.println("❌ Write-Behind Batch (" + batch.size() + ") fehlgeschlagen: " + e.getMessage());
+            if (batch.size() == 1) {
+                scheduleRetry(new PendingRetry(batch.get(0)), e);
+                return;
+            }
+            // Einzeln schreiben, damit ein fehlerhaftes Resultat nicht alle blockiert
+            for (FinishedGame game : batch) {
+                try {
+                    writer.writeBatch(List.of(game));
+                } catch (RuntimeException single) {
+                    scheduleRetry(new PendingRetry(game), single);
+                }
+            }
+        }
+    }
+
+    /**
+     * Versucht alle fälligen Wiederholungen erneut. Nach {@code maxRetries} Versuchen geht das
+     * Resultat in die Dead-Letter-Tabelle.
+     *
+     * @return Wie lange der Worker höchstens auf neue Resultate warten soll (Nanosekunden)
+     */
+    private synchronized long retryDue() {
+        long idleWait = TimeUnit.MILLISECONDS.toNanos(100);
+        if (retries.isEmpty()) {
+            return idleWait;
+        }
+        long now = System.nanoTime();
+        List<PendingRetry> due = new ArrayList<>();
+        for (Iterator<PendingRetry> it = retries.iterator(); it.hasNext(); ) {
+            PendingRetry retry = it.next();
+            if (now - retry.nextAttemptNanos >= 0) {
+                due.add(retry);
+                it.remove();
+            }
+        }
+
+        for (PendingRetry retry : due) {
+            try {
+                if (retry.attempts < maxRetries) {
+                    writer.writeBatch(List.of(retry.game));
+                } else {
+                    writer.writeDeadLetter(retry.game, retry.lastError);
+                    System.err.println("☠️ Resultat für GameSession " + retry.game.getSessionId()
+                            + " nach " + retry.attempts + " Versuchen in game_result_dead_letters abgelegt");
+                }
+            } catch (RuntimeException e) {
+                scheduleRetry(retry, e);
+            }
+        }
+
+        long wait = idleWait;
+        for (PendingRetry retry : retries) {
+            wait = Math.min(wait, Math.max(0, retry.nextAttemptNanos - System.nanoTime()));
+        }
+        return wait;
+    }
+
+    /**
+     * Beim Stoppen: jede offene Wiederholung ein letztes Mal schreiben, sonst als Dead Letter
+     * ablegen. Geht beides nicht (z.B. Datenbank weg), bleibt nur das Log - mit allen Werten,
+     * damit das Resultat von Hand nachgetragen werden kann.
+     */
+    private synchronized void drainRetries() {
+        List<PendingRetry> rest = new ArrayList<>(retries);
+        retries.clear();
+        for (PendingRetry retry : rest) {
+            try {
+                writer.writeBatch(List.of(retry.game));
+                continue;
+            } catch (RuntimeException e) {
+                retry.lastError = e.getMessage();
+            }
+            try {
+                writer.writeDeadLetter(retry.game, retry.lastError);
+            } catch (RuntimeException e) {
+                FinishedGame game = retry.game;
+                System.err.println("❌ Resultat NICHT gespeichert (manuell nachtragen): sessionId=" + game.getSessionId()
+                        + ", userId=" + game.getUserId() + ", category=" + game.getCategory()
+                        + ", correctAnswers=" + game.getCorrectAnswers() + ", score=" + game.getScore()
+                        + ", playedAt=" + game.getPlayedAt() + ", Fehler: " + e.getMessage());
+            }
+        }
+    }
+
+    private void scheduleRetry(PendingRetry retry, RuntimeException error) {
+        retry.attempts++;
+        retry.lastError = error.getMessage();
+        // Exponentiell: backoff, 2x, 4x, ... höchstens 2^MAX_BACKOFF_SHIFT-fach
+        int exponent = Math.min(retry.attempts - 1, MAX_BACKOFF_SHIFT);
+        retry.nextAttemptNanos = System.nanoTime() + (retryBackoffNanos << exponent);
+        retries.add(retry);
+        System.err.println("⚠️ Resultat für GameSession " + retry.game.getSessionId()
+                + " fehlgeschlagen (Versuch " + retry.attempts + "): " + error.getMessage());
+    }
+
+    private static final class PendingRetry {
+        private final FinishedGame game;
+        private int attempts;
+        private long nextAttemptNanos;
+        private String lastError;
+
+        PendingRetry(FinishedGame game) {
+            this.game = game;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.wiss.quizbackend.job;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+
+/**
+ * Fasst alte game_sessions zu Summenzeilen in {@code game_session_archive} zusammen.
+ * <p>
+ * Summieren, Abhängen und Löschen einer Partition laufen in EINER Transaktion: Eine
+ * gleichzeitige Leaderboard-Query sieht die Games entweder noch live oder schon im
+ * Archiv, aber nie doppelt oder gar nicht. Eigene Bean, damit der
+ * GameSessionPartitionJob die Methoden über den Transaktions-Proxy aufruft.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "game-sessions.partitioning.enabled", havingValue = "true")
+public class GameSessionArchiver {
+
+    // Bei einem erneuten Lauf für denselben Monat (z.B. Zeilen aus der Default-Partition) addieren
+    private static final String UPSERT_SUMMARY = """
+        ON CONFLICT (month_start, user_id, category) DO UPDATE SET
+            games_played = game_session_archive.games_played + EXCLUDED.games_played,
+            total_score = game_session_archive.total_score + EXCLUDED.total_score,
+            best_score = GREATEST(game_session_archive.best_score, EXCLUDED.best_score)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GameSessionArchiver(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Archiviert eine Monatspartition und löscht sie danach.
+     *
+     * @param partition Name der Partition (vom Job geprüft, z.B. game_sessions_p202401)
+     * @param month Der Monat der Partition
+     * @return Anzahl erzeugter bzw. nachgeführter Summenzeilen
+     */
+    @Transactional
+    public int archivePartition(String partition, YearMonth month) {
+        int summaries = jdbcTemplate.update("""
+                INSERT INTO game_session_archive (month_start, user_id, category, games_played, total_score, best_score)
+                SELECT ?, user_id, category, COUNT(*), SUM(total_score), MAX(total_score)
+                FROM %s
+                GROUP BY user_id, category
+                """.formatted(partition) + UPSERT_SUMMARY,
+                Date.valueOf(month.atDay(1)));
+
+        jdbcTemplate.execute("ALTER TABLE game_sessions DETACH PARTITION " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        return summaries;
+    }
+
+    /**
+     * Archiviert alte Zeilen, die in der Default-Partition gelandet sind (sollte nicht vorkommen,
+     * z.B. wenn der Job länger nicht lief).
+     *
+     * @param before Alles vor diesem Monat wird archiviert
+     * @return Anzahl archivierter Games
+     */
+    @Transactional
+    public int archiveDefaultPartition(YearMonth before) {
+        Timestamp cutoff = Timestamp.valueOf(before.atDay(1).atStartOfDay());
+
+        jdbcTemplate.update("""
+                INSERT INTO game_session_archive (month_start, user_id, category, games_played, total_score, best_score)
+                SELECT CAST(date_trunc('month', played_at) AS DATE), user_id, category,
+                       COUNT(*), SUM(total_score), MAX(total_score)
+                FROM game_sessions_default
+                WHERE played_at < ?
+                GROUP BY 1, user_id, category
+                """ + UPSERT_SUMMARY,
+                cutoff);
+
+        return jdbcTemplate.update("DELETE FROM game_sessions_default WHERE played_at < ?", cutoff);
+    }
+}
@@ -0,0 +1,112 @@
+package com.wiss.quizbackend.job;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pflegt die Monatspartitionen von {@code game_sessions} (nur PostgreSQL, siehe Migration V4).
+ * <p>
+ * Läuft beim Start und danach täglich ({@code game-sessions.partitioning.cron}):
+ * </p>
+ * <ul>
+ *   <li>legt die Partitionen für den aktuellen und die nächsten
+ *       {@code months-ahead} Monate an, damit nie ein Insert in die Default-Partition fällt</li>
+ *   <li>fasst Partitionen, die älter als {@code retention-months} sind, über den
+ *       {@link GameSessionArchiver} zu Summenzeilen zusammen und löscht sie</li>
+ * </ul>
+ * <p>
+ * Einzelne Games älter als die Aufbewahrungsfrist sind danach nicht mehr abrufbar,
+ * lebenslange Summen (Leaderboard, UserStats) bleiben über das Archiv vollständig.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "game-sessions.partitioning.enabled", havingValue = "true")
+public class GameSessionPartitionJob {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("game_sessions_p(\\d{4})(\\d{2})");
+
+    private static final String FIND_PARTITIONS = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'game_sessions'::regclass
+            ORDER BY c.relname
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GameSessionArchiver archiver;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public GameSessionPartitionJob(JdbcTemplate jdbcTemplate,
+                                   GameSessionArchiver archiver,
+                                   @Value("${game-sessions.partitioning.months-ahead:3}") int monthsAhead,
+                                   @Value("${game-sessions.partitioning.retention-months:12}") int retentionMonths) {
+        if (monthsAhead < 1 || retentionMonths < 1) {
+            throw new IllegalArgumentException(
+                    "game-sessions.partitioning.months-ahead und retention-months müssen mindestens 1 sein!");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiver = archiver;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        run();
+    }
+
+    @Scheduled(cron = "${game-sessions.partitioning.cron:0 30 3 * * *}")
+    public void run() {
+        try {
+            maintain(YearMonth.now());
+        } catch (RuntimeException e) {
+            // Nächster Lauf versucht es wieder - die Partitionen reichen noch months-ahead Monate
+            System.err.println("❌ Partitionspflege game_sessions fehlgeschlagen: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param current Der aktuelle Monat
+     */
+    void maintain(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            jdbcTemplate.queryForObject("SELECT create_game_sessions_partition(?)", String.class,
+                    Date.valueOf(current.plusMonths(i).atDay(1)));
+        }
+
+        // Der aktuelle Monat plus retention-months volle Monate bleiben live
+        YearMonth oldestLive = current.minusMonths(retentionMonths);
+
+        List<String> partitions = jdbcTemplate.queryForList(FIND_PARTITIONS, String.class);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;  // Default-Partition
+            }
+
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.isBefore(oldestLive)) {
+                int summaries = archiver.archivePartition(partition, month);
+                System.out.println("🗄️ Partition " + partition + " archiviert (" + summaries + " Summenzeilen)");
+            }
+        }
+
+        int stray = archiver.archiveDefaultPartition(oldestLive);
+        if (stray > 0) {
+            System.out.println("🗄️ " + stray + " alte Games aus game_sessions_default archiviert");
+        }
+    }
+}
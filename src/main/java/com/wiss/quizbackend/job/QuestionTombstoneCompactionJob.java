@@ -0,0 +1,46 @@
+package com.wiss.quizbackend.job;
+
+import com.wiss.quizbackend.service.QuestionChangeLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Löscht alte Tombstones gelöschter Fragen (siehe {@link QuestionChangeLog}).
+ * <p>
+ * Ohne Kompaktierung würde {@code question_tombstones} mit jeder Löschung weiter wachsen.
+ * Clients, die länger als {@code question-sync.tombstone-retention-days} nicht synchronisiert
+ * haben, bekommen danach beim nächsten Delta-Sync einen Reset (ganzer Katalog) statt
+ * der einzelnen Löschungen.
+ * </p>
+ */
+@Component
+public class QuestionTombstoneCompactionJob {
+
+    private final QuestionChangeLog changeLog;
+    private final int retentionDays;
+
+    public QuestionTombstoneCompactionJob(QuestionChangeLog changeLog,
+                                          @Value("${question-sync.tombstone-retention-days:90}") int retentionDays) {
+        if (retentionDays < 1) {
+            throw new IllegalArgumentException("question-sync.tombstone-retention-days muss mindestens 1 sein!");
+        }
+        this.changeLog = changeLog;
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(cron = "${question-sync.compaction-cron:0 0 4 * * *}")
+    public void run() {
+        try {
+            int removed = changeLog.compactTombstones(LocalDateTime.now().minusDays(retentionDays));
+            if (removed > 0) {
+                System.out.println("🧹 " + removed + " Tombstones gelöschter Fragen kompaktiert");
+            }
+        } catch (RuntimeException e) {
+            // Nächster Lauf versucht es wieder - bis dahin bleiben die Tombstones einfach liegen
+            System.err.println("❌ Kompaktierung der Fragen-Tombstones fehlgeschlagen: " + e.getMessage());
+        }
+    }
+}
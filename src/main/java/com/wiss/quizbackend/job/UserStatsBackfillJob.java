@@ -0,0 +1,50 @@
+package com.wiss.quizbackend.job;
+
+import com.wiss.quizbackend.repository.UserStatsRepository;
+import com.wiss.quizbackend.service.UserStatsService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Einmaliger Backfill der Tabelle {@code user_stats} aus {@code game_sessions} und {@code game_session_archive}.
+ * <p>
+ * Läuft nur mit {@code user-stats.backfill=true}, z.B. einmalig beim Deployment:
+ * {@code java -jar quiz-backend.jar --user-stats.backfill=true}.
+ * Jeder User wird in einer eigenen Transaktion neu berechnet, der Job ist daher
+ * wiederholbar und blockiert den laufenden Betrieb nur pro User.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "user-stats.backfill", havingValue = "true")
+public class UserStatsBackfillJob implements ApplicationRunner {
+
+    private final UserStatsRepository userStatsRepository;
+    private final UserStatsService userStatsService;
+
+    public UserStatsBackfillJob(UserStatsRepository userStatsRepository, UserStatsService userStatsService) {
+        this.userStatsRepository = userStatsRepository;
+        this.userStatsService = userStatsService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Long> userIds = userStatsRepository.findUserIdsWithSessions();
+        System.out.println("📊 UserStats Backfill gestartet: " + userIds.size() + " User");
+
+        int failed = 0;
+        for (Long userId : userIds) {
+            try {
+                userStatsService.rebuild(userId);
+            } catch (RuntimeException e) {
+                failed++;
+                System.err.println("❌ UserStats Backfill für User " + userId + " fehlgeschlagen: " + e.getMessage());
+            }
+        }
+
+        System.out.println("📊 UserStats Backfill beendet: " + (userIds.size() - failed) + " OK, " + failed + " Fehler");
+    }
+}
@@ -0,0 +1,247 @@
+package com.wiss.quizbackend.leaderboard;
+
+import com.wiss.quizbackend.event.ScoreChangedEvent;
+import com.wiss.quizbackend.repository.LeaderboardRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-Memory Leaderboard (global und pro Kategorie).
+ * <p>
+ * Ersetzt das {@code GROUP BY userId} über alle {@code game_sessions} bei jedem Request.
+ * Pro Leaderboard gibt es einen {@link ScoreTree} (sortiert nach Total Score) und eine Map
+ * User → aktueller Eintrag. Die Summen werden einmalig mit einer Aggregations-Query
+ * aufgebaut und danach über {@link ScoreChangedEvent}s in O(log n) nachgeführt.
+ * </p>
+ * <p>
+ * Die Werte entsprechen exakt den bisherigen Queries im LeaderboardRepository:
+ * gamesPlayed zählt alle GameSessions (auch gestartete), totalScore summiert die Scores.
+ * </p>
+ * <p>
+ * Der Aufbau läuft über das {@link ScoreCommitGate}, damit kein Event, dessen Änderung schon
+ * in der Aggregation steckt, danach nochmals angewendet wird.
+ * </p>
+ */
+@Component
+public class LeaderboardEngine {
+
+    private final LeaderboardRepository leaderboardRepository;
+    private final ScoreCommitGate scoreCommitGate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Board global = new Board();
+    private final Map<String, Board> byCategory = new HashMap<>();
+    private volatile boolean seeded;
+
+    public LeaderboardEngine(LeaderboardRepository leaderboardRepository, ScoreCommitGate scoreCommitGate) {
+        this.leaderboardRepository = leaderboardRepository;
+        this.scoreCommitGate = scoreCommitGate;
+    }
+
+    /**
+     * Baut das Leaderboard beim Start auf, damit schon der erste Request
+     * ohne Aggregations-Query auskommt.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureSeeded();
+    }
+
+    /**
+     * Die besten Spieler.
+     *
+     * @param category Die Kategorie, oder {@code null} für das globale Leaderboard
+     * @param limit Maximale Anzahl Einträge
+     * @return Einträge in Rangfolge (Platz 1 zuerst)
+     */
+    public List<LeaderboardEntry> top(String category, int limit) {
+        ensureSeeded();
+        lock.readLock().lock();
+        try {
+            Board board = board(category);
+            return board == null ? List.of() : board.tree.range(0, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Die besten Spieler jeder Kategorie auf einmal, unter einem einzigen Lock.
+     *
+     * @param limit Maximale Anzahl Einträge pro Kategorie
+     * @return Kategorie → Einträge in Rangfolge, Kategorien alphabetisch
+     */
+    public Map<String, List<LeaderboardEntry>> topPerCategory(int limit) {
+        ensureSeeded();
+        lock.readLock().lock();
+        try {
+            Map<String, List<LeaderboardEntry>> result = new TreeMap<>();
+            byCategory.forEach((category, board) -> {
+                if (board.tree.size() > 0) {
+                    result.put(category, board.tree.range(0, limit));
+                }
+            });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ein User und seine Nachbarn in der Rangliste, in O(log n + radius).
+     *
+     * @param category Die Kategorie, oder {@code null} für das globale Leaderboard
+     * @param userId Der User
+     * @param radius Anzahl Plätze vor und nach dem User (0 = nur der User selbst)
+     * @return Der Ausschnitt, oder leer falls der User (in dieser Kategorie) noch nie gespielt hat
+     */
+    public Optional<LeaderboardSlice> around(String category, long userId, int radius) {
+        ensureSeeded();
+        lock.readLock().lock();
+        try {
+            Board board = board(category);
+            LeaderboardEntry entry = board == null ? null : board.byUser.get(userId);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            int rank = board.tree.rank(entry);
+            int from = Math.max(0, rank - radius);
+            List<LeaderboardEntry> entries = board.tree.range(from, rank - from + radius + 1);
+            return Optional.of(new LeaderboardSlice(from + 1, entries));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Anzahl gespielter Games pro Kategorie, beliebteste zuerst.
+     */
+    public Map<String, Long> gamesPerCategory() {
+        ensureSeeded();
+        lock.readLock().lock();
+        try {
+            Map<String, Long> result = new LinkedHashMap<>();
+            byCategory.entrySet().stream()
+                    .filter(entry -> entry.getValue().totalGames > 0)
+                    .sorted((a, b) -> Long.compare(b.getValue().totalGames, a.getValue().totalGames))
+                    .forEach(entry -> result.put(entry.getKey(), entry.getValue().totalGames));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Übernimmt eine Score-Änderung nach dem Commit in O(log n).
+     * Läuft vor dem LeaderboardStream, der danach den neuen Stand liest.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onScoreChanged(ScoreChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!seeded) {
+                return;  // Vor dem Erstaufbau committet - die Aggregation enthält diese Änderung
+            }
+            apply(event.getUserId(), event.getCategory(), event.getGamesDelta(), event.getScoreDelta());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Verwirft alle Leaderboards und baut sie mit einer Aggregations-Query neu auf.
+     * Score-Commits warten so lange; Leser sehen bis zum Austausch den alten Stand.
+     */
+    public void reseed() {
+        scoreCommitGate.runExclusive(() -> {
+            List<Object[]> rows = leaderboardRepository.aggregateScoresByUserAndCategory();
+
+            lock.writeLock().lock();
+            try {
+                global.clear();
+                byCategory.clear();
+                for (Object[] row : rows) {
+                    apply(((Number) row[0]).longValue(),
+                            (String) row[1],
+                            ((Number) row[3]).longValue(),
+                            row[2] != null ? ((Number) row[2]).longValue() : 0L);
+                }
+                seeded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void ensureSeeded() {
+        if (!seeded) {
+            // Nicht unter dem eigenen Lock: ein committender Thread hält das Gate und wartet im Listener darauf
+            scoreCommitGate.runExclusive(() -> {
+                if (!seeded) {
+                    reseed();
+                }
+            });
+        }
+    }
+
+    private void apply(long userId, String category, long gamesDelta, long scoreDelta) {
+        global.apply(userId, gamesDelta, scoreDelta);
+        byCategory.computeIfAbsent(normalize(category), key -> new Board())
+                .apply(userId, gamesDelta, scoreDelta);
+    }
+
+    private Board board(String category) {
+        return category == null ? global : byCategory.get(normalize(category));
+    }
+
+    private static String normalize(String category) {
+        return category == null ? "" : category.trim().toLowerCase();
+    }
+
+    /**
+     * Ein einzelnes Leaderboard: sortierter Baum + aktueller Eintrag pro User.
+     * Fällt ein User auf 0 Games und 0 Punkte zurück (z.B. wenn im {@link WindowedLeaderboard}
+     * ein Bucket aus dem Zeitfenster fällt), verschwindet er aus dem Board.
+     */
+    static final class Board {
+        final ScoreTree tree = new ScoreTree();
+        final Map<Long, LeaderboardEntry> byUser = new HashMap<>();
+        long totalGames;
+
+        void apply(long userId, long gamesDelta, long scoreDelta) {
+            LeaderboardEntry current = byUser.get(userId);
+            LeaderboardEntry updated;
+            if (current == null) {
+                updated = new LeaderboardEntry(userId, scoreDelta, gamesDelta);
+            } else {
+                tree.remove(current);
+                updated = current.plus(gamesDelta, scoreDelta);
+            }
+            totalGames += gamesDelta;
+            if (updated.getGamesPlayed() == 0 && updated.getTotalScore() == 0) {
+                byUser.remove(userId);
+                return;
+            }
+            byUser.put(userId, updated);
+            tree.insert(updated);
+        }
+
+        void clear() {
+            tree.clear();
+            byUser.clear();
+            totalGames = 0;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.wiss.quizbackend.leaderboard;
+
+/**
+ * Unveränderbarer Stand eines Users in einem Leaderboard (global oder pro Kategorie).
+ * Bei jeder Änderung wird ein neuer Eintrag erzeugt und im {@link ScoreTree} ersetzt.
+ */
+public final class LeaderboardEntry {
+
+    private final long userId;
+    private final long totalScore;
+    private final long gamesPlayed;
+
+    public LeaderboardEntry(long userId, long totalScore, long gamesPlayed) {
+        this.userId = userId;
+        this.totalScore = totalScore;
+        this.gamesPlayed = gamesPlayed;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    LeaderboardEntry plus(long gamesDelta, long scoreDelta) {
+        return new LeaderboardEntry(userId, totalScore + scoreDelta, gamesPlayed + gamesDelta);
+    }
+}
@@ -0,0 +1,28 @@
+package com.wiss.quizbackend.leaderboard;
+
+import java.util.List;
+
+/**
+ * Zusammenhängender Ausschnitt einer Rangliste, z.B. "ich und meine Nachbarn".
+ */
+public final class LeaderboardSlice {
+
+    private final int firstRank;
+    private final List<LeaderboardEntry> entries;
+
+    public LeaderboardSlice(int firstRank, List<LeaderboardEntry> entries) {
+        this.firstRank = firstRank;
+        this.entries = entries;
+    }
+
+    /**
+     * Rang des ersten Eintrags (1 = Platz 1).
+     */
+    public int getFirstRank() {
+        return firstRank;
+    }
+
+    public List<LeaderboardEntry> getEntries() {
+        return entries;
+    }
+}
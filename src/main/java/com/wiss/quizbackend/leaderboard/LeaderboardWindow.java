@@ -0,0 +1,60 @@
+package com.wiss.quizbackend.leaderboard;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Zeitfenster für die rollenden Leaderboards.
+ * <p>
+ * DAY rollt stündlich (die letzten 24 Stunden-Buckets), WEEK und MONTH rollen täglich
+ * (heute plus die 6 bzw. 29 Tage davor).
+ * </p>
+ */
+public enum LeaderboardWindow {
+
+    DAY(ChronoUnit.HOURS, 24),
+    WEEK(ChronoUnit.DAYS, 7),
+    MONTH(ChronoUnit.DAYS, 30);
+
+    private final ChronoUnit bucketUnit;
+    private final int buckets;
+
+    LeaderboardWindow(ChronoUnit bucketUnit, int buckets) {
+        this.bucketUnit = bucketUnit;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Parst den Request-Parameter ("day", "week", "month").
+     *
+     * @throws IllegalArgumentException bei einem unbekannten Fenster
+     */
+    public static LeaderboardWindow fromParam(String value) {
+        if (value != null) {
+            for (LeaderboardWindow window : values()) {
+                if (window.name().equalsIgnoreCase(value.trim())) {
+                    return window;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Zeitfenster muss day, week oder month sein!");
+    }
+
+    ChronoUnit getBucketUnit() {
+        return bucketUnit;
+    }
+
+    /**
+     * Der Bucket, in den ein Zeitpunkt fällt.
+     */
+    LocalDateTime bucketOf(LocalDateTime time) {
+        return time.truncatedTo(bucketUnit);
+    }
+
+    /**
+     * Der älteste Bucket, der zum Zeitpunkt {@code now} noch im Fenster liegt.
+     */
+    LocalDateTime firstBucket(LocalDateTime now) {
+        return bucketOf(now).minus(buckets - 1L, bucketUnit);
+    }
+}
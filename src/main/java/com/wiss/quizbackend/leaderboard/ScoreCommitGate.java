@@ -0,0 +1,74 @@
+package com.wiss.quizbackend.leaderboard;
+
+import com.wiss.quizbackend.event.ScoreChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sorgt dafür, dass der Aufbau eines Leaderboards aus der Datenbank nie mit dem Commit
+ * einer Score-Änderung überlappt.
+ * <p>
+ * Ohne diese Sperre kann eine Transaktion committen, kurz bevor die Aggregations-Query liest,
+ * ihr {@link ScoreChangedEvent} aber erst nach dem Aufbau zugestellt bekommen - die Änderung
+ * wäre dann doppelt gezählt. Jede Transaktion mit Score-Änderungen hält deshalb von
+ * BEFORE_COMMIT bis nach ihren AFTER_COMMIT-Listenern eine geteilte Sperre, der Aufbau die
+ * exklusive. So ist jede Änderung entweder vor der Query committet und schon zugestellt
+ * (im Seed enthalten, das Event wurde verworfen) oder erst danach committet (das Event wird
+ * auf den neuen Stand angewendet).
+ * </p>
+ * <p>
+ * Die Aggregations-Queries lesen ohne Zeilen-Locks, ein Aufbau hält Commits also nur für die
+ * Dauer der Query auf. Ohne Transaktion (z.B. in Unit-Tests) gibt es nichts zu sperren.
+ * </p>
+ */
+@Component
+public class ScoreCommitGate {
+
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    /**
+     * Geteilte Sperre bis zum Ende der Transaktion. Pro Event einmal, ReentrantReadWriteLock
+     * zählt die Haltungen des Threads.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onScoreCommitting(ScoreChangedEvent event) {
+        commitLock.readLock().lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // Nach allen AFTER_COMMIT-Listenern (die laufen ebenfalls in afterCompletion)
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                commitLock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Führt {@code action} aus, während keine Score-Änderung committet. Wartet, bis laufende
+     * Commits samt ihren Listenern durch sind.
+     *
+     * @throws IllegalStateException wenn der aktuelle Thread selbst gerade Score-Änderungen committet
+     */
+    public void runExclusive(Runnable action) {
+        if (commitLock.getReadHoldCount() > 0) {
+            // Ein Upgrade von geteilt auf exklusiv würde für immer warten
+            throw new IllegalStateException("Leaderboards können nicht während eines Score-Commits aufgebaut werden!");
+        }
+        commitLock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.wiss.quizbackend.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Order-Statistic-Tree für Leaderboard-Einträge (Treap mit Teilbaum-Grössen).
+ * <p>
+ * Sortierung: höchster Score zuerst, bei Gleichstand kleinere User-ID zuerst.
+ * Jeder Knoten kennt die Grösse seines Teilbaums. Dadurch laufen Einfügen, Entfernen,
+ * Rang eines Eintrags und Zugriff auf Position i in O(log n) (erwartet), ein Ausschnitt
+ * von k Einträgen in O(log n + k).
+ * </p>
+ * Nicht thread-safe - der {@link LeaderboardEngine} synchronisiert die Zugriffe.
+ */
+final class ScoreTree {
+
+    static final Comparator<LeaderboardEntry> ORDER = Comparator
+            .comparingLong(LeaderboardEntry::getTotalScore).reversed()
+            .thenComparingLong(LeaderboardEntry::getUserId);
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    void clear() {
+        root = null;
+    }
+
+    void insert(LeaderboardEntry entry) {
+        root = insert(root, new Node(entry, random.nextInt()));
+    }
+
+    void remove(LeaderboardEntry entry) {
+        root = remove(root, entry);
+    }
+
+    /**
+     * Position des Eintrags (0 = Platz 1), oder -1 falls er nicht im Baum ist.
+     */
+    int rank(LeaderboardEntry entry) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = ORDER.compare(entry, node.entry);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Bis zu {@code count} Einträge ab Position {@code from} in Rangfolge.
+     */
+    List<LeaderboardEntry> range(int from, int count) {
+        List<LeaderboardEntry> result = new ArrayList<>(Math.max(0, Math.min(count, size() - from)));
+        if (count > 0 && from >= 0) {
+            collect(root, from, from + count, result);
+        }
+        return result;
+    }
+
+    private void collect(Node node, int from, int to, List<LeaderboardEntry> out) {
+        if (node == null || from >= to) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (from < leftSize) {
+            collect(node.left, from, Math.min(to, leftSize), out);
+        }
+        if (from <= leftSize && leftSize < to) {
+            out.add(node.entry);
+        }
+        if (to > leftSize + 1) {
+            collect(node.right, Math.max(0, from - leftSize - 1), to - leftSize - 1, out);
+        }
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (ORDER.compare(inserted.entry, node.entry) < 0) {
+            node.left = insert(node.left, inserted);
+            update(node);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            update(node);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        return node;
+    }
+
+    private Node remove(Node node, LeaderboardEntry entry) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = ORDER.compare(entry, node.entry);
+        if (cmp < 0) {
+            node.left = remove(node.left, entry);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, entry);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static final class Node {
+        final LeaderboardEntry entry;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(LeaderboardEntry entry, int priority) {
+            this.entry = entry;
+            this.priority = priority;
+        }
+    }
+}
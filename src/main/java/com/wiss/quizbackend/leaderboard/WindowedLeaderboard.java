@@ -0,0 +1,297 @@
+package com.wiss.quizbackend.leaderboard;
+
+import com.wiss.quizbackend.event.ScoreChangedEvent;
+import com.wiss.quizbackend.leaderboard.LeaderboardEngine.Board;
+import com.wiss.quizbackend.repository.LeaderboardRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Rollende Leaderboards (letzte 24 Stunden, 7 Tage, 30 Tage), global und pro Kategorie.
+ * <p>
+ * Games und Punkte werden in Zeit-Buckets gesammelt: Stunden-Buckets für das Tagesfenster,
+ * Tages-Buckets für Woche und Monat. Pro Fenster gibt es zusätzlich fertige {@link Board}s
+ * mit der Summe aller Buckets im Fenster. Ein {@link ScoreChangedEvent} landet in seinem
+ * Bucket und in den Boards in O(log n). Rückt die Stunde weiter, werden nur die Buckets
+ * abgezogen, die gerade aus einem Fenster gefallen sind - kein erneutes Summieren über
+ * alle Games der Periode.
+ * </p>
+ * <p>
+ * Massgebend ist {@code played_at} (Start des Games), wie bei einer Query über game_sessions.
+ * Aufgebaut wird einmalig mit einer Aggregations-Query pro Stunde über die letzten 30 Tage,
+ * wie beim {@link LeaderboardEngine} über das {@link ScoreCommitGate}.
+ * </p>
+ */
+@Component
+public class WindowedLeaderboard {
+
+    private final LeaderboardRepository leaderboardRepository;
+    private final ScoreCommitGate scoreCommitGate;
+    private final Clock clock;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Bucket-Start → Summen, je eine Serie pro Bucket-Grösse (Stunden, Tage)
+    private final Map<ChronoUnit, TreeMap<LocalDateTime, Bucket>> series = new EnumMap<>(ChronoUnit.class);
+    private final Map<LeaderboardWindow, WindowBoards> windows = new EnumMap<>(LeaderboardWindow.class);
+
+    // Stunde der letzten Rotation
+    private volatile LocalDateTime currentHour;
+    private volatile boolean seeded;
+
+    @Autowired
+    public WindowedLeaderboard(LeaderboardRepository leaderboardRepository, ScoreCommitGate scoreCommitGate) {
+        this(leaderboardRepository, scoreCommitGate, Clock.systemDefaultZone());
+    }
+
+    WindowedLeaderboard(LeaderboardRepository leaderboardRepository, ScoreCommitGate scoreCommitGate, Clock clock) {
+        this.leaderboardRepository = leaderboardRepository;
+        this.scoreCommitGate = scoreCommitGate;
+        this.clock = clock;
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            series.putIfAbsent(window.getBucketUnit(), new TreeMap<>());
+            windows.put(window, new WindowBoards());
+        }
+    }
+
+    /**
+     * Baut die Buckets beim Start auf, damit schon der erste Request
+     * ohne Aggregations-Query auskommt.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureSeeded();
+    }
+
+    /**
+     * Die besten Spieler im Zeitfenster.
+     *
+     * @param window Das Zeitfenster
+     * @param category Die Kategorie, oder {@code null} für das globale Leaderboard
+     * @param limit Maximale Anzahl Einträge
+     * @return Einträge in Rangfolge (Platz 1 zuerst)
+     */
+    public List<LeaderboardEntry> top(LeaderboardWindow window, String category, int limit) {
+        ensureSeeded();
+        rotateIfNeeded();
+        lock.readLock().lock();
+        try {
+            Board board = windows.get(window).board(category);
+            return board == null ? List.of() : board.tree.range(0, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Übernimmt eine Score-Änderung nach dem Commit.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoreChanged(ScoreChangedEvent event) {
+        if (event.getPlayedAt() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!seeded) {
+                return;  // Vor dem Erstaufbau committet - die Aggregation enthält diese Änderung
+            }
+            rotate(now());
+            apply(event.getUserId(), event.getCategory(), event.getPlayedAt(),
+                    event.getGamesDelta(), event.getScoreDelta());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Verwirft alle Buckets und baut sie mit einer Aggregations-Query neu auf.
+     */
+    public void reseed() {
+        scoreCommitGate.runExclusive(() -> {
+            LocalDateTime hour = now();
+            List<Object[]> rows = leaderboardRepository.aggregateScoresByUserCategoryAndHour(
+                    Timestamp.valueOf(oldestBucket(hour)));
+
+            lock.writeLock().lock();
+            try {
+                series.values().forEach(Map::clear);
+                windows.values().forEach(WindowBoards::clear);
+                currentHour = hour;
+
+                for (Object[] row : rows) {
+                    apply(((Number) row[0]).longValue(),
+                            (String) row[1],
+                            toLocalDateTime(row[2]),
+                            ((Number) row[3]).longValue(),
+                            row[4] != null ? ((Number) row[4]).longValue() : 0L);
+                }
+                seeded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void ensureSeeded() {
+        if (!seeded) {
+            scoreCommitGate.runExclusive(() -> {
+                if (!seeded) {
+                    reseed();
+                }
+            });
+        }
+    }
+
+    private void rotateIfNeeded() {
+        LocalDateTime hour = now();
+        if (!hour.equals(currentHour)) {
+            lock.writeLock().lock();
+            try {
+                rotate(hour);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Zieht die Buckets ab, die seit der letzten Rotation aus einem Fenster gefallen sind,
+     * und verwirft Buckets, die in keinem Fenster mehr liegen.
+     */
+    private void rotate(LocalDateTime hour) {
+        if (!hour.isAfter(currentHour)) {
+            return;
+        }
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            WindowBoards boards = windows.get(window);
+            series.get(window.getBucketUnit())
+                    .subMap(window.firstBucket(currentHour), true, window.firstBucket(hour), false)
+                    .values()
+                    .forEach(bucket -> bucket.forEach((category, userId, cell) ->
+                            boards.apply(userId, category, -cell.games, -cell.score)));
+        }
+        series.forEach((unit, buckets) -> buckets.headMap(oldestBucket(hour, unit)).clear());
+        currentHour = hour;
+    }
+
+    private void apply(long userId, String category, LocalDateTime playedAt, long gamesDelta, long scoreDelta) {
+        String key = normalize(category);
+        series.forEach((unit, buckets) -> {
+            LocalDateTime start = playedAt.truncatedTo(unit);
+            if (!start.isBefore(oldestBucket(currentHour, unit))) {
+                buckets.computeIfAbsent(start, ignored -> new Bucket()).add(userId, key, gamesDelta, scoreDelta);
+            }
+        });
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            if (!window.bucketOf(playedAt).isBefore(window.firstBucket(currentHour))) {
+                windows.get(window).apply(userId, key, gamesDelta, scoreDelta);
+            }
+        }
+    }
+
+    /**
+     * Ältester Bucket einer Serie, den noch ein Fenster braucht.
+     */
+    private static LocalDateTime oldestBucket(LocalDateTime hour, ChronoUnit unit) {
+        LocalDateTime oldest = hour;
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            if (window.getBucketUnit() == unit && window.firstBucket(hour).isBefore(oldest)) {
+                oldest = window.firstBucket(hour);
+            }
+        }
+        return oldest;
+    }
+
+    private static LocalDateTime oldestBucket(LocalDateTime hour) {
+        LocalDateTime oldest = hour;
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            if (window.firstBucket(hour).isBefore(oldest)) {
+                oldest = window.firstBucket(hour);
+            }
+        }
+        return oldest;
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime;
+        }
+        throw new IllegalStateException("Unerwarteter Typ für Bucket-Start: " + value);
+    }
+
+    private static String normalize(String category) {
+        return category == null ? "" : category.trim().toLowerCase();
+    }
+
+    /**
+     * Summen eines Zeit-Buckets pro Kategorie und User.
+     */
+    private static final class Bucket {
+        private final Map<String, Map<Long, Cell>> byCategory = new HashMap<>();
+
+        void add(long userId, String category, long gamesDelta, long scoreDelta) {
+            Cell cell = byCategory.computeIfAbsent(category, key -> new HashMap<>())
+                    .computeIfAbsent(userId, key -> new Cell());
+            cell.games += gamesDelta;
+            cell.score += scoreDelta;
+        }
+
+        void forEach(CellConsumer consumer) {
+            byCategory.forEach((category, cells) ->
+                    cells.forEach((userId, cell) -> consumer.accept(category, userId, cell)));
+        }
+    }
+
+    private static final class Cell {
+        long games;
+        long score;
+    }
+
+    @FunctionalInterface
+    private interface CellConsumer {
+        void accept(String category, long userId, Cell cell);
+    }
+
+    /**
+     * Die Boards eines Fensters: global und pro Kategorie.
+     */
+    private static final class WindowBoards {
+        private final Board global = new Board();
+        private final Map<String, Board> byCategory = new HashMap<>();
+
+        void apply(long userId, String category, long gamesDelta, long scoreDelta) {
+            global.apply(userId, gamesDelta, scoreDelta);
+            byCategory.computeIfAbsent(category, key -> new Board()).apply(userId, gamesDelta, scoreDelta);
+        }
+
+        Board board(String category) {
+            return category == null ? global : byCategory.get(normalize(category));
+        }
+
+        void clear() {
+            global.clear();
+            byCategory.clear();
+        }
+    }
+}
@@ -131,6 +131,47 @@ public class QuestionMapper {
         );
     }
 
+    /**
+     * Erstellt eine losgelöste, nicht von Hibernate verwaltete Kopie einer Question.
+     * <p>
+     * Die falschen Antworten werden in eine unveränderbare Liste kopiert und vom
+     * Ersteller werden nur ID und Username übernommen. Die Kopie kann dadurch
+     * ausserhalb einer Transaktion gelesen werden, ohne Lazy-Loading auszulösen,
+     * z.B. im In-Memory-Katalog.
+     *
+     * @param entity Die Question Entity (muss innerhalb der Transaktion gelesen werden)
+     * @return Die losgelöste Kopie, oder {@code null} falls die Entity {@code null} ist
+     */
+    public static Question toSnapshot(Question entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        AppUser creator = entity.getCreatedBy();
+        AppUser creatorCopy = null;
+        if (creator != null) {
+            creatorCopy = new AppUser();
+            creatorCopy.setId(creator.getId());
+            creatorCopy.setUsername(creator.getUsername());
+        }
+
+        List<String> incorrectAnswers = entity.getIncorrectAnswers() != null
+                ? List.copyOf(entity.getIncorrectAnswers())
+                : List.of();
+
+        Question snapshot = new Question(
+                entity.getId(),
+                entity.getQuestion(),
+                entity.getCorrectAnswer(),
+                incorrectAnswers,
+                entity.getCategory(),
+                entity.getDifficulty(),
+                creatorCopy
+        );
+        snapshot.setChangeSeq(entity.getChangeSeq());
+        return snapshot;
+    }
+
     /**
      * Konvertiert eine Liste von Question Entities in eine Liste von QuestionDTOs.
      * <p>
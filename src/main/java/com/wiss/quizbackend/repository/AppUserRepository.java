@@ -2,8 +2,12 @@ package com.wiss.quizbackend.repository;
 
 import com.wiss.quizbackend.entity.AppUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +22,9 @@ public interface AppUserRepository extends JpaRepository<AppUser, Long> {
     // Checks if username and email already exists
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Usernames für eine ganze Leaderboard-Seite in EINER Query (statt findById pro Zeile)
+    // Array: [id, username]
+    @Query("SELECT u.id, u.username FROM AppUser u WHERE u.id IN :ids")
+    List<Object[]> findUsernamesByIds(@Param("ids") Collection<Long> ids);
 }
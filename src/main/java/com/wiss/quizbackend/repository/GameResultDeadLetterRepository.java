@@ -0,0 +1,9 @@
+package com.wiss.quizbackend.repository;
+
+import com.wiss.quizbackend.entity.GameResultDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GameResultDeadLetterRepository extends JpaRepository<GameResultDeadLetter, Long> {
+}
@@ -2,9 +2,14 @@ package com.wiss.quizbackend.repository;
 
 import com.wiss.quizbackend.entity.GameSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository für GameSession CRUD-Operationen
@@ -55,4 +60,29 @@ public interface GameSessionRepository
      */
     List<GameSession> findByUserIdAndCategory(Long userId, String category);
 
+    /**
+     * Lädt eine GameSession mit ID UND Partitionsschlüssel, damit PostgreSQL nur die
+     * Monatspartition von played_at liest statt den Index jeder Partition.
+     *
+     * SQL: SELECT * FROM game_sessions WHERE id = ? AND played_at = ?
+     */
+    Optional<GameSession> findByIdAndPlayedAt(Long id, LocalDateTime playedAt);
+
+    /**
+     * Schreibt das Resultat eines beendeten Games, ebenfalls über (id, played_at).
+     * Ein {@code save()} der Entity würde nur über die ID aktualisieren.
+     *
+     * @return Anzahl geänderter Zeilen (0 = Session nicht gefunden)
+     */
+    @Modifying
+    @Query("""
+        UPDATE GameSession s
+        SET s.correctAnswers = :correctAnswers, s.totalScore = :totalScore
+        WHERE s.id = :id AND s.playedAt = :playedAt
+        """)
+    int updateResult(@Param("id") Long id,
+                     @Param("playedAt") LocalDateTime playedAt,
+                     @Param("correctAnswers") int correctAnswers,
+                     @Param("totalScore") int totalScore);
+
 }
\ No newline at end of file
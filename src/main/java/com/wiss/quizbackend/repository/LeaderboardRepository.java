@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 /**
@@ -14,10 +15,30 @@ import java.util.List;
  * Dieses Repository ist spezialisiert auf aggregierte Daten
  * und Statistiken für das Leaderboard.
  * Verwendet GameSession als Entity, aber nur für Leaderboard-Zwecke!
+ * <p>
+ * Alte Monate liegen nicht mehr in {@code game_sessions}, sondern als Summenzeilen in
+ * {@code game_session_archive} (siehe GameSessionPartitionJob). Lebenslange Summen
+ * kombinieren deshalb immer beide Tabellen - als native Query mit UNION ALL, weil das
+ * Archiv keine Entity ist. Live-Daten werden vorher gruppiert, damit die Indizes auf
+ * game_sessions als Index-Only Scan greifen.
+ * </p>
  */
 @Repository
 public interface LeaderboardRepository extends JpaRepository<GameSession, Long> {
 
+    /**
+     * Live-Games und Archiv als gemeinsame Zeilen [user_id, category, games, total_score, best_score].
+     */
+    String LIFETIME_ROWS = """
+        SELECT user_id, category, COUNT(*) AS games, SUM(total_score) AS total_score,
+               MAX(total_score) AS best_score
+        FROM game_sessions
+        GROUP BY user_id, category
+        UNION ALL
+        SELECT user_id, category, games_played, total_score, best_score
+        FROM game_session_archive
+        """;
+
     /**
      * Top 10 Spieler (global)
      * Gruppiert alle GameSessions nach User und summiert den Score.
@@ -25,12 +46,11 @@ public interface LeaderboardRepository extends JpaRepository<GameSession, Long>
      * @param pageable Für LIMIT (PageRequest.of(0, 10))
      * @return Array: [userId, totalScore, gamesPlayed]
      */
-    @Query("""
-        SELECT g.userId, SUM(g.totalScore) as totalScore, COUNT(g.id) as gamesPlayed
-        FROM GameSession g
-        GROUP BY g.userId
-        ORDER BY totalScore DESC
-        """)
+    @Query(value = "SELECT t.user_id, SUM(t.total_score) AS total_score, SUM(t.games) AS games_played "
+            + "FROM (" + LIFETIME_ROWS + ") t "
+            + "GROUP BY t.user_id "
+            + "ORDER BY total_score DESC",
+            nativeQuery = true)
     List<Object[]> findTop10Players(Pageable pageable);
 
     /**
@@ -41,13 +61,12 @@ public interface LeaderboardRepository extends JpaRepository<GameSession, Long>
      * @param pageable Für LIMIT
      * @return Array: [userId, totalScore, gamesPlayed]
      */
-    @Query("""
-        SELECT g.userId, SUM(g.totalScore) as totalScore, COUNT(g.id) as gamesPlayed
-        FROM GameSession g
-        WHERE g.category = :category
-        GROUP BY g.userId
-        ORDER BY totalScore DESC
-        """)
+    @Query(value = "SELECT t.user_id, SUM(t.total_score) AS total_score, SUM(t.games) AS games_played "
+            + "FROM (" + LIFETIME_ROWS + ") t "
+            + "WHERE t.category = :category "
+            + "GROUP BY t.user_id "
+            + "ORDER BY total_score DESC",
+            nativeQuery = true)
     List<Object[]> findTop10PlayersByCategory(
             @Param("category") String category,
             Pageable pageable
@@ -59,7 +78,10 @@ public interface LeaderboardRepository extends JpaRepository<GameSession, Long>
      * @param userId Die User-ID
      * @return Anzahl gespielte Games
      */
-    @Query("SELECT COUNT(g) FROM GameSession g WHERE g.userId = :userId")
+    @Query(value = """
+        SELECT (SELECT COUNT(*) FROM game_sessions WHERE user_id = :userId)
+             + (SELECT COALESCE(SUM(games_played), 0) FROM game_session_archive WHERE user_id = :userId)
+        """, nativeQuery = true)
     Long countGamesByUser(@Param("userId") Long userId);
 
     /**
@@ -68,7 +90,8 @@ public interface LeaderboardRepository extends JpaRepository<GameSession, Long>
      * @param userId Die User-ID
      * @return Total Score über alle Games
      */
-    @Query("SELECT SUM(g.totalScore) FROM GameSession g WHERE g.userId = :userId")
+    @Query(value = "SELECT SUM(t.total_score) FROM (" + LIFETIME_ROWS + ") t WHERE t.user_id = :userId",
+            nativeQuery = true)
     Integer sumScoreByUser(@Param("userId") Long userId);
 
     /**
@@ -77,7 +100,9 @@ public interface LeaderboardRepository extends JpaRepository<GameSession, Long>
      * @param userId Die User-ID
      * @return Durchschnittlicher Score
      */
-    @Query("SELECT AVG(g.totalScore) FROM GameSession g WHERE g.userId = :userId")
+    @Query(value = "SELECT CAST(SUM(t.total_score) AS DOUBLE PRECISION) / NULLIF(SUM(t.games), 0) "
+            + "FROM (" + LIFETIME_ROWS + ") t WHERE t.user_id = :userId",
+            nativeQuery = true)
     Double averageScoreByUser(@Param("userId") Long userId);
 
     /**
@@ -86,11 +111,38 @@ public interface LeaderboardRepository extends JpaRepository<GameSession, Long>
      *
      * @return Array: [category, count]
      */
-    @Query("""
-        SELECT g.category, COUNT(g.id) as count
-        FROM GameSession g
-        GROUP BY g.category
-        ORDER BY count DESC
-        """)
+    @Query(value = "SELECT t.category, SUM(t.games) AS games_count "
+            + "FROM (" + LIFETIME_ROWS + ") t "
+            + "GROUP BY t.category "
+            + "ORDER BY games_count DESC",
+            nativeQuery = true)
     List<Object[]> countGamesByCategory();
-}
\ No newline at end of file
+
+    /**
+     * Summen pro User und Kategorie - Basis für den In-Memory LeaderboardEngine.
+     * Wird nur beim Start (bzw. bei einem Reseed) ausgeführt.
+     *
+     * @return Array: [userId, category, totalScore, gamesPlayed]
+     */
+    @Query(value = "SELECT t.user_id, t.category, SUM(t.total_score), SUM(t.games) "
+            + "FROM (" + LIFETIME_ROWS + ") t "
+            + "GROUP BY t.user_id, t.category",
+            nativeQuery = true)
+    List<Object[]> aggregateScoresByUserAndCategory();
+
+    /**
+     * Summen pro User, Kategorie und Stunde - Basis für den WindowedLeaderboard.
+     * Das Archiv braucht es nicht: es enthält nur Monate ausserhalb aller Zeitfenster.
+     *
+     * @param since Ältester Zeitpunkt (Start des ältesten Buckets)
+     * @return Array: [userId, category, hour, gamesPlayed, totalScore]
+     */
+    @Query(value = """
+        SELECT user_id, category, date_trunc('hour', played_at) AS hour, COUNT(*), SUM(total_score)
+        FROM game_sessions
+        WHERE played_at >= :since
+        GROUP BY user_id, category, date_trunc('hour', played_at)
+        """, nativeQuery = true)
+    List<Object[]> aggregateScoresByUserCategoryAndHour(@Param("since") Timestamp since);
+
+}
@@ -1,11 +1,14 @@
 package com.wiss.quizbackend.repository;
 
 import com.wiss.quizbackend.entity.Question;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,8 +23,16 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     // - long count()                               ← COUNT all
     // Plus noch viele mehr: saveAll, findAllById, deleteAll... +20 Methoden
 
+    // Listen laden die Antworten (ElementCollection) und den Ersteller über den
+    // Entity Graph gleich mit - sonst löst der QuestionMapper pro Frage eine Query aus (N+1)
+    @Override
+    @EntityGraph(Question.WITH_ANSWERS)
+    List<Question> findAll();
+
     // Custom Query Methods (basierend auf Methoden-Namen):
+    @EntityGraph(Question.WITH_ANSWERS)
     List<Question> findByCategory(String category);
+    @EntityGraph(Question.WITH_ANSWERS)
     List<Question> findByDifficulty(String difficulty);
 
     // Spring übersetzt automatisch:
@@ -29,11 +40,13 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     // findByDifficulty → SELECT * FROM questions WHERE difficulty = ?
 
     // Kombinierte Queries:
+    @EntityGraph(Question.WITH_ANSWERS)
     List<Question> findByCategoryAndDifficulty(String category, String difficulty);
     List<Question> findByCategoryOrDifficulty(String category, String difficulty);
 
     // Text-Suche:
     List<Question> findByQuestionContaining(String keyword);
+    @EntityGraph(Question.WITH_ANSWERS)
     List<Question> findByQuestionContainingIgnoreCase(String keyword);
 
     // Counting:
@@ -52,7 +65,73 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findTop5ByCategory(String category);
     List<Question> findFirst3ByDifficultyOrderByIdAsc(String difficulty);
 
-    // Random
+    // Katalog: alle Fragen inkl. Antworten und Ersteller in EINER Query (für QuestionCatalog)
+    @EntityGraph(Question.WITH_ANSWERS)
+    @Query("SELECT q FROM Question q ORDER BY q.id")
+    List<Question> findAllForCatalog();
+
+    // Keyset-Pagination für das Streaming (ndjson): flache Projektion, damit keine
+    // Entities im Persistence Context hängen bleiben - der Server hält nur eine Seite.
+    /**
+     * Eine Seite Fragen mit ID grösser als {@code afterId}, optional gefiltert.
+     *
+     * @param pageable Nur für LIMIT (PageRequest.of(0, size))
+     * @return Array: [id, question, correctAnswer, category, difficulty, creatorId, creatorUsername]
+     */
+    @Query("""
+        SELECT q.id, q.question, q.correctAnswer, q.category, q.difficulty, u.id, u.username
+        FROM Question q
+        LEFT JOIN q.createdBy u
+        WHERE q.id > :afterId
+          AND (:category IS NULL OR q.category = :category)
+          AND (:difficulty IS NULL OR q.difficulty = :difficulty)
+        ORDER BY q.id
+        """)
+    List<Object[]> findPageAfter(@Param("afterId") Long afterId,
+                                 @Param("category") String category,
+                                 @Param("difficulty") String difficulty,
+                                 Pageable pageable);
+
+    /**
+     * Falsche Antworten zu einer Seite Fragen (eine Query pro Seite).
+     *
+     * @return Array: [questionId, incorrectAnswer]
+     */
+    @Query("SELECT q.id, a FROM Question q JOIN q.incorrectAnswers a WHERE q.id IN :ids")
+    List<Object[]> findIncorrectAnswersByQuestionIds(@Param("ids") Collection<Long> ids);
+
+    // Delta-Sync (GET /api/questions/changes): geänderte Fragen eines Bereichs (since, until]
+    @EntityGraph(Question.WITH_ANSWERS)
+    @Query("SELECT q FROM Question q WHERE q.changeSeq > :since AND q.changeSeq <= :until ORDER BY q.changeSeq, q.id")
+    List<Question> findChangedBetween(@Param("since") long since, @Param("until") long until);
+
+    /**
+     * Nummer der {@code offset}-ten Änderung (0-basiert) nach {@code since}, über Fragen und
+     * Tombstones zusammen - bestimmt das Ende einer Sync-Seite.
+     *
+     * @return Die Nummer, oder {@code null} wenn es weniger Änderungen gibt
+     */
+    @Query(value = """
+        SELECT c.change_seq FROM (
+            SELECT change_seq FROM questions WHERE change_seq > :since AND change_seq <= :until
+            UNION ALL
+            SELECT change_seq FROM question_tombstones WHERE change_seq > :since AND change_seq <= :until
+        ) c
+        ORDER BY c.change_seq
+        LIMIT 1 OFFSET :offset
+        """, nativeQuery = true)
+    Long findChangeSeqAt(@Param("since") long since, @Param("until") long until, @Param("offset") int offset);
+
+    // Höchste vergebene und committete Änderungsnummer (Fragen und Tombstones)
+    @Query(value = """
+        SELECT GREATEST(
+            COALESCE((SELECT MAX(change_seq) FROM questions), 0),
+            COALESCE((SELECT MAX(change_seq) FROM question_tombstones), 0))
+        """, nativeQuery = true)
+    Long findMaxChangeSeq();
+
+    // Random (nur noch Referenz für den RandomSamplingBenchmark -
+    // der QuestionService zieht Zufallsfragen über QuestionCatalog.findRandom)
     @Query(value = "SELECT * FROM questions WHERE category = :category ORDER BY RANDOM() LIMIT :limit",
             nativeQuery = true)
     List<Question> findRandomByCategory(@Param("category") String category, @Param("limit") int limit);
@@ -0,0 +1,28 @@
+package com.wiss.quizbackend.repository;
+
+import com.wiss.quizbackend.entity.QuestionTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface QuestionTombstoneRepository extends JpaRepository<QuestionTombstone, Long> {
+
+    // Gelöschte Fragen eines Sync-Bereichs (since, until], älteste Änderung zuerst
+    @Query("SELECT t FROM QuestionTombstone t WHERE t.changeSeq > :since AND t.changeSeq <= :until "
+            + "ORDER BY t.changeSeq, t.questionId")
+    List<QuestionTombstone> findChangedBetween(@Param("since") long since, @Param("until") long until);
+
+    // Für die Kompaktierung: höchste Nummer, die mit den alten Tombstones verschwindet
+    @Query("SELECT MAX(t.changeSeq) FROM QuestionTombstone t WHERE t.deletedAt < :cutoff")
+    Long findMaxChangeSeqDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM QuestionTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
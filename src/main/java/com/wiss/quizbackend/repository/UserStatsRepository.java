@@ -0,0 +1,52 @@
+package com.wiss.quizbackend.repository;
+
+import com.wiss.quizbackend.entity.UserStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    // Zeile sperren (SELECT ... FOR UPDATE), damit parallele Games desselben Users
+    // sich beim Hochzählen nicht gegenseitig überschreiben
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserStats s WHERE s.userId = :userId")
+    Optional<UserStats> findByIdForUpdate(@Param("userId") Long userId);
+
+    /**
+     * Summen eines Users pro Kategorie aus game_sessions plus Archiv (nur für den Backfill).
+     *
+     * @return Array: [category, gamesPlayed, totalScore, bestScore]
+     */
+    @Query(value = """
+        SELECT t.category, SUM(t.games), SUM(t.total_score), MAX(t.best_score)
+        FROM (
+            SELECT category, COUNT(*) AS games, SUM(total_score) AS total_score, MAX(total_score) AS best_score
+            FROM game_sessions
+            WHERE user_id = :userId
+            GROUP BY category
+            UNION ALL
+            SELECT category, games_played, total_score, best_score
+            FROM game_session_archive
+            WHERE user_id = :userId
+        ) t
+        GROUP BY t.category
+        """, nativeQuery = true)
+    List<Object[]> aggregateSessionsByCategory(@Param("userId") Long userId);
+
+    // Alle User mit mindestens einem Game, live oder archiviert (nur für den Backfill)
+    @Query(value = """
+        SELECT user_id FROM game_sessions
+        UNION
+        SELECT user_id FROM game_session_archive
+        ORDER BY user_id
+        """, nativeQuery = true)
+    List<Long> findUserIdsWithSessions();
+}
@@ -0,0 +1,594 @@
+package com.wiss.quizbackend.search;
+
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.event.QuestionChangedEvent;
+import com.wiss.quizbackend.event.QuestionsImportedEvent;
+import com.wiss.quizbackend.service.QuestionCatalog;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-Memory Volltext-Index (invertierter Index) über Fragetext und Antworten.
+ * <p>
+ * Ersetzt {@code LOWER(question) LIKE '%x%'}, das keinen Index nutzen kann. Jede Frage
+ * ist ein Dokument mit fortlaufender Nummer (Ordinal). Pro Term gibt es eine Posting-Liste
+ * mit den Ordinals (aufsteigend) und der Häufigkeit des Terms im Dokument.
+ * </p>
+ * <ul>
+ *   <li>Tokenisierung für Deutsch und Englisch: siehe {@link SearchTokenizer}</li>
+ *   <li>Ranking mit BM25 (k1 = 1.2, b = 0.75)</li>
+ *   <li>Das letzte Suchwort wird zusätzlich als Präfix gesucht ("Schwe" findet "Schweiz")</li>
+ *   <li>Suche arbeitet Dokument für Dokument über alle Posting-Listen gleichzeitig und behält
+ *       nur die besten {@code offset + limit} Treffer in einem Heap. Mit MaxScore-Pruning
+ *       werden Dokumente übersprungen, die den Heap nicht mehr erreichen können.</li>
+ *   <li>Die Gesamtanzahl Treffer ist bis {@value #TOTAL_HITS_THRESHOLD} exakt, darüber eine
+ *       untere Schranke (wie bei Lucene)</li>
+ * </ul>
+ * <p>
+ * Der Index wird einmal aus dem {@link QuestionCatalog} aufgebaut und danach über
+ * {@link QuestionChangedEvent}s inkrementell nachgeführt: Gelöschte Dokumente werden nur
+ * markiert und beim Suchen übersprungen. Sind zu viele markiert, wird der Index kompaktiert.
+ * </p>
+ */
+@Component
+public class QuestionSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int COMPACTION_MIN_DELETED = 1_000;
+    static final int TOTAL_HITS_THRESHOLD = 1_000;
+
+    private final QuestionCatalog catalog;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Sortiertes Term-Verzeichnis, damit Präfixe per subMap gefunden werden
+    private final NavigableMap<String, Postings> dictionary = new TreeMap<>();
+    private final Map<Long, Integer> docByQuestionId = new HashMap<>();
+    private final BitSet deletedDocs = new BitSet();
+    private Document[] documents = new Document[1024];
+    private int docCount;          // vergebene Ordinals (inkl. gelöschte)
+    private int deletedCount;
+    private int liveDocCount;
+    private long liveTermCount;    // Summe aller Dokumentlängen, für die mittlere Länge (avgdl)
+    private volatile boolean built;
+
+    public QuestionSearchIndex(QuestionCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Baut den Index beim Start auf (nach dem Katalog).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(10)
+    public void warmUp() {
+        ensureBuilt();
+    }
+
+    /**
+     * Sucht Fragen und liefert die IDs der besten Treffer, sortiert nach Relevanz.
+     *
+     * @param query Der Suchbegriff (ein oder mehrere Wörter)
+     * @param offset Anzahl Treffer, die übersprungen werden (für Paging)
+     * @param limit Maximale Anzahl zurückgegebener Treffer
+     * @return Die Treffer der Seite und die Gesamtanzahl Treffer
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            List<Postings> postings = resolveTerms(query);
+            if (postings.isEmpty() || limit <= 0) {
+                return new SearchHits(List.of(), 0);
+            }
+            return score(postings, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Führt den Index nach dem Commit nach. Läuft nach dem QuestionCatalog (Order 0),
+     * damit ein gleichzeitiger Erstaufbau die Änderung schon im Katalog sieht.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(10)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                return;  // Erstaufbau liest später den aktuellen Katalog
+            }
+            remove(event.getQuestionId());
+            if (event.getType() != QuestionChangedEvent.Type.DELETED) {
+                add(event.getQuestion());
+            }
+            if (deletedCount >= COMPACTION_MIN_DELETED && deletedCount > liveDocCount / 4) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Nimmt einen ganzen Import-Chunk unter einem einzigen Write-Lock auf.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(10)
+    public void onQuestionsImported(QuestionsImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                return;
+            }
+            for (Question question : event.getQuestions()) {
+                remove(question.getId());
+                add(question);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Baut den Index komplett neu aus dem aktuellen Katalog auf.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (Question question : catalog.findAll()) {
+                add(question);
+            }
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureBuilt() {
+        if (!built) {
+            lock.writeLock().lock();
+            try {
+                if (!built) {
+                    rebuild();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // ==================== Suche ====================
+
+    private List<Postings> resolveTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>(SearchTokenizer.tokenize(query));
+
+        // Letztes Wort auch als Präfix suchen (Type-Ahead wie beim früheren LIKE '%x%').
+        // Die Terme im Verzeichnis sind gestemmt - der Präfix muss es auch sein, sonst findet
+        // "Staedte" den Term "staedt" nicht.
+        List<String> words = SearchTokenizer.words(query);
+        if (!words.isEmpty()) {
+            String prefix = SearchTokenizer.stem(words.getLast());
+            if (prefix.length() >= MIN_PREFIX_LENGTH) {
+                Collection<String> expansions = dictionary
+                        .subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                        .keySet();
+                expansions.stream().limit(MAX_PREFIX_EXPANSIONS).forEach(terms::add);
+            }
+        }
+
+        List<Postings> postings = new ArrayList<>();
+        for (String term : terms) {
+            Postings p = dictionary.get(term);
+            if (p != null && p.liveDocFrequency > 0) {
+                postings.add(p);
+            }
+        }
+        return postings;
+    }
+
+    /**
+     * BM25-Ranking mit MaxScore-Pruning.
+     * <p>
+     * Pro Term gibt es eine obere Schranke seines Beitrags (maximale Häufigkeit, kürzest
+     * mögliches Dokument). Die Terme werden nach Schranke sortiert. Ist der Heap voll, kann
+     * ein Dokument, das nur Terme mit zusammen {@code <= } Heap-Minimum enthält, nicht mehr
+     * hineinkommen: Diese Terme sind "nicht essentiell", ihre Listen liefern keine Kandidaten
+     * mehr und werden nur noch für Kandidaten aus den übrigen Listen nachgeschlagen - und auch
+     * das nur, solange der Kandidat die Schwelle noch erreichen kann.
+     * </p>
+     * Die Gesamtanzahl Treffer wird deshalb separat gezählt ({@link #countHits}), ausser der Heap
+     * wurde nie voll - dann wurde jeder Treffer bewertet.
+     */
+    private SearchHits score(List<Postings> postings, int offset, int limit) {
+        int termCount = postings.size();
+        double avgLength = liveDocCount == 0 ? 1.0 : (double) liveTermCount / liveDocCount;
+
+        // Nach oberer Schranke aufsteigend sortieren
+        List<Postings> sorted = new ArrayList<>(postings);
+        sorted.sort(Comparator.comparingDouble(p -> upperBound(p, idf(p))));
+        Postings[] lists = new Postings[termCount];
+        double[] idf = new double[termCount];
+        // cumulativeBound[t] = Summe der Schranken der Terme 0..t
+        double[] cumulativeBound = new double[termCount];
+        double sum = 0;
+        for (int t = 0; t < termCount; t++) {
+            lists[t] = sorted.get(t);
+            idf[t] = idf(lists[t]);
+            sum += upperBound(lists[t], idf[t]);
+            cumulativeBound[t] = sum;
+        }
+
+        int keep = offset + limit;
+        // Min-Heap: schlechtester Treffer oben, damit er verdrängt werden kann
+        PriorityQueue<ScoredDoc> best = new PriorityQueue<>(keep + 1, WORST_FIRST);
+        int[] cursor = new int[termCount];
+        double[] contribution = new double[termCount];
+        int firstEssential = 0;     // Terme davor liefern keine Kandidaten mehr
+        double threshold = 0;       // Heap-Minimum, gilt erst bei vollem Heap
+
+        while (true) {
+            // Kleinstes nicht gelöschtes Ordinal über die essentiellen Posting-Listen finden
+            int doc = Integer.MAX_VALUE;
+            for (int t = firstEssential; t < termCount; t++) {
+                Postings p = lists[t];
+                while (cursor[t] < p.size && deletedDocs.get(p.docs[cursor[t]])) {
+                    cursor[t]++;
+                }
+                if (cursor[t] < p.size) {
+                    doc = Math.min(doc, p.docs[cursor[t]]);
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+
+            double norm = K1 * (1 - B + B * documents[doc].length / avgLength);
+            double partial = 0;
+            for (int t = firstEssential; t < termCount; t++) {
+                Postings p = lists[t];
+                contribution[t] = 0;
+                if (cursor[t] < p.size && p.docs[cursor[t]] == doc) {
+                    int tf = p.freqs[cursor[t]];
+                    contribution[t] = idf[t] * (tf * (K1 + 1)) / (tf + norm);
+                    partial += contribution[t];
+                    cursor[t]++;
+                }
+            }
+
+            // Nicht essentielle Terme nachschlagen, grösste Schranke zuerst
+            boolean full = best.size() == keep;
+            boolean hopeless = false;
+            for (int t = firstEssential - 1; t >= 0; t--) {
+                if (full && partial + cumulativeBound[t] <= threshold) {
+                    hopeless = true;
+                    break;
+                }
+                Postings p = lists[t];
+                contribution[t] = 0;
+                cursor[t] = advance(p, cursor[t], doc);
+                if (cursor[t] < p.size && p.docs[cursor[t]] == doc) {
+                    int tf = p.freqs[cursor[t]];
+                    contribution[t] = idf[t] * (tf * (K1 + 1)) / (tf + norm);
+                    partial += contribution[t];
+                    cursor[t]++;
+                }
+            }
+            if (hopeless) {
+                continue;
+            }
+
+            // Immer in derselben Reihenfolge summieren: gleiche Dokumente bekommen bit-genau
+            // denselben Score, egal wie viele Terme beim Besuch gerade essentiell waren
+            double score = 0;
+            for (int t = 0; t < termCount; t++) {
+                score += contribution[t];
+            }
+
+            // Neue Dokumente haben immer das höchste Ordinal und verlieren Gleichstände:
+            // erst vergleichen, dann allozieren
+            if (full && score <= threshold) {
+                continue;
+            }
+            if (full) {
+                best.poll();
+            }
+            best.add(new ScoredDoc(doc, score));
+
+            if (best.size() == keep) {
+                threshold = best.peek().score;
+                while (firstEssential < termCount && cumulativeBound[firstEssential] <= threshold) {
+                    firstEssential++;
+                }
+            }
+        }
+
+        List<ScoredDoc> ranked = new ArrayList<>(best);
+        ranked.sort(WORST_FIRST.reversed());
+
+        List<Long> questionIds = new ArrayList<>(limit);
+        for (int i = offset; i < ranked.size(); i++) {
+            questionIds.add(documents[ranked.get(i).doc].questionId);
+        }
+        if (best.size() < keep) {
+            return new SearchHits(questionIds, best.size(), true);
+        }
+        if (termCount == 1) {
+            return new SearchHits(questionIds, postings.get(0).liveDocFrequency, true);
+        }
+
+        long counted = countHits(lists, TOTAL_HITS_THRESHOLD);
+        if (counted < TOTAL_HITS_THRESHOLD) {
+            return new SearchHits(questionIds, counted, true);
+        }
+        // Mindestens so viele Treffer wie der häufigste Term allein
+        long atLeast = counted;
+        for (Postings p : lists) {
+            atLeast = Math.max(atLeast, p.liveDocFrequency);
+        }
+        return new SearchHits(questionIds, atLeast, false);
+    }
+
+    private double idf(Postings p) {
+        int df = p.liveDocFrequency;
+        return Math.log(1 + (liveDocCount - df + 0.5) / (df + 0.5));
+    }
+
+    // Beitrag steigt mit tf und sinkt mit der Dokumentlänge: maxFreq bei Länge 0 ist die Schranke
+    private static double upperBound(Postings p, double idf) {
+        return idf * (p.maxFreq * (K1 + 1)) / (p.maxFreq + K1 * (1 - B));
+    }
+
+    /**
+     * Erste Position ab {@code from}, deren Ordinal {@code >= target} ist (exponentiell, dann binär).
+     */
+    private static int advance(Postings p, int from, int target) {
+        if (from >= p.size || p.docs[from] >= target) {
+            return from;
+        }
+        int step = 1;
+        int low = from;
+        int high = from + step;
+        while (high < p.size && p.docs[high] < target) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        high = Math.min(high, p.size);
+        // p.docs[low] < target, Ergebnis liegt in (low, high]
+        int index = Arrays.binarySearch(p.docs, low + 1, high, target);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Anzahl nicht gelöschter Dokumente, die mindestens einen der Terme enthalten - zählt aber
+     * höchstens bis {@code max}. Ein exaktes Total über alle Posting-Listen wäre O(alle Postings)
+     * und würde das Pruning wieder aufheben; so bleibt es bei O(max * Terme), ohne Allokation.
+     */
+    private long countHits(Postings[] lists, int max) {
+        int[] cursor = new int[lists.length];
+        long count = 0;
+        while (count < max) {
+            int doc = Integer.MAX_VALUE;
+            for (int t = 0; t < lists.length; t++) {
+                if (cursor[t] < lists[t].size) {
+                    doc = Math.min(doc, lists[t].docs[cursor[t]]);
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+            for (int t = 0; t < lists.length; t++) {
+                if (cursor[t] < lists[t].size && lists[t].docs[cursor[t]] == doc) {
+                    cursor[t]++;
+                }
+            }
+            if (!deletedDocs.get(doc)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // ==================== Pflege (nur unter Write-Lock) ====================
+
+    private void add(Question question) {
+        List<String> terms = new ArrayList<>(SearchTokenizer.tokenize(question.getQuestion()));
+        terms.addAll(SearchTokenizer.tokenize(question.getCorrectAnswer()));
+        if (question.getIncorrectAnswers() != null) {
+            for (String answer : question.getIncorrectAnswers()) {
+                terms.addAll(SearchTokenizer.tokenize(answer));
+            }
+        }
+
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+
+        Document document = new Document(question.getId(), terms.size(), frequencies);
+        index(document);
+    }
+
+    private void index(Document document) {
+        int doc = docCount++;
+        if (doc == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        documents[doc] = document;
+        docByQuestionId.put(document.questionId, doc);
+
+        for (int i = 0; i < document.terms.length; i++) {
+            dictionary.computeIfAbsent(document.terms[i], term -> new Postings())
+                    .add(doc, document.freqs[i]);
+        }
+        liveDocCount++;
+        liveTermCount += document.length;
+    }
+
+    private void remove(Long questionId) {
+        Integer doc = docByQuestionId.remove(questionId);
+        if (doc == null) {
+            return;
+        }
+
+        Document document = documents[doc];
+        for (String term : document.terms) {
+            Postings postings = dictionary.get(term);
+            if (--postings.liveDocFrequency == 0) {
+                dictionary.remove(term);  // enthält nur noch gelöschte Dokumente
+            }
+        }
+
+        deletedDocs.set(doc);
+        documents[doc] = null;
+        deletedCount++;
+        liveDocCount--;
+        liveTermCount -= document.length;
+    }
+
+    /**
+     * Vergibt die Ordinals neu und baut die Posting-Listen ohne gelöschte Dokumente auf.
+     * Die Terme werden dabei nicht neu berechnet.
+     */
+    private void compact() {
+        List<Document> live = new ArrayList<>(liveDocCount);
+        for (int doc = 0; doc < docCount; doc++) {
+            if (documents[doc] != null) {
+                live.add(documents[doc]);
+            }
+        }
+        clear();
+        live.forEach(this::index);
+    }
+
+    private void clear() {
+        dictionary.clear();
+        docByQuestionId.clear();
+        deletedDocs.clear();
+        documents = new Document[Math.max(1024, Integer.highestOneBit(Math.max(1, liveDocCount)) * 2)];
+        docCount = 0;
+        deletedCount = 0;
+        liveDocCount = 0;
+        liveTermCount = 0;
+    }
+
+    // ==================== Datenstrukturen ====================
+
+    private static final Comparator<ScoredDoc> WORST_FIRST = Comparator
+            .comparingDouble((ScoredDoc scored) -> scored.score)
+            .thenComparing(scored -> scored.doc, Comparator.reverseOrder());
+
+    private static final class ScoredDoc {
+        final int doc;
+        final double score;
+
+        ScoredDoc(int doc, double score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+
+    private static final class Document {
+        final long questionId;
+        final int length;
+        final String[] terms;
+        final int[] freqs;
+
+        Document(long questionId, int length, Map<String, Integer> frequencies) {
+            this.questionId = questionId;
+            this.length = length;
+            this.terms = new String[frequencies.size()];
+            this.freqs = new int[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                terms[i] = entry.getKey();
+                freqs[i] = entry.getValue();
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Posting-Liste eines Terms: Ordinals aufsteigend (neue Dokumente bekommen immer
+     * das nächsthöhere Ordinal) plus Häufigkeit des Terms im jeweiligen Dokument.
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+        int liveDocFrequency;
+        int maxFreq;   // für die obere Score-Schranke, sinkt beim Löschen nicht (bleibt gültig)
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+            liveDocFrequency++;
+            maxFreq = Math.max(maxFreq, freq);
+        }
+    }
+
+    /**
+     * Resultat einer Suche: IDs der Treffer auf der angefragten Seite (beste zuerst)
+     * und die Gesamtanzahl aller Treffer.
+     */
+    public static final class SearchHits {
+        private final List<Long> questionIds;
+        private final long totalHits;
+        private final boolean totalHitsExact;
+
+        public SearchHits(List<Long> questionIds, long totalHits) {
+            this(questionIds, totalHits, true);
+        }
+
+        public SearchHits(List<Long> questionIds, long totalHits, boolean totalHitsExact) {
+            this.questionIds = questionIds;
+            this.totalHits = totalHits;
+            this.totalHitsExact = totalHitsExact;
+        }
+
+        public List<Long> getQuestionIds() {
+            return questionIds;
+        }
+
+        /**
+         * Gesamtanzahl Treffer; bei {@code !isTotalHitsExact()} eine untere Schranke.
+         */
+        public long getTotalHits() {
+            return totalHits;
+        }
+
+        public boolean isTotalHitsExact() {
+            return totalHitsExact;
+        }
+    }
+}
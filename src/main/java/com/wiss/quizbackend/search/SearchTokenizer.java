@@ -0,0 +1,103 @@
+package com.wiss.quizbackend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Zerlegt Fragetexte und Suchbegriffe in normalisierte Terme (Deutsch + Englisch).
+ * <p>
+ * Schritte pro Wort:
+ * </p>
+ * <ol>
+ *   <li>Kleinschreibung und Umlaute falten (ä → ae, ö → oe, ü → ue, ß → ss),
+ *       damit "Zürich" und "Zuerich" gleich behandelt werden</li>
+ *   <li>Übrige Akzente entfernen (é → e)</li>
+ *   <li>Häufige Stoppwörter (der, die, the, of, ...) weglassen</li>
+ *   <li>Leichtes Stemming: typische Endungen abschneiden (Städte → staedt, capitals → capital)</li>
+ * </ol>
+ * Dokumente und Suchanfragen laufen durch denselben Tokenizer, dadurch passen die Terme zusammen.
+ */
+public final class SearchTokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            // Deutsch
+            "der", "die", "das", "den", "dem", "des", "ein", "eine", "einer", "eines", "einem", "einen",
+            "und", "oder", "ist", "sind", "war", "wer", "wie", "was", "wo", "welche", "welcher", "welches",
+            "im", "in", "am", "an", "auf", "aus", "bei", "mit", "von", "vom", "zu", "zum", "zur", "fuer",
+            "hat", "hatte", "heisst", "nicht", "es", "sich",
+            // Englisch
+            "the", "a", "and", "or", "is", "are", "were", "who", "what", "which", "where",
+            "how", "of", "on", "at", "to", "for", "by", "with", "from", "does", "did", "it"
+    );
+
+    // Längste Endungen zuerst, damit "ungen" vor "en" greift
+    private static final String[] SUFFIXES = {
+            "ungen", "ung", "ies", "ern", "en", "er", "es", "em", "e", "s", "n"
+    };
+
+    private static final int MIN_STEM_LENGTH = 4;
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * Zerlegt einen Text in Terme (inkl. Stoppwort-Filter und Stemming).
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String word : words(text)) {
+            if (!STOP_WORDS.contains(word)) {
+                terms.add(stem(word));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Zerlegt einen Text in normalisierte Wörter OHNE Stemming und ohne Stoppwort-Filter.
+     * Wird für die Präfix-Suche des letzten Suchworts verwendet ("Schwe" → "schweiz").
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return words;
+        }
+
+        String normalized = fold(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letterOrDigit = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    static String stem(String word) {
+        for (String suffix : SUFFIXES) {
+            if (word.endsWith(suffix) && word.length() - suffix.length() >= MIN_STEM_LENGTH) {
+                String stem = word.substring(0, word.length() - suffix.length());
+                return suffix.equals("ies") ? stem + "y" : stem;
+            }
+        }
+        return word;
+    }
+
+    private static String fold(String text) {
+        String lower = Normalizer.normalize(text, Normalizer.Form.NFC)
+                .toLowerCase(Locale.ROOT)
+                .replace("ä", "ae")
+                .replace("ö", "oe")
+                .replace("ü", "ue")
+                .replace("ß", "ss");
+        // Restliche Akzente (é, à, ç, ...) als Basisbuchstabe + Combining Mark zerlegen und entfernen
+        return Normalizer.normalize(lower, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+}
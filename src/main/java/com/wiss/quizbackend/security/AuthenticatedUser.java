@@ -0,0 +1,63 @@
+package com.wiss.quizbackend.security;
+
+import com.wiss.quizbackend.entity.AppUser;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Schlanker, unveränderbarer Principal für authentifizierte Requests.
+ * <p>
+ * Enthält im Gegensatz zur AppUser-Entity auch die User-ID direkt: Controller bekommen
+ * sie über {@code @AuthenticationPrincipal AuthenticatedUser user} und müssen den User
+ * nicht nochmals per Username aus der Datenbank laden. Wird im PrincipalCache gehalten.
+ * </p>
+ */
+public final class AuthenticatedUser implements UserDetails {
+
+    private final Long userId;
+    private final String username;
+    private final String password;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long userId, String username, String password,
+                             Collection<? extends GrantedAuthority> authorities) {
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    /**
+     * Erstellt den Principal aus einer (gerade geladenen) AppUser-Entity.
+     */
+    public static AuthenticatedUser from(AppUser user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(), user.getAuthorities());
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{userId=" + userId + ", username='" + username + "'}";
+    }
+}
@@ -1,6 +1,7 @@
 package com.wiss.quizbackend.security;
 
 import com.wiss.quizbackend.service.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * JWT Authentication Filter - Das "Ausweis-Lesegerät" unserer Applikation
@@ -21,7 +23,7 @@ import java.io.IOException;
  * Dieser Filter wird bei JEDEM Request ausgeführt und macht folgendes:
  * 1. Schaut, ob ein JWT Token im Authorization Header ist
  * 2. Validiert den Token (Signatur, Ablaufdatum)
- * 3. Lädt den User aus der Datenbank
+ * 3. Lädt den User (aus dem PrincipalCache, sonst aus der Datenbank)
  * 4. Setzt den User in den SecurityContext (Spring weiss jetzt: User ist eingeloggt!)
  * </p>
  * Analogie: Das Ausweis-Lesegerät am Aufzug
@@ -77,9 +79,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // "Bearer eyJhbGc..." → "eyJhbGc..." (ohne "Bearer ")
         final String jwt = authHeader.substring(7);
 
-        // SCHRITT 4: Username aus dem Token extrahieren
+        // SCHRITT 4: Token validieren (Signatur + Ablaufdatum) - EIN Parse pro Request
+        final Optional<Claims> claims = jwtService.verifyToken(jwt);
+        if (claims.isEmpty()) {
+            // Ungültiger oder abgelaufener Token → nicht authentifiziert weiter
+            // (geschützte Endpoints antworten dann mit 401/403)
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Username aus den verifizierten Claims
         // Der Token enthält im Payload: { "sub": "testuser", ... }
-        final String username = jwtService.extractUsername(jwt);
+        final String username = claims.get().getSubject();
 
         // SCHRITT 5: Prüfen ob User existiert UND
         // noch nicht authentifiziert ist
@@ -90,13 +101,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 .getContext()
                 .getAuthentication() == null) {
 
-            // SCHRITT 6: User-Details aus Datenbank laden
-            // UserDetailsService ruft AppUserRepository.findByUsername() auf
+            // SCHRITT 6: User-Details laden
+            // UserDetailsService liefert sie aus dem PrincipalCache, nur bei einem
+            // Cache-Miss wird AppUserRepository.findByUsername() aufgerufen
             UserDetails userDetails = userDetailsService
                     .loadUserByUsername(username);
 
-            // SCHRITT 7: Token validieren (Signatur + Ablaufdatum prüfen)
-            if (jwtService.validateToken(jwt, username)) {
+            // SCHRITT 7: Token wurde in SCHRITT 4 schon verifiziert
+            // → nur noch prüfen, ob der geladene User zum Token passt
+            // (gleiche User-ID: ein gelöschter und neu registrierter User
+            // mit demselben Username darf den alten Token nicht verwenden)
+            if (username.equals(userDetails.getUsername())
+                    && matchesUserId(claims.get(), userDetails)) {
 
                 // SCHRITT 8: Authentication Object erstellen
                 // Das ist wie ein "interner Ausweis" für Spring Security
@@ -127,4 +143,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // der Request geht jetzt weiter zu SecurityConfig, dann zum Controller
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Prüft die User-ID aus dem Token gegen den geladenen User.
+     * Ältere Tokens ohne userId-Claim bleiben bis zu ihrem Ablauf gültig.
+     */
+    private boolean matchesUserId(Claims claims, UserDetails userDetails) {
+        Long tokenUserId = claims.get(JwtService.USER_ID_CLAIM, Long.class);
+        if (tokenUserId == null || !(userDetails instanceof AuthenticatedUser user)) {
+            return true;
+        }
+        return tokenUserId.equals(user.getUserId());
+    }
 }
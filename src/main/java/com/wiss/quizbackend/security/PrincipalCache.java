@@ -0,0 +1,119 @@
+package com.wiss.quizbackend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache für geladene Principals (UserDetails) - vor dem AppUserDetailsService.
+ * <p>
+ * Der JwtAuthenticationFilter braucht bei jedem Request die Rollen des Users.
+ * Diese ändern sich selten, deshalb werden sie für {@code security.principal-cache.ttl-seconds}
+ * im Speicher gehalten. Die Grösse ist auf {@code security.principal-cache.max-size} begrenzt;
+ * Caffeine verdrängt dann die am wenigsten genutzten Einträge in O(1).
+ * </p>
+ * <p>
+ * Wer Passwort oder Rolle eines Users ändert, ruft {@link #invalidate(String)} auf. Ein Laden,
+ * das währenddessen noch den alten Stand gelesen hat, landet nicht mehr im Cache - sonst
+ * gälte der alte Stand bis zum Ablauf der TTL.
+ * </p>
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    // Zählt Invalidierungen: ein Laden wird nur gecacht, wenn seither keine stattfand
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PrincipalCache(@Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${security.principal-cache.max-size:10000}") int maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .executor(Runnable::run)  // Verdrängen im aufrufenden Thread, die Kennzahlen stimmen sofort
+                .evictionListener((String username, UserDetails principal, RemovalCause cause) -> evictions.increment())
+                .build();
+    }
+
+    /**
+     * Liefert den Principal aus dem Cache oder lädt ihn mit {@code loader}.
+     * Exceptions des Loaders (z.B. UsernameNotFoundException) werden nicht gecacht.
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        UserDetails cached = cache.getIfPresent(username);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long before = invalidations.get();
+        UserDetails loaded = loader.apply(username);
+        // Prüfen und Eintragen atomar zum Entfernen in invalidate()
+        cache.asMap().compute(username, (key, current) -> invalidations.get() == before ? loaded : current);
+        return loaded;
+    }
+
+    /**
+     * Entfernt einen User aus dem Cache (z.B. nach Passwort- oder Rollenwechsel).
+     * In einer Transaktion zusätzlich nach deren Ende - bis zum Commit lädt ein paralleler
+     * Request noch den alten Stand.
+     */
+    public void invalidate(String username) {
+        evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Kennzahlen für das Monitoring.
+     *
+     * @return Map mit size, hits, misses, evictions und hitRate
+     */
+    public Map<String, Object> getStats() {
+        cache.cleanUp();  // ausstehende Verdrängungen abschliessen, sonst stimmt size nicht
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return Map.of(
+                "size", cache.estimatedSize(),
+                "hits", hitCount,
+                "misses", missCount,
+                "evictions", evictions.sum(),
+                "hitRate", total == 0 ? 0.0 : (double) hitCount / total
+        );
+    }
+
+    private void evict(String username) {
+        // Zuerst zählen: ein Laden, das danach einträgt, sieht die neue Zahl
+        invalidations.incrementAndGet();
+        cache.invalidate(username);
+    }
+}
@@ -1,6 +1,8 @@
 package com.wiss.quizbackend.service;
 
 import com.wiss.quizbackend.repository.AppUserRepository;
+import com.wiss.quizbackend.security.AuthenticatedUser;
+import com.wiss.quizbackend.security.PrincipalCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -11,28 +13,34 @@ import org.springframework.stereotype.Service;
  *
  * Spring Security ruft diese Klasse auf, um User zu laden.
  * Analogie: Die Zentrale, die nachschaut ob ein User existiert
+ *
+ * Geladene User werden im {@link PrincipalCache} gehalten - der JwtAuthenticationFilter
+ * braucht dadurch bei den meisten Requests keinen Datenbankzugriff.
  */
 @Service
 public class AppUserDetailsService implements UserDetailsService {
 
     private final AppUserRepository appUserRepository;
+    private final PrincipalCache principalCache;
 
-    public AppUserDetailsService(AppUserRepository appUserRepository) {
+    public AppUserDetailsService(AppUserRepository appUserRepository, PrincipalCache principalCache) {
         this.appUserRepository = appUserRepository;
+        this.principalCache = principalCache;
     }
 
     /**
-     * Lädt einen User anhand des Usernames aus der Datenbank
+     * Lädt einen User anhand des Usernames aus dem Cache bzw. der Datenbank
      *
      * @param username Der Username
-     * @return UserDetails Object (AppUser implementiert UserDetails!)
+     * @return UserDetails Object ({@link AuthenticatedUser} mit User-ID)
      * @throws UsernameNotFoundException wenn User nicht existiert
      */
     @Override
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
-        return appUserRepository.findByUsername(username)
+        return principalCache.get(username, name -> appUserRepository.findByUsername(name)
+                .map(AuthenticatedUser::from)
                 .orElseThrow(() -> new UsernameNotFoundException(
-                        "User nicht gefunden: " + username));
+                        "User nicht gefunden: " + name)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Question;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hit/Miss-Statistik des Hibernate Second-Level-Caches pro Region.
+ * <p>
+ * Braucht {@code hibernate.generate_statistics=true}, sonst bleiben alle Zähler auf 0.
+ * </p>
+ */
+@Service
+public class EntityCacheStatsService {
+
+    private static final List<String> REGIONS = List.of(
+            Question.CACHE_REGION,
+            Question.ANSWERS_CACHE_REGION,
+            AppUser.CACHE_REGION
+    );
+
+    private final SessionFactory sessionFactory;
+
+    // Constructor Injection
+    public EntityCacheStatsService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * @return Zähler pro Region plus die Summen über alle Regionen
+     */
+    public Map<String, Object> getStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            regions.put(region, toMap(
+                    regionStatistics.getHitCount(),
+                    regionStatistics.getMissCount(),
+                    regionStatistics.getPutCount()));
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        stats.put("total", toMap(
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount()));
+        stats.put("regions", regions);
+        return stats;
+    }
+
+    private static Map<String, Object> toMap(long hits, long misses, long puts) {
+        long total = hits + misses;
+        return Map.of(
+                "hits", hits,
+                "misses", misses,
+                "puts", puts,
+                "hitRate", total == 0 ? 0.0 : (double) hits / total
+        );
+    }
+}
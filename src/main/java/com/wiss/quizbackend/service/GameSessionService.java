@@ -1,30 +1,65 @@
 package com.wiss.quizbackend.service;
 
+import com.wiss.quizbackend.dto.AnswerResultDTO;
+import com.wiss.quizbackend.dto.GameQuestionDTO;
+import com.wiss.quizbackend.dto.GameStartDTO;
 import com.wiss.quizbackend.entity.GameSession;
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.event.ScoreChangedEvent;
+import com.wiss.quizbackend.game.ActiveGame;
+import com.wiss.quizbackend.game.ActiveGameStore;
+import com.wiss.quizbackend.game.FinishedGame;
+import com.wiss.quizbackend.game.WriteBehindQueue;
 import com.wiss.quizbackend.repository.GameSessionRepository;
 import com.wiss.quizbackend.repository.AppUserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class GameSessionService {
 
     private final GameSessionRepository gameSessionRepository;
     private final AppUserRepository appUserRepository;
+    private final UserStatsService userStatsService;
+    private final QuestionCatalog questionCatalog;
+    private final ActiveGameStore activeGameStore;
+    private final Optional<WriteBehindQueue> writeBehindQueue;   // nur mit game.write-behind.enabled=true
+    private final ApplicationEventPublisher eventPublisher;
 
-    public GameSessionService(GameSessionRepository gameSessionRepository, AppUserRepository appUserRepository) {
+    public GameSessionService(GameSessionRepository gameSessionRepository,
+                              AppUserRepository appUserRepository,
+                              UserStatsService userStatsService,
+                              QuestionCatalog questionCatalog,
+                              ActiveGameStore activeGameStore,
+                              Optional<WriteBehindQueue> writeBehindQueue,
+                              ApplicationEventPublisher eventPublisher) {
         this.gameSessionRepository = gameSessionRepository;
         this.appUserRepository = appUserRepository;
+        this.userStatsService = userStatsService;
+        this.questionCatalog = questionCatalog;
+        this.activeGameStore = activeGameStore;
+        this.writeBehindQueue = writeBehindQueue;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
-     * Startet ein neues Quiz-Game für einen User
+     * Startet ein neues Quiz-Game für einen User und zieht das Deck.
+     * <p>
+     * Das Game läuft danach im {@link ActiveGameStore}: Antworten werden im Speicher
+     * ausgewertet, in die Datenbank wird erst beim Beenden wieder geschrieben.
+     * Hat die Kategorie weniger Fragen als gewünscht, wird das Game entsprechend kürzer.
+     * </p>
      */
     @Transactional
-    public GameSession startGame(Long userId, String category, int totalQuestions) {
+    public GameStartDTO startGame(Long userId, String category, int totalQuestions) {
 
         // Validierung - User existiert?
         if (!appUserRepository.existsById(userId)) {
@@ -46,31 +81,168 @@ public class GameSessionService {
             );
         }
 
+        // Deck ziehen - aus dem In-Memory-Katalog, keine DB-Query
+        List<Question> deck = questionCatalog.findRandom(category, totalQuestions);
+        if (deck.isEmpty()) {
+            throw new IllegalArgumentException("Keine Fragen in der Kategorie " + category + " vorhanden!");
+        }
+
+        // UserStats nachführen (sperrt die Zeile des Users bis zum Commit)
+        userStatsService.recordGameStarted(userId, category);
+
         // GameSession erstellen
         GameSession session = new GameSession();
         session.setUserId(userId);
         session.setCategory(category);
-        session.setTotalQuestions(totalQuestions);
+        session.setTotalQuestions(deck.size());
         session.setCorrectAnswers(0);
         session.setTotalScore(0);
-        session.setPlayedAt(LocalDateTime.now());
+        // Auf Mikrosekunden wie TIMESTAMP(6): played_at ist Teil des Schlüssels beim Beenden
+        // und muss exakt dem gespeicherten Wert entsprechen
+        session.setPlayedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
 
         GameSession saved = gameSessionRepository.save(session);
 
+        // Laufendes Game im Speicher registrieren (korrekte Antworten bleiben auf dem Server)
+        registerAfterCommit(new ActiveGame(saved.getId(), userId, category, saved.getPlayedAt(), deck));
+
+        // Leaderboard nachführen (gamesPlayed zählt schon gestartete Games)
+        eventPublisher.publishEvent(ScoreChangedEvent.gameStarted(userId, category, saved.getPlayedAt()));
+
         System.out.println("🎮 Game gestartet: ID=" + saved.getId() +
                 ", User=" + userId + ", Kategorie=" + category);
 
-        return saved;
+        List<GameQuestionDTO> questions = deck.stream()
+                .map(GameQuestionDTO::from)
+                .toList();
+        return new GameStartDTO(saved, questions);
+    }
+
+    /**
+     * Wertet die Antwort auf eine Frage des Decks aus (nur im Speicher, kein DB-Zugriff).
+     *
+     * @param sessionId Das laufende Game
+     * @param userId Der User (muss das Game gestartet haben)
+     * @param questionId Die beantwortete Frage
+     * @param answer Die gewählte Antwort, {@code null} = keine Antwort
+     */
+    public AnswerResultDTO answerQuestion(Long sessionId, Long userId, Long questionId, String answer) {
+        ActiveGame game = activeGameStore.find(sessionId, userId)
+                .orElseThrow(() -> notActive(sessionId));
+
+        boolean correct = game.answer(questionId, answer);
+
+        return new AnswerResultDTO(
+                questionId,
+                correct,
+                game.getCorrectAnswer(questionId),
+                game.getAnsweredCount(),
+                game.getCorrectCount(),
+                game.getTotalQuestions()
+        );
+    }
+
+    /**
+     * Beendet ein Game mit dem serverseitig ausgewerteten Resultat
+     */
+    @Transactional
+    public GameSession finishGame(Long sessionId, Long userId) {
+        ActiveGame game = activeGameStore.find(sessionId, userId)
+                .orElseThrow(() -> notActive(sessionId));
+
+        // Atomar markieren - bei parallelem Beenden (oder Ablauf) gewinnt nur einer
+        if (!game.claimFinish()) {
+            throw notActive(sessionId);
+        }
+
+        return finishClaimed(game);
     }
 
     /**
-     * Beendet ein Game und berechnet den finalen Score
+     * Beendet ein abgelaufenes Game mit den bis dahin richtigen Antworten
+     * (ActiveGameSweeper, das Game ist schon als "wird beendet" markiert)
      */
     @Transactional
-    public GameSession finishGame(Long sessionId, int correctAnswers) {
+    public GameSession finishExpiredGame(ActiveGame game) {
+        return finishClaimed(game);
+    }
+
+    /**
+     * Registriert das Game erst nach dem Commit: Das INSERT der GameSession geht erst beim
+     * Flush raus. Scheitert es (oder der Commit), gäbe es sonst ein aktives Game ohne Zeile.
+     */
+    private void registerAfterCommit(ActiveGame game) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    activeGameStore.register(game);
+                }
+            });
+            return;
+        }
+        activeGameStore.register(game);
+    }
+
+    /**
+     * Entfernt das Game erst nach dem Commit aus dem Speicher. Bei einem Rollback
+     * (DB-Fehler beim Speichern oder Commit) bleibt es aktiv, der Client kann nochmals beenden.
+     */
+    private GameSession finishClaimed(ActiveGame game) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        activeGameStore.remove(game);
+                    } else {
+                        game.releaseFinish();
+                    }
+                }
+            });
+            return finish(game);
+        }
+
+        // Ohne Transaktion: entfernen, sobald das Resultat geschrieben ist
+        try {
+            GameSession result = finish(game);
+            activeGameStore.remove(game);
+            return result;
+        } catch (RuntimeException e) {
+            game.releaseFinish();
+            throw e;
+        }
+    }
+
+    /**
+     * Schreibt das Resultat sofort oder - im Write-Behind-Modus - gesammelt im Hintergrund.
+     */
+    private GameSession finish(ActiveGame game) {
+        if (writeBehindQueue.isEmpty()) {
+            return saveResult(game.getSessionId(), game.getPlayedAt(), game.getCorrectCount());
+        }
+
+        int score = calculateScore(game.getCorrectCount());
+        writeBehindQueue.get().submit(new FinishedGame(
+                game.getSessionId(), game.getUserId(), game.getCategory(), game.getCorrectCount(), score,
+                game.getPlayedAt()));
+
+        // Antwort aus dem Speicher - die Zeile in game_sessions wird gleich nachgeführt
+        GameSession result = new GameSession(game.getUserId(), game.getCategory(),
+                game.getCorrectCount(), game.getTotalQuestions(), score);
+        result.setId(game.getSessionId());
+        result.setPlayedAt(game.getPlayedAt());
+        return result;
+    }
+
+    /**
+     * Speichert das Resultat und berechnet den finalen Score.
+     * Gelesen und geschrieben wird über (id, played_at), damit nur eine Partition betroffen ist.
+     */
+    private GameSession saveResult(Long sessionId, LocalDateTime playedAt, int correctAnswers) {
 
         // GameSession laden
-        GameSession session = gameSessionRepository.findById(sessionId)
+        GameSession session = gameSessionRepository.findByIdAndPlayedAt(sessionId, playedAt)
                 .orElseThrow(() -> new IllegalArgumentException(
                         "GameSession mit ID " + sessionId + " nicht gefunden!"
                 ));
@@ -86,11 +258,25 @@ public class GameSessionService {
         // Score berechnen
         int score = calculateScore(correctAnswers);
 
-        // GameSession aktualisieren
-        session.setCorrectAnswers(correctAnswers);
-        session.setTotalScore(score);
+        // Bisheriger Score, damit das Leaderboard nur die Differenz verbucht
+        // (auch wenn ein Game mehrfach beendet wird)
+        int previousScore = session.getTotalScore() != null ? session.getTotalScore() : 0;
 
-        GameSession updated = gameSessionRepository.save(session);
+        // GameSession aktualisieren - per UPDATE statt Dirty Checking (das nur über die ID ginge),
+        // die geladene Entity bleibt deshalb unverändert
+        gameSessionRepository.updateResult(sessionId, playedAt, correctAnswers, score);
+
+        GameSession updated = new GameSession(session.getUserId(), session.getCategory(),
+                correctAnswers, session.getTotalQuestions(), score);
+        updated.setId(sessionId);
+        updated.setPlayedAt(playedAt);
+
+        // UserStats in derselben Transaktion nachführen
+        userStatsService.recordGameFinished(
+                session.getUserId(), session.getCategory(), score - previousScore, score);
+
+        eventPublisher.publishEvent(ScoreChangedEvent.gameFinished(
+                session.getUserId(), session.getCategory(), score - previousScore, session.getPlayedAt()));
 
         System.out.println("🏆 Game beendet: ID=" + sessionId +
                 ", Score=" + score + " (" + correctAnswers + "/" +
@@ -99,6 +285,11 @@ public class GameSessionService {
         return updated;
     }
 
+    private IllegalArgumentException notActive(Long sessionId) {
+        return new IllegalArgumentException(
+                "GameSession mit ID " + sessionId + " ist nicht aktiv (bereits beendet oder abgelaufen)!");
+    }
+
     /**
      * Berechnet den Score basierend auf richtigen Antworten
      */
@@ -1,6 +1,8 @@
 package com.wiss.quizbackend.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -12,21 +14,35 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    public static final String USER_ID_CLAIM = "userId";
 
-    @Value("${jwt.expiration}")
-    private long expirationTime;
+    private final long expirationTime;
 
-    public String generateToken(String username, String role) {
+    // Key und Parser sind thread-safe und werden nur einmal gebaut
+    // (HMAC-Key aus dem Secret ableiten + Parser konfigurieren kostet bei jedem Request)
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    public JwtService(@Value("${jwt.secret}") String secretKey,
+                      @Value("${jwt.expiration}") long expirationTime) {
+        this.expirationTime = expirationTime;
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    public String generateToken(Long userId, String username, String role) {
         // 1. Claims Map erstellen (payload)
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role); // Custom claim für rolle
+        claims.put(USER_ID_CLAIM, userId); // User-ID, damit Controller den User nicht nachladen müssen
 
         // 2. Token bauen
         return Jwts.builder()
@@ -36,15 +52,37 @@ public class JwtService {
                 .setExpiration(
                         new Date(System.currentTimeMillis()
                         + expirationTime))
-                .signWith(getSigningKey(),
+                .signWith(signingKey,
                         SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Prüft Signatur und Ablaufdatum eines Tokens in EINEM Durchgang.
+     * <p>
+     * Für den JwtAuthenticationFilter: ein Parse pro Request statt je einem für
+     * Username, Ablaufdatum und Validierung.
+     * </p>
+     *
+     * @param token Der JWT ohne "Bearer "
+     * @return Die verifizierten Claims, oder leer falls der Token ungültig oder abgelaufen ist
+     */
+    public Optional<Claims> verifyToken(String token) {
+        try {
+            return Optional.of(extractAllClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
+    public Long extractUserId(String token) {
+        return extractClaim(token, claims -> claims.get(USER_ID_CLAIM, Long.class));
+    }
+
     public String extractRole(String token) {
         return extractClaim(token, claims -> claims.get("role", String.class));
     }
@@ -59,24 +97,12 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        // parseClaimsJws prüft Signatur UND Ablaufdatum (ExpiredJwtException)
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public Boolean validateToken(String token, String Username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(Username) && !isTokenExpired(token));
-    }
-
-    private Key getSigningKey() {
-        byte[] keyBytes = secretKey.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(Username) && !claims.getExpiration().before(new Date()));
     }
 }
@@ -2,28 +2,55 @@ package com.wiss.quizbackend.service;
 
 import com.wiss.quizbackend.dto.LeaderboardDTO;
 import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.CategoryStats;
+import com.wiss.quizbackend.entity.UserStats;
+import com.wiss.quizbackend.leaderboard.LeaderboardEngine;
+import com.wiss.quizbackend.leaderboard.LeaderboardEntry;
+import com.wiss.quizbackend.leaderboard.LeaderboardSlice;
+import com.wiss.quizbackend.leaderboard.LeaderboardWindow;
+import com.wiss.quizbackend.leaderboard.WindowedLeaderboard;
 import com.wiss.quizbackend.repository.LeaderboardRepository;
 import com.wiss.quizbackend.repository.AppUserRepository;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 
 @Service
 public class LeaderboardService {
 
+    private static final int MAX_NEIGHBOR_RADIUS = 25;
+
     private final LeaderboardRepository leaderboardRepository;  // ← Leaderboard Repo!
     private final AppUserRepository appUserRepository;
+    private final LeaderboardEngine leaderboardEngine;         // ← In-Memory Rangliste
+    private final WindowedLeaderboard windowedLeaderboard;     // ← Tag / Woche / Monat
+    private final UserStatsService userStatsService;           // ← Materialisierte User-Statistik
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
     // Constructor Injection
-    public LeaderboardService(LeaderboardRepository leaderboardRepository, AppUserRepository appUserRepository) {
+    public LeaderboardService(LeaderboardRepository leaderboardRepository,
+                              AppUserRepository appUserRepository,
+                              LeaderboardEngine leaderboardEngine,
+                              WindowedLeaderboard windowedLeaderboard,
+                              UserStatsService userStatsService,
+                              @Value("${leaderboard.default-page-size:10}") int defaultPageSize,
+                              @Value("${leaderboard.max-page-size:100}") int maxPageSize) {
         this.leaderboardRepository = leaderboardRepository;
         this.appUserRepository = appUserRepository;
+        this.leaderboardEngine = leaderboardEngine;
+        this.windowedLeaderboard = windowedLeaderboard;
+        this.userStatsService = userStatsService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     /**
@@ -33,12 +60,22 @@ public class LeaderboardService {
      */
     @Transactional(readOnly = true)
     public List<LeaderboardDTO> getTop10Players() {
-        // Schritt 1: LeaderboardRepository aufrufen
-        Pageable pageable = PageRequest.of(0, 10);
-        List<Object[]> results = leaderboardRepository.findTop10Players(pageable);
+        return getTopPlayers(null);
+    }
 
-        // Schritt 2: Object[] zu DTO transformieren
-        return transformToLeaderboardDTOs(results, null);
+    /**
+     * Lädt die besten Spieler (Global)
+     *
+     * @param limit Anzahl Spieler, {@code null} = leaderboard.default-page-size (10)
+     * @return Liste der besten Spieler sortiert nach Total Score
+     */
+    @Transactional(readOnly = true)
+    public List<LeaderboardDTO> getTopPlayers(Integer limit) {
+        // Schritt 1: Rangliste aus dem LeaderboardEngine (keine Aggregations-Query)
+        List<LeaderboardEntry> entries = leaderboardEngine.top(null, resolvePageSize(limit));
+
+        // Schritt 2: Einträge zu DTO transformieren
+        return transformToLeaderboardDTOs(entries, null, 1);
     }
 
     /**
@@ -49,18 +86,117 @@ public class LeaderboardService {
      */
     @Transactional(readOnly = true)
     public List<LeaderboardDTO> getTop10PlayersByCategory(String category) {
+        return getTopPlayersByCategory(category, null);
+    }
+
+    /**
+     * Lädt die besten Spieler einer bestimmten Kategorie
+     *
+     * @param category Die Kategorie (z.B. "sports")
+     * @param limit Anzahl Spieler, {@code null} = leaderboard.default-page-size (10)
+     * @return Liste der besten Spieler in der Kategorie
+     */
+    @Transactional(readOnly = true)
+    public List<LeaderboardDTO> getTopPlayersByCategory(String category, Integer limit) {
         // Validierung
         if (category == null || category.trim().isEmpty()) {
             throw new IllegalArgumentException("Kategorie darf nicht leer sein!");
         }
 
-        // LeaderboardRepository aufrufen
-        Pageable pageable = PageRequest.of(0, 10);
-        List<Object[]> results = leaderboardRepository
-                .findTop10PlayersByCategory(category, pageable);
+        // Rangliste der Kategorie aus dem LeaderboardEngine
+        List<LeaderboardEntry> entries = leaderboardEngine.top(category, resolvePageSize(limit));
+
+        // Einträge zu DTO transformieren
+        return transformToLeaderboardDTOs(entries, category, 1);
+    }
+
+    /**
+     * Lädt die besten Spieler aller Kategorien in einem Aufruf
+     * (statt einem Request pro Kategorie)
+     *
+     * @param limit Anzahl Spieler pro Kategorie, {@code null} = leaderboard.default-page-size (10)
+     * @return Map Kategorie → Rangliste, Kategorien alphabetisch
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<LeaderboardDTO>> getTopPlayersPerCategory(Integer limit) {
+        // Schritt 1: Alle Ranglisten aus dem LeaderboardEngine
+        Map<String, List<LeaderboardEntry>> entriesPerCategory = leaderboardEngine.topPerCategory(resolvePageSize(limit));
+
+        // Schritt 2: Usernames aller Kategorien mit EINER Query laden
+        Map<Long, String> usernames = loadUsernames(entriesPerCategory.values().stream()
+                .flatMap(List::stream)
+                .toList());
+
+        // Schritt 3: Einträge zu DTO transformieren
+        Map<String, List<LeaderboardDTO>> result = new LinkedHashMap<>();
+        entriesPerCategory.forEach((category, entries) ->
+                result.put(category, transformToLeaderboardDTOs(entries, category, 1, usernames)));
+        return result;
+    }
+
+    /**
+     * Lädt die besten Spieler eines Zeitfensters (letzte 24 Stunden, 7 oder 30 Tage)
+     *
+     * @param window Das Zeitfenster: "day", "week" oder "month"
+     * @param category Die Kategorie, oder {@code null} für das globale Leaderboard
+     * @param limit Anzahl Spieler, {@code null} = leaderboard.default-page-size (10)
+     * @return Liste der besten Spieler im Zeitfenster
+     */
+    @Transactional(readOnly = true)
+    public List<LeaderboardDTO> getTopPlayersInWindow(String window, String category, Integer limit) {
+        // Validierung
+        LeaderboardWindow leaderboardWindow = LeaderboardWindow.fromParam(window);
+        validateOptionalCategory(category);
+
+        // Rangliste aus den Zeit-Buckets (keine Aggregations-Query über die Periode)
+        List<LeaderboardEntry> entries = windowedLeaderboard.top(leaderboardWindow, category, resolvePageSize(limit));
+
+        return transformToLeaderboardDTOs(entries, category, 1);
+    }
+
+    /**
+     * Lädt den Platz eines Users in der Rangliste
+     *
+     * @param userId Die User-ID
+     * @param category Die Kategorie, oder {@code null} für das globale Leaderboard
+     * @return Eintrag mit Rang, bzw. ohne Rang (und Score 0) falls der User noch nicht gespielt hat
+     */
+    @Transactional(readOnly = true)
+    public LeaderboardDTO getUserRank(Long userId, String category) {
+        validateOptionalCategory(category);
+
+        Optional<LeaderboardSlice> slice = leaderboardEngine.around(category, userId, 0);
+        if (slice.isPresent()) {
+            return transformToLeaderboardDTOs(
+                    slice.get().getEntries(), category, slice.get().getFirstRank()).get(0);
+        }
+
+        // Noch nicht gespielt → kein Rang
+        List<LeaderboardDTO> unranked = transformToLeaderboardDTOs(
+                List.of(new LeaderboardEntry(userId, 0, 0)), category, 1);
+        LeaderboardDTO dto = unranked.get(0);
+        dto.setRank(null);
+        return dto;
+    }
+
+    /**
+     * Lädt die Spieler rund um einen User ("Spieler um mich herum")
+     *
+     * @param userId Die User-ID
+     * @param category Die Kategorie, oder {@code null} für das globale Leaderboard
+     * @param radius Anzahl Plätze vor und nach dem User (0 - 25)
+     * @return Liste mit Rängen, leer falls der User noch nicht gespielt hat
+     */
+    @Transactional(readOnly = true)
+    public List<LeaderboardDTO> getUserNeighbors(Long userId, String category, int radius) {
+        validateOptionalCategory(category);
+        if (radius < 0 || radius > MAX_NEIGHBOR_RADIUS) {
+            throw new IllegalArgumentException("Radius muss zwischen 0 und " + MAX_NEIGHBOR_RADIUS + " sein!");
+        }
 
-        // Object[] zu DTO transformieren
-        return transformToLeaderboardDTOs(results, category);
+        return leaderboardEngine.around(category, userId, radius)
+                .map(slice -> transformToLeaderboardDTOs(slice.getEntries(), category, slice.getFirstRank()))
+                .orElse(List.of());
     }
 
     /**
@@ -71,28 +207,34 @@ public class LeaderboardService {
      */
     @Transactional(readOnly = true)
     public Map<String, Object> getUserStats(Long userId) {
-        // Validierung - User existiert?
-        if (!appUserRepository.existsById(userId)) {
-            throw new IllegalArgumentException("User mit ID " + userId + " existiert nicht!");
+        // Materialisierte Statistik: ein Primary-Key-Read auf user_stats
+        Optional<UserStats> userStats = userStatsService.findStats(userId);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("userId", userId);
+
+        if (userStats.isPresent()) {
+            UserStats found = userStats.get();
+            stats.put("username", found.getUsername());
+            stats.put("gamesPlayed", found.getGamesPlayed());
+            stats.put("totalScore", found.getTotalScore());
+            stats.put("averageScore", found.getAverageScore());
+            stats.put("bestScore", found.getBestScore());
+            stats.put("categories", toCategoryMap(found.getCategories()));
+            return stats;
         }
 
-        // Username laden
+        // Noch nie gespielt - Validierung: User existiert?
         String username = appUserRepository.findById(userId)
                 .map(AppUser::getUsername)
-                .orElse("Unknown User");
-
-        // Statistiken aus LeaderboardRepository laden
-        Long gamesPlayed = leaderboardRepository.countGamesByUser(userId);
-        Integer totalScore = leaderboardRepository.sumScoreByUser(userId);
-        Double averageScore = leaderboardRepository.averageScoreByUser(userId);
+                .orElseThrow(() -> new IllegalArgumentException("User mit ID " + userId + " existiert nicht!"));
 
-        // In Map packen
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("userId", userId);
         stats.put("username", username);
-        stats.put("gamesPlayed", gamesPlayed != null ? gamesPlayed : 0);
-        stats.put("totalScore", totalScore != null ? totalScore : 0);
-        stats.put("averageScore", averageScore != null ? averageScore : 0.0);
+        stats.put("gamesPlayed", 0L);
+        stats.put("totalScore", 0L);
+        stats.put("averageScore", 0.0);
+        stats.put("bestScore", 0);
+        stats.put("categories", Map.of());
 
         return stats;
     }
@@ -104,15 +246,15 @@ public class LeaderboardService {
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getCategoryStats() {
-        // LeaderboardRepository aufrufen
-        List<Object[]> results = leaderboardRepository.countGamesByCategory();
+        // Games pro Kategorie aus dem LeaderboardEngine (beliebteste zuerst)
+        Map<String, Long> results = leaderboardEngine.gamesPerCategory();
 
-        // Object[] zu Map transformieren
+        // Zu Map transformieren
         List<Map<String, Object>> stats = new ArrayList<>();
 
-        for (Object[] row : results) {
-            String category = (String) row[0];
-            Long count = ((Number) row[1]).longValue();
+        for (Map.Entry<String, Long> row : results.entrySet()) {
+            String category = row.getKey();
+            Long count = row.getValue();
 
             Map<String, Object> categoryStats = new HashMap<>();
             categoryStats.put("category", category);
@@ -125,27 +267,38 @@ public class LeaderboardService {
     }
 
     /**
-     * Hilfsmethode: Transformiert Object[] zu LeaderboardDTO
+     * Hilfsmethode: Transformiert LeaderboardEntry zu LeaderboardDTO
      *
-     * @param results Die Resultate aus dem Repository
+     * @param results Die Einträge aus dem LeaderboardEngine
      * @param category Optional: Kategorie für Kategorie-Leaderboard
+     * @param firstRank Rang des ersten Eintrags (1 = erster Platz)
      * @return Liste von LeaderboardDTOs
      */
     private List<LeaderboardDTO> transformToLeaderboardDTOs(
-            List<Object[]> results,
-            String category) {
+            List<LeaderboardEntry> results,
+            String category,
+            int firstRank) {
 
-        List<LeaderboardDTO> leaderboard = new ArrayList<>();
+        // Usernames der ganzen Seite mit EINER Query laden (statt findById pro Zeile)
+        return transformToLeaderboardDTOs(results, category, firstRank, loadUsernames(results));
+    }
 
-        for (Object[] row : results) {
-            Long userId = ((Number) row[0]).longValue();
-            Long totalScore = ((Number) row[1]).longValue();
-            Long gamesPlayed = ((Number) row[2]).longValue();
+    /**
+     * Hilfsmethode: Wie oben, mit bereits geladenen Usernames
+     */
+    private List<LeaderboardDTO> transformToLeaderboardDTOs(
+            List<LeaderboardEntry> results,
+            String category,
+            int firstRank,
+            Map<Long, String> usernames) {
+
+        List<LeaderboardDTO> leaderboard = new ArrayList<>();
 
-            // Username laden
-            String username = appUserRepository.findById(userId)
-                    .map(AppUser::getUsername)
-                    .orElse("Unknown User");
+        for (LeaderboardEntry row : results) {
+            Long userId = row.getUserId();
+            Long totalScore = row.getTotalScore();
+            Long gamesPlayed = row.getGamesPlayed();
+            String username = usernames.getOrDefault(userId, "Unknown User");
 
             // DTO erstellen
             LeaderboardDTO dto = new LeaderboardDTO(
@@ -156,9 +309,65 @@ public class LeaderboardService {
                     category  // kann null sein für Global Leaderboard
             );
 
+            dto.setRank(firstRank + leaderboard.size());
+
             leaderboard.add(dto);
         }
 
         return leaderboard;
     }
+
+    /**
+     * Hilfsmethode: Lädt die Usernames zu allen Einträgen in einer Query
+     *
+     * @param entries Die Einträge einer Leaderboard-Seite
+     * @return Map userId → username
+     */
+    private Map<Long, String> loadUsernames(List<LeaderboardEntry> entries) {
+        if (entries.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> userIds = entries.stream().map(LeaderboardEntry::getUserId).toList();
+
+        Map<Long, String> usernames = new HashMap<>();
+        for (Object[] row : appUserRepository.findUsernamesByIds(userIds)) {
+            usernames.put(((Number) row[0]).longValue(), (String) row[1]);
+        }
+        return usernames;
+    }
+
+    /**
+     * Hilfsmethode: Statistik pro Kategorie als Map für das JSON
+     */
+    private Map<String, Object> toCategoryMap(Map<String, CategoryStats> categories) {
+        Map<String, Object> result = new TreeMap<>();
+        categories.forEach((category, categoryStats) -> {
+            Map<String, Object> values = new HashMap<>();
+            values.put("gamesPlayed", categoryStats.getGamesPlayed());
+            values.put("totalScore", categoryStats.getTotalScore());
+            values.put("bestScore", categoryStats.getBestScore());
+            result.put(category, values);
+        });
+        return result;
+    }
+
+    /**
+     * Hilfsmethode: Kategorie ist optional, darf aber nicht leer sein
+     */
+    private void validateOptionalCategory(String category) {
+        if (category != null && category.trim().isEmpty()) {
+            throw new IllegalArgumentException("Kategorie darf nicht leer sein!");
+        }
+    }
+
+    /**
+     * Hilfsmethode: Prüft die gewünschte Seitengrösse
+     */
+    private int resolvePageSize(Integer limit) {
+        int size = limit != null ? limit : defaultPageSize;
+        if (size <= 0 || size > maxPageSize) {
+            throw new IllegalArgumentException("Limit muss zwischen 1 und " + maxPageSize + " sein!");
+        }
+        return size;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,284 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.event.QuestionChangedEvent;
+import com.wiss.quizbackend.event.QuestionsImportedEvent;
+import com.wiss.quizbackend.mapper.QuestionMapper;
+import com.wiss.quizbackend.repository.QuestionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-Memory Katalog aller Quiz-Fragen (Read-Through Cache vor dem QuestionRepository).
+ * <p>
+ * Der Katalog hält einen unveränderbaren {@link Snapshot} mit vorberechneten Indizes
+ * nach Kategorie, Schwierigkeit und (Kategorie, Schwierigkeit). Lesende Zugriffe
+ * greifen nur auf den aktuellen Snapshot zu und gehen nie auf die Datenbank
+ * (ausser beim allerersten Laden).
+ * </p>
+ * <p>
+ * Änderungen kommen als {@link QuestionChangedEvent} erst NACH dem Commit an. Dann wird
+ * ein neuer Snapshot gebaut und die Referenz atomar ausgetauscht. Leser sehen also
+ * immer entweder den alten oder den neuen Stand, nie einen halben.
+ * </p>
+ * <p>
+ * <strong>Wichtig:</strong> Änderungen müssen über den QuestionService laufen. Direkte
+ * Schreibzugriffe auf das Repository sieht der Katalog erst nach {@link #reload()}.
+ * </p>
+ */
+@Component
+public class QuestionCatalog {
+
+    private static final long[] EMPTY_POOL = new long[0];
+
+    private final QuestionRepository repository;
+
+    // volatile: Leser sehen den neuen Snapshot sofort nach dem Austausch
+    private volatile Snapshot snapshot;
+
+    public QuestionCatalog(QuestionRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Lädt den Katalog beim Start der Applikation vor,
+     * damit schon der erste Request aus dem Speicher bedient wird.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void warmUp() {
+        snapshot();
+    }
+
+    /**
+     * Alle Fragen, sortiert nach ID.
+     */
+    public List<Question> findAll() {
+        return snapshot().all;
+    }
+
+    public Optional<Question> findById(Long id) {
+        return Optional.ofNullable(snapshot().byId.get(id));
+    }
+
+    public List<Question> findByCategory(String category) {
+        return snapshot().byCategory.getOrDefault(normalize(category), List.of());
+    }
+
+    public List<Question> findByDifficulty(String difficulty) {
+        return snapshot().byDifficulty.getOrDefault(normalize(difficulty), List.of());
+    }
+
+    public List<Question> findByCategoryAndDifficulty(String category, String difficulty) {
+        return snapshot().byCategoryAndDifficulty
+                .getOrDefault(key(normalize(category), normalize(difficulty)), List.of());
+    }
+
+    /**
+     * Fragen nach optionalen Filtern (null = kein Filter), sortiert nach ID.
+     */
+    public List<Question> findByFilter(String category, String difficulty) {
+        if (category != null && difficulty != null) {
+            return findByCategoryAndDifficulty(category, difficulty);
+        } else if (category != null) {
+            return findByCategory(category);
+        } else if (difficulty != null) {
+            return findByDifficulty(difficulty);
+        } else {
+            return findAll();
+        }
+    }
+
+    public long count() {
+        return snapshot().all.size();
+    }
+
+    /**
+     * Zieht {@code limit} verschiedene, zufällige Fragen.
+     * <p>
+     * Arbeitet auf den kompakten {@code long[]} ID-Pools des Snapshots und zieht die IDs
+     * mit {@link RandomSampler} in O(limit) - unabhängig davon, wie gross der Katalog ist.
+     * Pool und Auflösung der IDs verwenden denselben Snapshot, dadurch bleibt das
+     * Resultat auch bei gleichzeitigen Änderungen konsistent.
+     * </p>
+     *
+     * @param category Die Kategorie, oder {@code null} für alle Fragen
+     * @param limit Die maximale Anzahl Fragen
+     * @return Zufällige Fragen in zufälliger Reihenfolge (weniger, falls der Pool kleiner ist)
+     */
+    public List<Question> findRandom(String category, int limit) {
+        Snapshot current = snapshot();
+        long[] pool = category == null
+                ? current.allIds
+                : current.idsByCategory.getOrDefault(normalize(category), EMPTY_POOL);
+
+        long[] ids = RandomSampler.sample(pool, limit, ThreadLocalRandom.current());
+
+        List<Question> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(current.byId.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Verwirft den aktuellen Snapshot und lädt alle Fragen neu aus der Datenbank.
+     */
+    public synchronized void reload() {
+        List<Question> loaded = repository.findAllForCatalog().stream()
+                .map(QuestionMapper::toSnapshot)
+                .toList();
+        snapshot = Snapshot.of(loaded);
+    }
+
+    /**
+     * Übernimmt eine Änderung aus dem QuestionService, sobald die Transaktion committed ist.
+     * <p>
+     * {@code fallbackExecution = true}: Läuft der Service-Aufruf ohne Transaktion
+     * (das Repository committed dann selbst), wird das Event sofort verarbeitet.
+     * </p>
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public synchronized void onQuestionChanged(QuestionChangedEvent event) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Noch nie geladen - der erste Lesezugriff holt den Stand inkl. dieser Änderung
+            return;
+        }
+
+        Map<Long, Question> byId = new HashMap<>(current.byId);
+        if (event.getType() == QuestionChangedEvent.Type.DELETED) {
+            byId.remove(event.getQuestionId());
+        } else {
+            byId.put(event.getQuestionId(), event.getQuestion());
+        }
+        snapshot = Snapshot.of(byId.values());
+    }
+
+    /**
+     * Übernimmt einen ganzen Import-Chunk nach dem Commit - ein neuer Snapshot pro Chunk.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public synchronized void onQuestionsImported(QuestionsImportedEvent event) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+
+        Map<Long, Question> byId = new HashMap<>(current.byId);
+        for (Question question : event.getQuestions()) {
+            byId.put(question.getId(), question);
+        }
+        snapshot = Snapshot.of(byId.values());
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase();
+    }
+
+    private static String key(String category, String difficulty) {
+        return category + "|" + difficulty;
+    }
+
+    /**
+     * Unveränderbarer Stand des Katalogs inklusive aller Indizes.
+     * Wird nie verändert, sondern bei jeder Änderung komplett neu gebaut.
+     */
+    static final class Snapshot {
+        final List<Question> all;
+        final Map<Long, Question> byId;
+        final Map<String, List<Question>> byCategory;
+        final Map<String, List<Question>> byDifficulty;
+        final Map<String, List<Question>> byCategoryAndDifficulty;
+        final long[] allIds;
+        final Map<String, long[]> idsByCategory;
+
+        private Snapshot(List<Question> all,
+                         Map<Long, Question> byId,
+                         Map<String, List<Question>> byCategory,
+                         Map<String, List<Question>> byDifficulty,
+                         Map<String, List<Question>> byCategoryAndDifficulty) {
+            this.all = all;
+            this.byId = byId;
+            this.byCategory = byCategory;
+            this.byDifficulty = byDifficulty;
+            this.byCategoryAndDifficulty = byCategoryAndDifficulty;
+            this.allIds = toIdArray(all);
+
+            Map<String, long[]> pools = new HashMap<>();
+            byCategory.forEach((category, list) -> pools.put(category, toIdArray(list)));
+            this.idsByCategory = Collections.unmodifiableMap(pools);
+        }
+
+        private static long[] toIdArray(List<Question> questions) {
+            long[] ids = new long[questions.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = questions.get(i).getId();
+            }
+            return ids;
+        }
+
+        static Snapshot of(Collection<Question> questions) {
+            List<Question> sorted = new ArrayList<>(questions);
+            sorted.sort(Comparator.comparing(Question::getId));
+
+            Map<Long, Question> byId = new HashMap<>();
+            Map<String, List<Question>> byCategory = new HashMap<>();
+            Map<String, List<Question>> byDifficulty = new HashMap<>();
+            Map<String, List<Question>> byCategoryAndDifficulty = new HashMap<>();
+
+            for (Question question : sorted) {
+                String category = normalize(question.getCategory());
+                String difficulty = normalize(question.getDifficulty());
+
+                byId.put(question.getId(), question);
+                byCategory.computeIfAbsent(category, k -> new ArrayList<>()).add(question);
+                byDifficulty.computeIfAbsent(difficulty, k -> new ArrayList<>()).add(question);
+                byCategoryAndDifficulty.computeIfAbsent(key(category, difficulty), k -> new ArrayList<>())
+                        .add(question);
+            }
+
+            return new Snapshot(
+                    Collections.unmodifiableList(sorted),
+                    Collections.unmodifiableMap(byId),
+                    freeze(byCategory),
+                    freeze(byDifficulty),
+                    freeze(byCategoryAndDifficulty)
+            );
+        }
+
+        private static Map<String, List<Question>> freeze(Map<String, List<Question>> index) {
+            Map<String, List<Question>> frozen = new HashMap<>();
+            index.forEach((key, list) -> frozen.put(key, Collections.unmodifiableList(list)));
+            return Collections.unmodifiableMap(frozen);
+        }
+    }
+}
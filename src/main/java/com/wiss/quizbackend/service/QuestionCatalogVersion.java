@@ -0,0 +1,118 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.event.QuestionChangedEvent;
+import com.wiss.quizbackend.event.QuestionsImportedEvent;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Versionsnummer des Fragen-Katalogs für Conditional GETs (ETag / Last-Modified).
+ * <p>
+ * Jede Änderung über den QuestionService (create, update, delete, Import) erhöht die Version.
+ * Das passiert erst nach dem Commit und NACH QuestionCatalog und QuestionSearchIndex
+ * ({@code @Order(100)}): Wer die neue Version sieht, bekommt auch die neuen Daten. Der
+ * QuestionController liest die Version vor den Daten - im schlimmsten Fall gehört eine
+ * ältere Version zu neueren Daten, dann lädt der Client beim nächsten Mal einfach neu.
+ * </p>
+ * <p>
+ * Die Startzeit ist Teil des ETags, damit nach einem Neustart (Version wieder 1) kein alter
+ * ETag eines Clients zufällig passt.
+ * </p>
+ * <p>
+ * Last-Modified ist die Uhrzeit der letzten Änderung, nie später als die Uhr (sonst läge er
+ * nach dem Date-Header, und nach einem Neustart bekäme ein Client mit einem Wert aus der
+ * Zukunft 304 für neuere Daten). Mit Sekunden-Auflösung teilen sich zwei Änderungen derselben
+ * Sekunde den Wert - massgebend ist der ETag, If-None-Match hat Vorrang vor If-Modified-Since.
+ * </p>
+ */
+@Component
+public class QuestionCatalogVersion {
+
+    private final Clock clock;
+    private final String epoch;
+
+    // volatile: Version und Zeitpunkt werden immer zusammen ausgetauscht
+    private volatile State state;
+
+    public QuestionCatalogVersion() {
+        this(Clock.systemUTC());
+    }
+
+    QuestionCatalogVersion(Clock clock) {
+        this.clock = clock;
+        this.epoch = Long.toString(clock.millis(), 36);
+        this.state = new State(1, now());
+    }
+
+    public long getVersion() {
+        return state.version;
+    }
+
+    /**
+     * Starker ETag des aktuellen Stands, z.B. {@code "q-m3x1k2-17"}.
+     */
+    public String getETag() {
+        return toETag(state);
+    }
+
+    public Instant getLastModified() {
+        return state.lastModified;
+    }
+
+    /**
+     * Setzt ETag, Last-Modified und {@code Cache-Control: no-cache} (Browser fragen jedes Mal
+     * nach, statt den Stand heuristisch zu cachen) und prüft If-None-Match / If-Modified-Since.
+     *
+     * @param request Der aktuelle Request
+     * @return {@code true} wenn der Client schon aktuell ist - die Response ist dann bereits 304
+     */
+    public boolean checkNotModified(WebRequest request) {
+        State current = state;
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        }
+        return request.checkNotModified(toETag(current), current.lastModified.toEpochMilli());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(100)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(100)
+    public void onQuestionsImported(QuestionsImportedEvent event) {
+        increment();
+    }
+
+    synchronized void increment() {
+        state = new State(state.version + 1, now());
+    }
+
+    private Instant now() {
+        return clock.instant().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private String toETag(State current) {
+        return "\"q-" + epoch + "-" + current.version + "\"";
+    }
+
+    private static final class State {
+        final long version;
+        final Instant lastModified;
+
+        State(long version, Instant lastModified) {
+            this.version = version;
+            this.lastModified = lastModified;
+        }
+    }
+}
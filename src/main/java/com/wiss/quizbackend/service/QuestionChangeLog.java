@@ -0,0 +1,135 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.entity.QuestionTombstone;
+import com.wiss.quizbackend.repository.QuestionRepository;
+import com.wiss.quizbackend.repository.QuestionTombstoneRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Vergibt die Änderungsnummern ({@code change_seq}) für den Delta-Sync der Fragen.
+ * <p>
+ * Jede schreibende Transaktion auf Fragen holt sich eine Nummer aus der Sequence
+ * {@code question_change_seq} und schreibt sie in die geänderten Zeilen bzw. in den
+ * Tombstone einer gelöschten Frage. Clients merken sich die höchste gesehene Nummer
+ * und fragen danach nur noch "alles grösser als X" ab.
+ * </p>
+ * <p>
+ * Sequence-Nummern werden beim Holen vergeben, aber in Commit-Reihenfolge sichtbar: Nummer 11
+ * kann vor Nummer 10 committet werden. Ein Client, der dann schon bis 11 gelesen hat, würde 10
+ * nie sehen. Deshalb liefert {@link #safeWatermark()} nur Nummern, unter denen keine
+ * Transaktion mehr offen ist. Die offenen Nummern liegen im Speicher - das reicht, solange
+ * nur eine Instanz der Anwendung schreibt.
+ * </p>
+ */
+@Component
+public class QuestionChangeLog {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QuestionRepository questionRepository;
+    private final QuestionTombstoneRepository tombstoneRepository;
+    private final String nextValueSql;
+
+    // Vergebene, aber noch nicht abgeschlossene Nummern
+    private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    private final Object lock = new Object();
+
+    public QuestionChangeLog(JdbcTemplate jdbcTemplate,
+                             EntityManagerFactory entityManagerFactory,
+                             QuestionRepository questionRepository,
+                             QuestionTombstoneRepository tombstoneRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.questionRepository = questionRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        // Syntax für "nächster Wert" je nach Datenbank (PostgreSQL: nextval(...), H2: next value for ...)
+        this.nextValueSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString("question_change_seq");
+    }
+
+    /**
+     * Holt die nächste Änderungsnummer für die laufende Transaktion. Bis zu deren Ende
+     * (Commit oder Rollback) bleibt die Nummer als offen markiert.
+     *
+     * @throws IllegalStateException wenn keine Transaktion läuft
+     */
+    public long allocate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Änderungsnummern dürfen nur in einer Transaktion vergeben werden!");
+        }
+
+        long seq;
+        // Holen und Vormerken zusammen, sonst könnte safeWatermark() dazwischen schon eine höhere Nummer sehen
+        synchronized (lock) {
+            seq = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+            inFlight.add(seq);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                inFlight.remove(seq);
+            }
+        });
+        return seq;
+    }
+
+    /**
+     * Merkt sich eine gelöschte Frage für den Delta-Sync (in derselben Transaktion wie das DELETE).
+     */
+    public void recordDeletion(Long questionId, long seq) {
+        tombstoneRepository.save(new QuestionTombstone(questionId, seq));
+    }
+
+    /**
+     * Höchste Nummer, bis zu der alle Änderungen committet sind. Muss VOR den Daten gelesen
+     * werden - neuere Änderungen holt der Client dann beim nächsten Sync.
+     */
+    public long safeWatermark() {
+        synchronized (lock) {
+            if (inFlight.isEmpty()) {
+                Long max = questionRepository.findMaxChangeSeq();
+                return max != null ? max : 0L;
+            }
+            return inFlight.first() - 1;
+        }
+    }
+
+    /**
+     * Bis zu dieser Nummer wurden Tombstones schon kompaktiert. Wer mit einem älteren
+     * {@code since} kommt, könnte Löschungen verpasst haben und muss neu laden.
+     */
+    public long getCompactedSeq() {
+        Long compacted = jdbcTemplate.queryForObject(
+                "SELECT compacted_seq FROM question_sync_horizon WHERE id = 1", Long.class);
+        return compacted != null ? compacted : 0L;
+    }
+
+    /**
+     * Löscht Tombstones, die älter als {@code cutoff} sind, und schiebt den Horizont nach.
+     *
+     * @return Anzahl gelöschter Tombstones
+     */
+    @Transactional
+    public int compactTombstones(LocalDateTime cutoff) {
+        Long maxSeq = tombstoneRepository.findMaxChangeSeqDeletedBefore(cutoff);
+        if (maxSeq == null) {
+            return 0;
+        }
+
+        jdbcTemplate.update(
+                "UPDATE question_sync_horizon SET compacted_seq = GREATEST(compacted_seq, ?) WHERE id = 1", maxSeq);
+        return tombstoneRepository.deleteDeletedBefore(cutoff);
+    }
+}
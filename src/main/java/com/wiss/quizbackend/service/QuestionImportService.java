@@ -0,0 +1,266 @@
+package com.wiss.quizbackend.service;
+
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.wiss.quizbackend.dto.ImportReportDTO;
+import com.wiss.quizbackend.dto.QuestionImportDTO;
+import com.wiss.quizbackend.entity.Question;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk-Import von Quiz-Fragen aus einem JSON-Array oder ndjson.
+ * <p>
+ * Der Upload wird mit Jacksons {@link MappingIterator} Eintrag für Eintrag gelesen und
+ * nie als Ganzes in den Speicher geladen - gehalten wird nur der aktuelle Chunk.
+ * Jeder Eintrag wird mit denselben Regeln geprüft wie beim Erstellen einzelner Fragen
+ * und gegen den Bestand dedupliziert (Frage + Kategorie, wie
+ * {@code existsByQuestionAndCategory}, aber ohne Query pro Eintrag). Gespeichert wird in
+ * Chunks zu je {@code question-import.chunk-size} Fragen, jeder Chunk in einer eigenen
+ * Transaktion über den {@link QuestionImportWriter}.
+ * </p>
+ * <p>
+ * Fehlerhafte Einträge brechen den Import nicht ab, sondern landen im Report. Nur wenn
+ * der Upload selbst kein gültiges JSON mehr ist, wird abgebrochen.
+ * </p>
+ */
+@Service
+public class QuestionImportService {
+
+    private static final int MIN_QUESTION_LENGTH = 5;
+    private static final int MAX_QUESTION_LENGTH = 128;
+    private static final int MAX_ANSWER_LENGTH = 32;
+    private static final int INCORRECT_ANSWER_COUNT = 3;
+
+    private final ObjectReader reader;
+    private final QuestionCatalog catalog;
+    private final QuestionImportWriter writer;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public QuestionImportService(ObjectMapper objectMapper,
+                                 QuestionCatalog catalog,
+                                 QuestionImportWriter writer,
+                                 @Value("${question-import.chunk-size:500}") int chunkSize,
+                                 @Value("${question-import.max-reported-errors:100}") int maxReportedErrors) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("question-import.chunk-size muss mindestens 1 sein!");
+        }
+        this.reader = objectMapper.readerFor(QuestionImportDTO.class);
+        this.catalog = catalog;
+        this.writer = writer;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Importiert alle Fragen aus dem Upload.
+     *
+     * @param in JSON-Array von Fragen oder ndjson (eine Frage pro Zeile)
+     * @param creatorId Der importierende User (wird als Ersteller eingetragen)
+     * @return Report mit Zählern und den abgelehnten Einträgen
+     * @throws IOException wenn der Upload nicht gelesen werden kann
+     */
+    public ImportReportDTO importQuestions(InputStream in, Long creatorId) throws IOException {
+        Run run = new Run(creatorId);
+
+        // Bestand als Schlüssel (Frage + Kategorie) aus dem Katalog - keine DB-Query pro Eintrag
+        for (Question existing : catalog.findAll()) {
+            run.seen.add(dedupKey(existing.getQuestion(), existing.getCategory()));
+        }
+
+        // readValues: ein Top-Level-Array wird Element für Element gelesen,
+        // sonst werden aufeinanderfolgende Objekte gelesen (ndjson)
+        try (MappingIterator<QuestionImportDTO> items = reader.readValues(in)) {
+            while (true) {
+                QuestionImportDTO item;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    item = items.nextValue();
+                } catch (StreamReadException e) {
+                    // Kein gültiges JSON mehr - ab hier ist der Upload nicht lesbar
+                    run.reject(run.received++, "Ungültiges JSON: " + e.getOriginalMessage());
+                    run.aborted = true;
+                    break;
+                } catch (DatabindException e) {
+                    if (e.getCause() instanceof StreamReadException broken) {
+                        // Syntaxfehler mitten in einem Feld (Jackson verpackt ihn mit dem Pfad)
+                        run.reject(run.received++, "Ungültiges JSON: " + broken.getOriginalMessage());
+                        run.aborted = true;
+                        break;
+                    }
+                    // Eintrag passt nicht zum Format - der Iterator springt zum nächsten
+                    run.reject(run.received++, "Ungültiger Eintrag: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                accept(run, run.received++, item);
+                if (run.pending.size() >= chunkSize) {
+                    flush(run);
+                }
+            }
+        }
+        flush(run);
+
+        System.out.println("📥 Import abgeschlossen: " + run.imported + " importiert, " +
+                run.duplicates + " Duplikate, " + run.failed + " fehlerhaft" +
+                (run.aborted ? " (abgebrochen)" : ""));
+
+        return new ImportReportDTO(run.received, run.imported, run.duplicates, run.failed,
+                run.chunks, run.aborted, run.errors, run.errorsTruncated);
+    }
+
+    private void accept(Run run, int index, QuestionImportDTO item) {
+        Question question;
+        try {
+            question = toQuestion(item);
+        } catch (RuntimeException e) {
+            // IllegalArgumentException, CategoryNotFoundException, DifficultyNotFoundException
+            run.reject(index, e.getMessage());
+            return;
+        }
+
+        String key = dedupKey(question.getQuestion(), question.getCategory());
+        if (!run.seen.add(key)) {
+            run.duplicates++;
+            return;
+        }
+
+        run.pending.add(question);
+        run.pendingKeys.add(key);
+        if (run.pendingFirstIndex < 0) {
+            run.pendingFirstIndex = index;
+        }
+    }
+
+    private void flush(Run run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+
+        int size = run.pending.size();
+        try {
+            writer.writeChunk(run.pending, run.creatorId);
+            run.imported += size;
+            run.chunks++;
+            System.out.println("📥 Import: Chunk " + run.chunks + " gespeichert (" +
+                    run.imported + " Fragen bisher)");
+        } catch (RuntimeException e) {
+            // Chunk wurde zurückgerollt - die Fragen dürfen später im Upload nochmals vorkommen
+            run.seen.removeAll(run.pendingKeys);
+            run.failed += size - 1;   // den ersten Eintrag zählt reject()
+            run.reject(run.pendingFirstIndex,
+                    "Chunk mit " + size + " Fragen ab diesem Eintrag nicht gespeichert: " + e.getMessage());
+            System.err.println("❌ Import: Chunk ab Eintrag " + run.pendingFirstIndex +
+                    " fehlgeschlagen: " + e.getMessage());
+        }
+
+        run.pending = new ArrayList<>(chunkSize);
+        run.pendingKeys.clear();
+        run.pendingFirstIndex = -1;
+    }
+
+    /**
+     * Prüft einen Eintrag und baut die (noch nicht gespeicherte) Frage.
+     * Regeln wie bei QuestionDTO bzw. QuestionService#validateCategory/validateDifficulty.
+     */
+    static Question toQuestion(QuestionImportDTO item) {
+        String text = trimToNull(item.getQuestion());
+        if (text == null) {
+            throw new IllegalArgumentException("Question text is required");
+        }
+        if (text.length() < MIN_QUESTION_LENGTH || text.length() > MAX_QUESTION_LENGTH) {
+            throw new IllegalArgumentException("Frage muss zwischen " + MIN_QUESTION_LENGTH +
+                    " und " + MAX_QUESTION_LENGTH + " Zeichen sein");
+        }
+
+        String correctAnswer = trimToNull(item.getCorrectAnswer());
+        if (correctAnswer == null) {
+            throw new IllegalArgumentException("Correct answer is required");
+        }
+        if (correctAnswer.length() > MAX_ANSWER_LENGTH) {
+            throw new IllegalArgumentException("Korrekte Antwort darf maximal " +
+                    MAX_ANSWER_LENGTH + " Zeichen haben");
+        }
+
+        List<String> incorrectAnswers = new ArrayList<>(INCORRECT_ANSWER_COUNT);
+        for (String answer : item.resolveIncorrectAnswers()) {
+            String trimmed = trimToNull(answer);
+            if (trimmed == null) {
+                throw new IllegalArgumentException("Antworten dürfen nicht leer sein");
+            }
+            if (trimmed.equals(correctAnswer)) {
+                throw new IllegalArgumentException("Die korrekte Antwort ist auch als falsche Antwort angegeben");
+            }
+            incorrectAnswers.add(trimmed);
+        }
+        if (incorrectAnswers.size() != INCORRECT_ANSWER_COUNT) {
+            throw new IllegalArgumentException("Genau " + (INCORRECT_ANSWER_COUNT + 1) +
+                    " Antworten erforderlich (" + INCORRECT_ANSWER_COUNT + " falsche)");
+        }
+
+        QuestionService.validateCategory(item.getCategory());
+        QuestionService.validateDifficulty(item.getDifficulty());
+
+        return new Question(text, correctAnswer, incorrectAnswers,
+                item.getCategory().trim().toLowerCase(),
+                item.getDifficulty().trim().toLowerCase(),
+                null);
+    }
+
+    private static String dedupKey(String question, String category) {
+        return (question == null ? "" : question.trim().toLowerCase()) + '\u0000' +
+                (category == null ? "" : category.trim().toLowerCase());
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    /**
+     * Zustand eines Imports (ein Objekt pro Aufruf, nicht geteilt).
+     */
+    private final class Run {
+        final Long creatorId;
+        final Set<String> seen = new HashSet<>();
+        final Set<String> pendingKeys = new HashSet<>();
+        final List<ImportReportDTO.ImportError> errors = new ArrayList<>();
+        List<Question> pending = new ArrayList<>(chunkSize);
+        int pendingFirstIndex = -1;
+        int received;
+        int imported;
+        int duplicates;
+        int failed;
+        int chunks;
+        boolean aborted;
+        boolean errorsTruncated;
+
+        Run(Long creatorId) {
+            this.creatorId = creatorId;
+        }
+
+        void reject(int index, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportReportDTO.ImportError(index, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.event.QuestionsImportedEvent;
+import com.wiss.quizbackend.mapper.QuestionMapper;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import com.wiss.quizbackend.repository.QuestionRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Speichert einen Chunk importierter Fragen in EINER Transaktion.
+ * <p>
+ * Dank Sequence-IDs (allocationSize 50) und {@code hibernate.jdbc.batch_size} gehen die
+ * INSERTs für Fragen und Antworten als JDBC-Batches raus. Eigene Bean, damit der
+ * QuestionImportService jeden Chunk über den Transaktions-Proxy aufruft: schlägt ein
+ * Chunk fehl, bleiben die vorherigen Chunks gespeichert.
+ * </p>
+ */
+@Component
+public class QuestionImportWriter {
+
+    private final QuestionRepository questionRepository;
+    private final AppUserRepository appUserRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final QuestionChangeLog changeLog;
+
+    public QuestionImportWriter(QuestionRepository questionRepository,
+                                AppUserRepository appUserRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                QuestionChangeLog changeLog) {
+        this.questionRepository = questionRepository;
+        this.appUserRepository = appUserRepository;
+        this.eventPublisher = eventPublisher;
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * @param questions Neue Fragen ohne ID und ohne Ersteller
+     * @param creatorId Der importierende User, wird als Ersteller eingetragen ({@code null} = keiner)
+     */
+    @Transactional
+    public void writeChunk(List<Question> questions, Long creatorId) {
+        if (creatorId != null) {
+            // Nur eine Referenz - kein SELECT pro Frage
+            AppUser creator = appUserRepository.getReferenceById(creatorId);
+            questions.forEach(question -> question.setCreatedBy(creator));
+        }
+
+        // Eine Änderungsnummer für den ganzen Chunk - er wird ja auch zusammen committet
+        long changeSeq = changeLog.allocate();
+        questions.forEach(question -> question.setChangeSeq(changeSeq));
+
+        List<Question> saved = questionRepository.saveAll(questions);
+
+        // Katalog und Suchindex übernehmen den Chunk nach dem Commit in einem Schritt
+        eventPublisher.publishEvent(new QuestionsImportedEvent(saved.stream()
+                .map(QuestionMapper::toSnapshot)
+                .toList(), changeSeq));
+    }
+}
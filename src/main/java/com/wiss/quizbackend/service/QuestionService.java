@@ -1,47 +1,108 @@
 package com.wiss.quizbackend.service;
 
+import com.wiss.quizbackend.dto.CursorPageDTO;
 import com.wiss.quizbackend.dto.QuestionDTO;
 import com.wiss.quizbackend.dto.QuestionFormDTO;
+import com.wiss.quizbackend.entity.AppUser;
 import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.event.QuestionChangedEvent;
 import com.wiss.quizbackend.exception.CategoryNotFoundException;
 import com.wiss.quizbackend.exception.DifficultyNotFoundException;
 import com.wiss.quizbackend.exception.QuestionNotFoundException;
 import com.wiss.quizbackend.mapper.QuestionMapper;
 import com.wiss.quizbackend.repository.QuestionRepository;
+import com.wiss.quizbackend.search.QuestionSearchIndex;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 public class QuestionService {
-    private final QuestionRepository repository;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
 
-    public QuestionService(QuestionRepository repository) {
+    private final QuestionRepository repository;
+    private final QuestionCatalog catalog;
+    private final QuestionSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final QuestionChangeLog changeLog;
+
+    public QuestionService(QuestionRepository repository,
+                           QuestionCatalog catalog,
+                           QuestionSearchIndex searchIndex,
+                           ApplicationEventPublisher eventPublisher,
+                           QuestionChangeLog changeLog) {
         this.repository = repository;
+        this.catalog = catalog;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
+        this.changeLog = changeLog;
     }
 
-    // Neue DTO-basierte Methoden
+    // Neue DTO-basierte Methoden (lesen aus dem In-Memory Katalog, nicht aus der DB)
     public List<QuestionDTO> getAllQuestionsAsDTO() {
-        List<Question> entities = repository.findAll();
+        List<Question> entities = catalog.findAll();
         return QuestionMapper.toDTOList(entities);
     }
 
     public List<QuestionFormDTO> getAllQuestionsAsFormDTO() {
-        List<Question> entities = repository.findAll();
+        List<Question> entities = catalog.findAll();
         return QuestionMapper.toFormDTOList(entities);
     }
 
+    /**
+     * Eine Seite Fragen per Keyset-Pagination (Cursor = ID der letzten Frage der vorherigen Seite).
+     *
+     * @param category Optionaler Kategorie-Filter
+     * @param difficulty Optionaler Schwierigkeits-Filter
+     * @param cursor Nur Fragen mit grösserer ID (null = erste Seite)
+     * @param limit Seitengrösse (null = 100, maximal 500)
+     */
+    public CursorPageDTO<QuestionDTO> getQuestionPageAsDTO(String category, String difficulty,
+                                                           Long cursor, Integer limit) {
+        validateFilter(category, difficulty);
+        return pageAfter(catalog.findByFilter(category, difficulty), cursor, limit, QuestionMapper::toDTO);
+    }
+
+    public CursorPageDTO<QuestionFormDTO> getQuestionPageAsFormDTO(Long cursor, Integer limit) {
+        return pageAfter(catalog.findAll(), cursor, limit, QuestionMapper::toFormDTO);
+    }
+
+    /**
+     * Liest alle (gefilterten) Fragen seitenweise per Keyset direkt aus der Datenbank
+     * und übergibt jede gemappte Seite an {@code pageConsumer}. Es wird nie mehr als
+     * eine Seite im Speicher gehalten (für den ndjson-Stream im Controller).
+     */
+    public void streamQuestionsAsDTO(String category, String difficulty,
+                                     Consumer<List<QuestionDTO>> pageConsumer) {
+        validateFilter(category, difficulty);
+        scroll(category, difficulty, QuestionMapper::toDTO, pageConsumer);
+    }
+
+    public void streamQuestionsAsFormDTO(Consumer<List<QuestionFormDTO>> pageConsumer) {
+        scroll(null, null, QuestionMapper::toFormDTO, pageConsumer);
+    }
+
     public QuestionDTO getQuestionByIdAsDTO(Long id){
         if(id == null) {
             throw new IllegalArgumentException("Question ID cannot be null");
         }
 
-        if (!repository.existsById(id)) {
-            throw new QuestionNotFoundException(id);  // ✅ Exception werfen
-        }
-
+        // getQuestionById wirft QuestionNotFoundException - kein zusätzliches existsById,
+        // damit ein Treffer im Second-Level-Cache ganz ohne SQL auskommt
         Question entity = getQuestionById(id);
         return QuestionMapper.toDTO(entity);
     }
@@ -51,21 +112,21 @@ public class QuestionService {
             throw new IllegalArgumentException("Question ID cannot be null");
         }
 
-        if (!repository.existsById(id)) {
-            throw new QuestionNotFoundException(id);  // ✅ Exception werfen
-        }
-
+        // getQuestionById wirft QuestionNotFoundException - kein zusätzliches existsById,
+        // damit ein Treffer im Second-Level-Cache ganz ohne SQL auskommt
         Question entity = getQuestionById(id);
         return QuestionMapper.toFormDTO(entity);
     }
 
     public List<QuestionDTO> getQuestionsByCategoryAsDTO(String category) {
-        List<Question> entities = getQuestionsByCategory(category);
+        validateCategory(category);
+        List<Question> entities = catalog.findByCategory(category);
         return QuestionMapper.toDTOList(entities);
     }
 
     public List<QuestionDTO> getQuestionsByDifficultyAsDTO(String difficulty){
-        List<Question> entities = getQuestionsByDifficulty(difficulty);
+        validateDifficulty(difficulty);
+        List<Question> entities = catalog.findByDifficulty(difficulty);
         return QuestionMapper.toDTOList(entities);
     }
 
@@ -106,6 +167,7 @@ public class QuestionService {
      * @param questionDTO
      * @return
      */
+    @Transactional
     public QuestionDTO createQuestion(QuestionDTO questionDTO) {
         // Validierung
         if (questionDTO.getQuestion() == null || questionDTO.getQuestion().trim().isEmpty()) {
@@ -117,8 +179,10 @@ public class QuestionService {
 
         // 1. DTO zu Entity konvertieren (ohne ID - ID bleibt null)
         Question entity = QuestionMapper.toEntity(questionDTO);
+        entity.setChangeSeq(changeLog.allocate()); // Änderungsnummer für den Delta-Sync
         // 2. Repository.save() aufrufen (erkennt automatisch CREATE)
         Question newQuestion = repository.save(entity);
+        eventPublisher.publishEvent(QuestionChangedEvent.created(QuestionMapper.toSnapshot(newQuestion)));
         // 3. Gespeicherte Entity zu DTO konvertieren
         QuestionDTO newDTO = QuestionMapper.toDTO(newQuestion); // <- Java gibt dir hier den Hinweis, dass dies gleich als Return zurückgegeben werden kann
         // 4. DTO zurückgeben
@@ -131,8 +195,11 @@ public class QuestionService {
      * @param question The question designed for collecting Question data
      * @return A question Form DTO that can be used in the Question Manager
      */
+    @Transactional
     public QuestionFormDTO createQuestionFromForm(Question question) {
+        question.setChangeSeq(changeLog.allocate());
         Question saved = repository.save(question);
+        eventPublisher.publishEvent(QuestionChangedEvent.created(QuestionMapper.toSnapshot(saved)));
         return QuestionMapper.toFormDTO(saved);
     }
 
@@ -143,6 +210,7 @@ public class QuestionService {
      * @param questionDTO
      * @return
      */
+    @Transactional
     public QuestionDTO updateQuestion(Long id, QuestionDTO questionDTO) {
         // 1. Prüfen ob Frage existiert (repository.existsById())
         if(!repository.existsById(id)){
@@ -151,8 +219,10 @@ public class QuestionService {
         // 2. DTO zu Entity konvertieren UND ID setzen
         Question entity = QuestionMapper.toEntity(questionDTO);
         entity.setId(id); // ← Wichtig: ID setzen für UPDATE-Erkennung
+        entity.setChangeSeq(changeLog.allocate());
         // 3. Repository.save() aufrufen (erkennt automatisch UPDATE)
         Question updatedEntity = repository.save(entity);
+        eventPublisher.publishEvent(QuestionChangedEvent.updated(QuestionMapper.toSnapshot(updatedEntity)));
         // 4. Aktualisierte Entity zu DTO konvertieren
         return QuestionMapper.toDTO(updatedEntity);
     }
@@ -169,8 +239,11 @@ public class QuestionService {
         existing.setCorrectAnswer(incoming.getCorrectAnswer());
         existing.setIncorrectAnswers(incoming.getIncorrectAnswers());
         // If you have more fields in Question (e.g. explanation, imageUrl), copy them too.
+        existing.setChangeSeq(changeLog.allocate());
 
         Question saved = repository.save(existing);
+        // Katalog wird erst nach dem Commit aktualisiert (siehe QuestionCatalog)
+        eventPublisher.publishEvent(QuestionChangedEvent.updated(QuestionMapper.toSnapshot(saved)));
         return QuestionMapper.toFormDTO(saved);
     }
 
@@ -180,6 +253,7 @@ public class QuestionService {
      * @param id
      * @return
      */
+    @Transactional
     public void deleteQuestion(Long id) {
         // 1. Prüfen ob Frage existiert
         if(!repository.existsById(id)){
@@ -188,23 +262,46 @@ public class QuestionService {
         // 2. Repository.deleteById() aufrufen
         // 3. Ergebnis zurückgeben
         repository.deleteById(id);
+        // Tombstone, damit Clients im Delta-Sync von der Löschung erfahren
+        long changeSeq = changeLog.allocate();
+        changeLog.recordDeletion(id, changeSeq);
+        eventPublisher.publishEvent(QuestionChangedEvent.deleted(id, changeSeq));
     }
 
     public List<QuestionDTO> getQuestionsByCategoryAndDifficulty(String category, String difficulty) {
         validateCategory(category);
         validateDifficulty(difficulty);
 
-        List<Question> entities = repository.findByCategoryAndDifficulty(category, difficulty);
+        List<Question> entities = catalog.findByCategoryAndDifficulty(category, difficulty);
         return QuestionMapper.toDTOList(entities);
     }
 
-    public List<QuestionDTO> searchQuestions(String keyword) {
+    /**
+     * Volltext-Suche über Fragetext und Antworten (BM25-Ranking, siehe QuestionSearchIndex).
+     *
+     * @param keyword Der Suchbegriff
+     * @param page Die Seite (0-basiert)
+     * @param size Treffer pro Seite (1-100)
+     * @return Die Treffer der Seite, beste zuerst, inkl. Gesamtanzahl
+     */
+    public Page<QuestionDTO> searchQuestions(String keyword, int page, int size) {
         if (keyword == null || keyword.trim().isEmpty()) {
             throw new IllegalArgumentException("Search keyword cannot be empty");
         }
+        if (page < 0) {
+            throw new IllegalArgumentException("Page cannot be negative");
+        }
+        if (size <= 0 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
 
-        List<Question> entities = repository.findByQuestionContainingIgnoreCase(keyword.trim());
-        return QuestionMapper.toDTOList(entities);
+        QuestionSearchIndex.SearchHits hits = searchIndex.search(keyword.trim(), page * size, size);
+
+        List<Question> entities = new ArrayList<>(hits.getQuestionIds().size());
+        for (Long id : hits.getQuestionIds()) {
+            catalog.findById(id).ifPresent(entities::add);
+        }
+        return new PageImpl<>(QuestionMapper.toDTOList(entities), PageRequest.of(page, size), hits.getTotalHits());
     }
 
     public long getQuestionCountByCategory(String category) {
@@ -217,7 +314,8 @@ public class QuestionService {
             throw new IllegalArgumentException("Limit must be between 1 and 50");
         }
 
-        List<Question> entities = repository.findRandomQuestions(limit);
+        // Ziehen in O(limit) aus dem Katalog statt ORDER BY RANDOM() über die ganze Tabelle
+        List<Question> entities = catalog.findRandom(null, limit);
         return QuestionMapper.toDTOList(entities);
     }
 
@@ -227,11 +325,115 @@ public class QuestionService {
             throw new IllegalArgumentException("Limit must be between 1 and 50");
         }
 
-        List<Question> entities = repository.findRandomByCategory(category, limit);
+        List<Question> entities = catalog.findRandom(category, limit);
         return QuestionMapper.toDTOList(entities);
     }
 
-    private void validateCategory(String category) {
+    private <T> CursorPageDTO<T> pageAfter(List<Question> sortedById, Long cursor, Integer limit,
+                                           Function<Question, T> mapper) {
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // Binäre Suche: erste Frage mit ID > cursor
+        int from = 0;
+        if (cursor != null) {
+            int low = 0;
+            int high = sortedById.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sortedById.get(mid).getId() <= cursor) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            from = low;
+        }
+
+        int to = Math.min(from + size, sortedById.size());
+        List<T> items = sortedById.subList(from, to).stream().map(mapper).toList();
+        Long nextCursor = to < sortedById.size() ? sortedById.get(to - 1).getId() : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    private <T> void scroll(String category, String difficulty,
+                            Function<Question, T> mapper, Consumer<List<T>> pageConsumer) {
+        String categoryFilter = category != null ? category.toLowerCase() : null;
+        String difficultyFilter = difficulty != null ? difficulty.toLowerCase() : null;
+
+        long afterId = 0L;
+        while (true) {
+            List<Object[]> rows = repository.findPageAfter(
+                    afterId, categoryFilter, difficultyFilter, PageRequest.of(0, STREAM_PAGE_SIZE));
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            List<Question> page = toQuestions(rows);
+            pageConsumer.accept(page.stream().map(mapper).toList());
+
+            if (rows.size() < STREAM_PAGE_SIZE) {
+                return;
+            }
+            afterId = page.getLast().getId();
+        }
+    }
+
+    /**
+     * Baut aus der flachen Projektion (siehe QuestionRepository.findPageAfter) wieder
+     * Question-Objekte zusammen. Die Antworten kommen mit einer zweiten Query für die ganze Seite.
+     */
+    private List<Question> toQuestions(List<Object[]> rows) {
+        List<Long> ids = rows.stream().map(row -> (Long) row[0]).toList();
+
+        Map<Long, List<String>> answersById = new HashMap<>();
+        for (Object[] row : repository.findIncorrectAnswersByQuestionIds(ids)) {
+            answersById.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        List<Question> questions = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+
+            AppUser creator = null;
+            if (row[5] != null) {
+                creator = new AppUser();
+                creator.setId((Long) row[5]);
+                creator.setUsername((String) row[6]);
+            }
+
+            questions.add(new Question(
+                    id,
+                    (String) row[1],
+                    (String) row[2],
+                    answersById.getOrDefault(id, List.of()),
+                    (String) row[3],
+                    (String) row[4],
+                    creator
+            ));
+        }
+        return questions;
+    }
+
+    /**
+     * Prüft die optionalen Filter. Der Controller ruft das vor dem Start eines ndjson-Streams
+     * auf, damit ein ungültiger Filter noch als normale JSON-Fehlermeldung zurückgeht.
+     */
+    public static void validateFilter(String category, String difficulty) {
+        if (category != null) {
+            validateCategory(category);
+        }
+        if (difficulty != null) {
+            validateDifficulty(difficulty);
+        }
+    }
+
+    /**
+     * Prüft die Kategorie (auch vom QuestionImportService pro Eintrag verwendet).
+     */
+    static void validateCategory(String category) {
         if (category == null || category.trim().isEmpty()) {
             throw new IllegalArgumentException("Category cannot be null or empty");
         }
@@ -242,7 +444,7 @@ public class QuestionService {
         }
     }
 
-    private void validateDifficulty(String difficulty) {
+    static void validateDifficulty(String difficulty) {
         if (difficulty == null || difficulty.trim().isEmpty()) {
             throw new IllegalArgumentException("Difficulty cannot be null or empty");
         }
@@ -0,0 +1,78 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.dto.QuestionChangesDTO;
+import com.wiss.quizbackend.entity.QuestionTombstone;
+import com.wiss.quizbackend.mapper.QuestionMapper;
+import com.wiss.quizbackend.repository.QuestionRepository;
+import com.wiss.quizbackend.repository.QuestionTombstoneRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Delta-Sync für Clients mit lokalem Fragen-Cache: liefert nur, was sich seit einer
+ * Änderungsnummer ({@code change_seq}, siehe {@link QuestionChangeLog}) geändert hat.
+ * <p>
+ * Eine Seite endet immer an einer Nummern-Grenze: Alle Fragen mit derselben Nummer
+ * (z.B. ein ganzer Import-Chunk) kommen zusammen, auch wenn die Seite dadurch grösser
+ * als {@code limit} wird. So kann {@code nextSince} nie mitten in einer Änderung liegen.
+ * </p>
+ */
+@Service
+public class QuestionSyncService {
+    private static final int DEFAULT_LIMIT = 500;
+    private static final int MAX_LIMIT = 1000;
+
+    private final QuestionRepository questionRepository;
+    private final QuestionTombstoneRepository tombstoneRepository;
+    private final QuestionChangeLog changeLog;
+
+    public QuestionSyncService(QuestionRepository questionRepository,
+                               QuestionTombstoneRepository tombstoneRepository,
+                               QuestionChangeLog changeLog) {
+        this.questionRepository = questionRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * @param since Höchste Änderungsnummer, die der Client schon kennt (0 = noch nichts)
+     * @param limit Ungefähre Anzahl Änderungen pro Seite (null = 500, maximal 1000)
+     * @return Die Änderungen im Bereich (since, nextSince]
+     */
+    @Transactional(readOnly = true)
+    public QuestionChangesDTO getChangesSince(long since, Integer limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since cannot be negative");
+        }
+        int size = limit != null ? limit : DEFAULT_LIMIT;
+        if (size <= 0 || size > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        // Zuerst die Obergrenze: alles darunter ist committet, neuere Änderungen kommen beim nächsten Sync
+        long until = changeLog.safeWatermark();
+
+        if (since < changeLog.getCompactedSeq()) {
+            // Tombstones aus dieser Zeit sind schon weg - der Client muss neu aufbauen
+            return new QuestionChangesDTO(since, until, true, false,
+                    QuestionMapper.toFormDTOList(questionRepository.findChangedBetween(0L, until)),
+                    List.of());
+        }
+        if (until <= since) {
+            return new QuestionChangesDTO(since, since, false, false, List.of(), List.of());
+        }
+
+        // Nummer der limit-ten Änderung = Ende dieser Seite (null = es sind weniger)
+        Long boundary = questionRepository.findChangeSeqAt(since, until, size - 1);
+        long pageUntil = boundary != null ? boundary : until;
+
+        List<Long> deleted = tombstoneRepository.findChangedBetween(since, pageUntil).stream()
+                .map(QuestionTombstone::getQuestionId)
+                .toList();
+        return new QuestionChangesDTO(since, pageUntil, false, pageUntil < until,
+                QuestionMapper.toFormDTOList(questionRepository.findChangedBetween(since, pageUntil)),
+                deleted);
+    }
+}
@@ -0,0 +1,66 @@
+package com.wiss.quizbackend.service;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zieht k verschiedene Elemente zufällig aus einem {@code long[]} Pool.
+ * <p>
+ * Ersetzt {@code ORDER BY RANDOM() LIMIT k}: Statt die ganze Tabelle zu sortieren
+ * (O(n log n)), wird mit dem Algorithmus von Floyd gezogen. Der Aufwand ist O(k)
+ * und unabhängig von der Grösse des Pools. Der Pool selbst wird nicht verändert
+ * und kann deshalb von mehreren Threads gleichzeitig verwendet werden.
+ * </p>
+ *
+ * @see QuestionCatalog#findRandom(String, int)
+ */
+public final class RandomSampler {
+
+    private RandomSampler() {
+    }
+
+    /**
+     * Zieht {@code k} verschiedene Elemente aus dem Pool in zufälliger Reihenfolge.
+     *
+     * @param pool Die Elemente, aus denen gezogen wird (wird nicht verändert)
+     * @param k Die gewünschte Anzahl Elemente
+     * @param random Der Zufallsgenerator (z.B. {@code ThreadLocalRandom.current()})
+     * @return Array mit {@code min(k, pool.length)} verschiedenen Elementen
+     */
+    public static long[] sample(long[] pool, int k, RandomGenerator random) {
+        int n = pool.length;
+        if (k <= 0 || n == 0) {
+            return new long[0];
+        }
+
+        long[] result;
+        if (k >= n) {
+            // Ganzer Pool wird gebraucht - nur noch mischen
+            result = pool.clone();
+        } else {
+            // Floyd: für j = n-k .. n-1 einen Index aus [0, j] ziehen;
+            // ist er schon vergeben, wird j genommen (j ist garantiert noch frei)
+            result = new long[k];
+            Set<Integer> chosen = new HashSet<>(k * 2);
+            int count = 0;
+            for (int j = n - k; j < n; j++) {
+                int index = random.nextInt(j + 1);
+                if (!chosen.add(index)) {
+                    index = j;
+                    chosen.add(j);
+                }
+                result[count++] = pool[index];
+            }
+        }
+
+        // Floyd liefert keine zufällige Reihenfolge, deshalb Fisher-Yates über die k Resultate
+        for (int i = result.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = result[i];
+            result[i] = result[j];
+            result[j] = tmp;
+        }
+        return result;
+    }
+}
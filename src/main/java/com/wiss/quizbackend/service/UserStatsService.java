@@ -0,0 +1,158 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.entity.CategoryStats;
+import com.wiss.quizbackend.entity.UserStats;
+import com.wiss.quizbackend.game.FinishedGame;
+import com.wiss.quizbackend.repository.UserStatsRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Führt die materialisierte {@link UserStats} nach.
+ * <p>
+ * Die record-Methoden laufen in der Transaktion des GameSessionService mit
+ * ({@link Propagation#MANDATORY}): GameSession und Statistik werden gemeinsam
+ * committet oder gemeinsam zurückgerollt.
+ * </p>
+ * <p>
+ * Die Zeile eines Users entsteht beim ersten Game. Zwei gleichzeitige erste Games dürfen
+ * dabei nicht beide ein INSERT versuchen (das zweite scheitert am Primary Key und rollt sein
+ * Game zurück): angelegt wird deshalb mit "einfügen falls nicht vorhanden", gesperrt danach.
+ * </p>
+ */
+@Service
+public class UserStatsService {
+
+    // PostgreSQL: ein paralleles INSERT derselben user_id wartet auf dessen Commit und fügt dann nichts ein
+    private static final String INSERT_IF_ABSENT_POSTGRESQL = """
+        INSERT INTO user_stats (user_id, username, games_played, total_score, best_score)
+        SELECT id, username, 0, 0, 0 FROM app_users WHERE id = ?
+        ON CONFLICT (user_id) DO NOTHING
+        """;
+
+    // H2 (Tests) kennt kein ON CONFLICT
+    private static final String INSERT_IF_ABSENT_H2 = """
+        MERGE INTO user_stats s
+        USING (SELECT id, username FROM app_users WHERE id = ?) u ON s.user_id = u.id
+        WHEN NOT MATCHED THEN INSERT (user_id, username, games_played, total_score, best_score)
+            VALUES (u.id, u.username, 0, 0, 0)
+        """;
+
+    private final UserStatsRepository userStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertIfAbsentSql;
+
+    public UserStatsService(UserStatsRepository userStatsRepository,
+                            JdbcTemplate jdbcTemplate,
+                            EntityManagerFactory entityManagerFactory) {
+        this.userStatsRepository = userStatsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        boolean postgres = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+        this.insertIfAbsentSql = postgres ? INSERT_IF_ABSENT_POSTGRESQL : INSERT_IF_ABSENT_H2;
+    }
+
+    /**
+     * Zählt ein gestartetes Game.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordGameStarted(Long userId, String category) {
+        UserStats stats = lockOrCreate(userId);
+        stats.recordGameStarted(category);
+    }
+
+    /**
+     * Verbucht den Score eines beendeten Games.
+     *
+     * @param scoreDelta Differenz zum bisher gespeicherten Score der GameSession
+     * @param score Der neue Score der GameSession
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordGameFinished(Long userId, String category, long scoreDelta, int score) {
+        UserStats stats = lockOrCreate(userId);
+        stats.recordGameFinished(category, scoreDelta, score);
+    }
+
+    /**
+     * Verbucht mehrere beendete Games desselben Users mit nur einer Zeilen-Sperre
+     * (Write-Behind). Der Score zählt jeweils vollständig, die Games starteten mit Score 0.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordGamesFinished(Long userId, List<FinishedGame> games) {
+        UserStats stats = lockOrCreate(userId);
+        for (FinishedGame game : games) {
+            stats.recordGameFinished(game.getCategory(), game.getScore(), game.getScore());
+        }
+    }
+
+    /**
+     * Lädt die Statistik eines Users mit einem Primary-Key-Read.
+     *
+     * @return Die Statistik, oder leer falls der User noch nie gespielt hat
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserStats> findStats(Long userId) {
+        return userStatsRepository.findById(userId);
+    }
+
+    /**
+     * Berechnet die Statistik eines Users neu aus game_sessions und dem Archiv (Backfill).
+     * <p>
+     * Überschreibt die Werte statt sie zu addieren und hält dabei die Zeilen-Sperre:
+     * Ein mehrfacher Lauf oder parallele Games verfälschen die Werte nicht.
+     * </p>
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        UserStats stats = lockOrCreate(userId);
+        List<Object[]> rows = userStatsRepository.aggregateSessionsByCategory(userId);
+
+        long gamesPlayed = 0;
+        long totalScore = 0;
+        int bestScore = 0;
+        stats.getCategories().clear();
+
+        for (Object[] row : rows) {
+            String category = ((String) row[0]).trim().toLowerCase();
+            long games = ((Number) row[1]).longValue();
+            long score = row[2] != null ? ((Number) row[2]).longValue() : 0L;
+            int best = row[3] != null ? ((Number) row[3]).intValue() : 0;
+
+            // Gleiche Kategorie in anderer Schreibweise zusammenfassen
+            CategoryStats categoryStats = stats.getCategories()
+                    .computeIfAbsent(category, key -> new CategoryStats());
+            categoryStats.setGamesPlayed(categoryStats.getGamesPlayed() + games);
+            categoryStats.setTotalScore(categoryStats.getTotalScore() + score);
+            categoryStats.setBestScore(Math.max(categoryStats.getBestScore(), best));
+
+            gamesPlayed += games;
+            totalScore += score;
+            bestScore = Math.max(bestScore, best);
+        }
+
+        stats.setGamesPlayed(gamesPlayed);
+        stats.setTotalScore(totalScore);
+        stats.setBestScore(bestScore);
+    }
+
+    private UserStats lockOrCreate(Long userId) {
+        Optional<UserStats> existing = userStatsRepository.findByIdForUpdate(userId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        // Erstes Game: anlegen falls (noch) nicht vorhanden, dann wie gewohnt sperren
+        jdbcTemplate.update(insertIfAbsentSql, userId);
+        return userStatsRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User mit ID " + userId + " existiert nicht!"));
+    }
+}
@@ -0,0 +1,183 @@
+package com.wiss.quizbackend.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.quizbackend.dto.LeaderboardDTO;
+import com.wiss.quizbackend.dto.LeaderboardUpdateDTO;
+import com.wiss.quizbackend.event.ScoreChangedEvent;
+import com.wiss.quizbackend.service.LeaderboardService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live-Leaderboard per SSE (GET /api/leaderboard/stream), global oder pro Kategorie.
+ * <p>
+ * Ein {@link ScoreChangedEvent} markiert das globale und das Kategorie-Leaderboard nur als
+ * geändert. Alle {@code leaderboard.push.tick-ms} liest {@link #tick()} die Top N der
+ * markierten Leaderboards EINMAL aus dem LeaderboardEngine und schickt die geänderten Plätze
+ * als einen Frame an deren Abonnenten: 1'000 beendete Games in einem Tick ergeben pro
+ * Client höchstens ein Update. Leaderboards ohne Abonnenten werden gar nicht gelesen.
+ * </p>
+ * <p>
+ * Neue Abonnenten bekommen als Erstes den zuletzt verschickten Stand. Abonnieren und Tick
+ * laufen unter demselben Lock, damit die Updates immer genau auf diesem Stand aufbauen.
+ * </p>
+ */
+@Component
+public class LeaderboardStream {
+
+    // Thema des globalen Leaderboards (Kategorien sind nie "*")
+    private static final String GLOBAL = "*";
+
+    private final SseBroadcaster broadcaster;
+    private final LeaderboardService leaderboardService;
+    private final ObjectMapper objectMapper;
+    private final int size;
+
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<String, List<LeaderboardDTO>> published = new HashMap<>();  // nur unter this
+
+    @Autowired
+    public LeaderboardStream(LeaderboardService leaderboardService,
+                             ObjectMapper objectMapper,
+                             @Value("${leaderboard.push.size:10}") int size,
+                             @Value("${leaderboard.push.buffer-size:64}") int bufferSize,
+                             @Value("${leaderboard.push.timeout-ms:1800000}") long timeoutMillis) {
+        this(new SseBroadcaster("leaderboard", bufferSize, timeoutMillis), leaderboardService, objectMapper, size);
+    }
+
+    LeaderboardStream(SseBroadcaster broadcaster, LeaderboardService leaderboardService,
+                      ObjectMapper objectMapper, int size) {
+        this.broadcaster = broadcaster;
+        this.leaderboardService = leaderboardService;
+        this.objectMapper = objectMapper;
+        this.size = size;
+    }
+
+    /**
+     * @param category Die Kategorie, oder {@code null} für das globale Leaderboard
+     */
+    public synchronized SseEmitter subscribe(String category) {
+        if (category != null && category.trim().isEmpty()) {
+            throw new IllegalArgumentException("Kategorie darf nicht leer sein!");
+        }
+        String topic = topic(category);
+
+        List<LeaderboardDTO> current = published.get(topic);
+        if (current == null) {
+            current = load(topic);
+            published.put(topic, current);
+        }
+        return broadcaster.subscribe(topic, List.of(toSseEvent("snapshot", topic, current.size(), current)));
+    }
+
+    /**
+     * Nur markieren - gelesen und verschickt wird im nächsten Tick. Läuft nach dem
+     * LeaderboardEngine ({@code @Order(0)}), damit der Tick den neuen Stand sieht.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(100)
+    public void onScoreChanged(ScoreChangedEvent event) {
+        dirty.add(GLOBAL);
+        dirty.add(topic(event.getCategory()));
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.push.tick-ms:250}")
+    public synchronized void tick() {
+        Iterator<String> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            String topic = iterator.next();
+            // Vor dem Lesen entfernen: eine Änderung während load() markiert neu für den nächsten Tick
+            iterator.remove();
+
+            if (!broadcaster.hasSubscribers(topic)) {
+                published.remove(topic);  // veraltet - der nächste Abonnent lädt frisch
+                continue;
+            }
+
+            List<LeaderboardDTO> previous = published.getOrDefault(topic, List.of());
+            List<LeaderboardDTO> current;
+            try {
+                current = load(topic);
+            } catch (RuntimeException e) {
+                // Im nächsten Tick nochmals versuchen
+                dirty.add(topic);
+                System.err.println("❌ Live-Leaderboard (" + topic + ") konnte nicht geladen werden: " + e.getMessage());
+                continue;
+            }
+            published.put(topic, current);
+
+            List<LeaderboardDTO> changed = changedPositions(previous, current);
+            if (!changed.isEmpty() || previous.size() != current.size()) {
+                broadcaster.publish(topic, List.of(toSseEvent("update", topic, current.size(), changed)));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.push.heartbeat-ms:15000}")
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.completeAll();
+    }
+
+    /**
+     * Plätze, auf denen jetzt ein anderer User steht oder sich Score bzw. Games geändert haben.
+     */
+    static List<LeaderboardDTO> changedPositions(List<LeaderboardDTO> previous, List<LeaderboardDTO> current) {
+        List<LeaderboardDTO> changed = new ArrayList<>();
+        for (int i = 0; i < current.size(); i++) {
+            LeaderboardDTO now = current.get(i);
+            LeaderboardDTO before = i < previous.size() ? previous.get(i) : null;
+            if (before == null
+                    || !Objects.equals(before.getUserId(), now.getUserId())
+                    || !Objects.equals(before.getTotalScore(), now.getTotalScore())
+                    || !Objects.equals(before.getGamesPlayed(), now.getGamesPlayed())) {
+                changed.add(now);
+            }
+        }
+        return changed;
+    }
+
+    private List<LeaderboardDTO> load(String topic) {
+        return GLOBAL.equals(topic)
+                ? leaderboardService.getTopPlayers(size)
+                : leaderboardService.getTopPlayersByCategory(topic, size);
+    }
+
+    private static String topic(String category) {
+        return category == null ? GLOBAL : category.trim().toLowerCase();
+    }
+
+    // Einmal serialisieren statt einmal pro Abonnent
+    private SseEmitter.SseEventBuilder toSseEvent(String name, String topic, int currentSize,
+                                                  List<LeaderboardDTO> entries) {
+        try {
+            String json = objectMapper.writeValueAsString(new LeaderboardUpdateDTO(
+                    GLOBAL.equals(topic) ? null : topic, currentSize, entries));
+            return SseEmitter.event().name(name).data(json, MediaType.APPLICATION_JSON);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.wiss.quizbackend.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.quizbackend.dto.QuestionChangeEventDTO;
+import com.wiss.quizbackend.dto.QuestionFormDTO;
+import com.wiss.quizbackend.event.QuestionChangedEvent;
+import com.wiss.quizbackend.event.QuestionsImportedEvent;
+import com.wiss.quizbackend.mapper.QuestionMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.UncheckedIOException;
+
+/**
+ * SSE-Feed der Änderungen am Fragen-Katalog (GET /api/questions/stream).
+ * <p>
+ * Die Events kommen erst NACH dem Commit und nach QuestionCatalog, Suchindex und
+ * QuestionCatalogVersion ({@code @Order(200)}): Wer auf ein Event hin nachlädt, bekommt
+ * schon den neuen Stand. Ein Import-Chunk geht als ein Frame mit einem CREATED-Event pro Frage raus.
+ * </p>
+ * <p>
+ * Jedes Event trägt die Änderungsnummer ({@code changeSeq}) als SSE-ID und im JSON. Nummern
+ * können leicht ausser der Reihe ankommen (Commit-Reihenfolge, siehe QuestionChangeLog) - zum
+ * Nachholen daher den {@code nextSince} des letzten Delta-Syncs verwenden, nicht die höchste ID.
+ * </p>
+ * <p>
+ * Wird ein Client wegen vollem Puffer getrennt (siehe {@link SseBroadcaster}), holt er die
+ * verpassten Änderungen nach dem Reconnect über GET /api/questions/changes.
+ * </p>
+ */
+@Component
+public class QuestionChangeStream {
+
+    private final SseBroadcaster broadcaster;
+    private final ObjectMapper objectMapper;
+
+    public QuestionChangeStream(ObjectMapper objectMapper,
+                                @Value("${question-stream.buffer-size:256}") int bufferSize,
+                                @Value("${question-stream.timeout-ms:1800000}") long timeoutMillis) {
+        this.broadcaster = new SseBroadcaster("questions", bufferSize, timeoutMillis);
+        this.objectMapper = objectMapper;
+    }
+
+    public SseEmitter subscribe() {
+        return broadcaster.subscribe();
+    }
+
+    public int getSubscriberCount() {
+        return broadcaster.getSubscriberCount();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(200)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        if (broadcaster.getSubscriberCount() == 0) {
+            return;  // Niemand hört zu - nicht serialisieren
+        }
+        broadcaster.publish(toSseEvent(event.getType(), event.getQuestionId(),
+                event.getQuestion() != null ? QuestionMapper.toFormDTO(event.getQuestion()) : null,
+                event.getChangeSeq()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(200)
+    public void onQuestionsImported(QuestionsImportedEvent event) {
+        if (broadcaster.getSubscriberCount() == 0) {
+            return;
+        }
+        broadcaster.publish(event.getQuestions().stream()
+                .map(question -> toSseEvent(QuestionChangedEvent.Type.CREATED, question.getId(),
+                        QuestionMapper.toFormDTO(question), event.getChangeSeq()))
+                .toList());
+    }
+
+    @Scheduled(fixedDelayString = "${question-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.completeAll();
+    }
+
+    // Einmal serialisieren statt einmal pro Abonnent
+    private SseEmitter.SseEventBuilder toSseEvent(QuestionChangedEvent.Type type, Long questionId,
+                                                  QuestionFormDTO question, long changeSeq) {
+        try {
+            String json = objectMapper.writeValueAsString(
+                    new QuestionChangeEventDTO(type.name(), questionId, question, changeSeq));
+            return SseEmitter.event()
+                    .id(Long.toString(changeSeq))
+                    .name(type.name().toLowerCase())
+                    .data(json, MediaType.APPLICATION_JSON);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.wiss.quizbackend.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verteilt Server-Sent Events an beliebig viele Abonnenten, ohne dass ein langsamer
+ * Client die Absender aufhält.
+ * <p>
+ * Jeder Abonnent hat einen eigenen, begrenzten Puffer ({@code bufferSize} Frames). Der
+ * Absender legt einen Frame nur in die Puffer und kehrt sofort zurück; geschrieben wird
+ * pro Abonnent auf einem eigenen virtuellen Thread. Blockiert ein Client (volle TCP-Puffer,
+ * schlafender Browser-Tab), blockiert nur dessen Thread.
+ * </p>
+ * <p>
+ * Slow-Consumer-Policy: Läuft der Puffer eines Abonnenten über, werden seine ausstehenden
+ * Frames verworfen und die Verbindung geschlossen. Der Client verbindet sich neu und holt
+ * das Verpasste über die normale REST-API nach - lieber sauber neu aufsetzen als
+ * stillschweigend Lücken haben.
+ * </p>
+ * <p>
+ * Optional abonniert ein Client ein Thema (z.B. eine Kategorie); {@link #publish(String, List)}
+ * erreicht dann nur die Abonnenten dieses Themas.
+ * </p>
+ */
+public class SseBroadcaster {
+
+    private final String name;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Executor executor;
+
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+
+    /**
+     * @param name Für Log-Meldungen, z.B. "questions"
+     * @param bufferSize Maximal ausstehende Frames pro Abonnent
+     * @param timeoutMillis Nach dieser Zeit wird die Verbindung geschlossen (der Browser verbindet neu)
+     */
+    public SseBroadcaster(String name, int bufferSize, long timeoutMillis) {
+        this(name, bufferSize, timeoutMillis, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    SseBroadcaster(String name, int bufferSize, long timeoutMillis, Executor executor) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("SSE-Puffer (" + name + ") muss mindestens 1 Frame gross sein!");
+        }
+        this.name = name;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = executor;
+    }
+
+    /**
+     * Neuer Abonnent. Das Ergebnis direkt aus dem Controller zurückgeben.
+     */
+    public SseEmitter subscribe() {
+        return subscribe(null, List.of());
+    }
+
+    /**
+     * Neuer Abonnent eines Themas.
+     *
+     * @param topic Das Thema, oder {@code null} für keines (bekommt nur {@link #publish(List)})
+     * @param initialEvents Events, die nur dieser Abonnent als Erstes bekommt (z.B. der aktuelle Stand)
+     */
+    public SseEmitter subscribe(String topic, List<SseEmitter.SseEventBuilder> initialEvents) {
+        return subscribe(new SseEmitter(timeoutMillis), topic, initialEvents);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        return subscribe(emitter, null, List.of());
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String topic, List<SseEmitter.SseEventBuilder> initialEvents) {
+        Subscriber subscriber = new Subscriber(emitter, topic);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+
+        // Kommentar als erstes Event: Header und Verbindung gehen sofort raus.
+        // Zusammen mit den initialen Events EIN Frame, passt also in jeden Puffer.
+        List<SseEmitter.SseEventBuilder> first = new ArrayList<>();
+        first.add(SseEmitter.event().comment("connected"));
+        first.addAll(initialEvents);
+        subscriber.offer(frame(first));
+        return emitter;
+    }
+
+    /**
+     * Schickt ein Event an alle Abonnenten (unabhängig vom Thema). Blockiert nie.
+     */
+    public void publish(SseEmitter.SseEventBuilder event) {
+        publish(List.of(event));
+    }
+
+    /**
+     * Schickt mehrere Events als EINEN Frame (belegt nur einen Pufferplatz, z.B. ein Import-Chunk).
+     */
+    public void publish(List<SseEmitter.SseEventBuilder> events) {
+        if (events.isEmpty() || subscribers.isEmpty()) {
+            return;
+        }
+        List<Set<ResponseBodyEmitter.DataWithMediaType>> frame = frame(events);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    /**
+     * Schickt Events als einen Frame an die Abonnenten eines Themas. Blockiert nie.
+     */
+    public void publish(String topic, List<SseEmitter.SseEventBuilder> events) {
+        if (events.isEmpty() || !hasSubscribers(topic)) {
+            return;
+        }
+        List<Set<ResponseBodyEmitter.DataWithMediaType>> frame = frame(events);
+        for (Subscriber subscriber : subscribers) {
+            if (Objects.equals(subscriber.topic, topic)) {
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    public boolean hasSubscribers(String topic) {
+        for (Subscriber subscriber : subscribers) {
+            if (Objects.equals(subscriber.topic, topic)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Kommentar-Zeile an alle, damit Proxies die Verbindung offen halten und tote
+     * Verbindungen beim Schreiben auffallen.
+     */
+    public void heartbeat() {
+        publish(SseEmitter.event().comment("ping"));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Anzahl Abonnenten, die wegen vollem Puffer getrennt wurden.
+     */
+    public long getDroppedSubscriberCount() {
+        return droppedSubscribers.get();
+    }
+
+    /**
+     * Schliesst alle Verbindungen (beim Herunterfahren).
+     */
+    public void completeAll() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.overflowed = true;   // Puffer verwerfen, drain() schliesst die Verbindung
+            subscriber.schedule();
+        }
+    }
+
+    // Einmal bauen, für alle Abonnenten verwenden (build() ist nicht wiederholbar)
+    private static List<Set<ResponseBodyEmitter.DataWithMediaType>> frame(List<SseEmitter.SseEventBuilder> events) {
+        return events.stream().map(SseEmitter.SseEventBuilder::build).toList();
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final String topic;
+        private final BlockingQueue<List<Set<ResponseBodyEmitter.DataWithMediaType>>> queue =
+                new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, String topic) {
+            this.emitter = emitter;
+            this.topic = topic;
+        }
+
+        void offer(List<Set<ResponseBodyEmitter.DataWithMediaType>> frame) {
+            if (closed || overflowed) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                overflowed = true;
+                queue.clear();
+                droppedSubscribers.incrementAndGet();
+                System.out.println("⚠️ SSE-Client (" + name + ") zu langsam, Verbindung wird geschlossen");
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Läuft auf dem Thread des Abonnenten - nur hier wird geschrieben oder geschlossen,
+         * damit ein hängendes send() nie einen Absender blockiert.
+         */
+        private void drain() {
+            while (true) {
+                if (closed) {
+                    // Verbindung schon beendet (Timeout, Client weg) - Rest verwerfen
+                    queue.clear();
+                    return;
+                }
+                if (overflowed) {
+                    queue.clear();
+                    close();
+                    emitter.complete();
+                    return;
+                }
+                List<Set<ResponseBodyEmitter.DataWithMediaType>> frame = queue.poll();
+                if (frame == null) {
+                    draining.set(false);
+                    // Inzwischen neu angekommen? Dann selbst weitermachen, sonst hat offer() schon geplant
+                    if ((queue.isEmpty() && !overflowed) || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    for (Set<ResponseBodyEmitter.DataWithMediaType> event : frame) {
+                        emitter.send(event);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client ist weg oder Emitter schon abgeschlossen
+                    close();
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
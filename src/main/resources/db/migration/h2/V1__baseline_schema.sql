@@ -0,0 +1,48 @@
+-- H2-Variante von postgresql/V1__baseline_schema.sql (nur für Tests und Benchmarks).
+-- Änderungen am Schema immer in beiden Verzeichnissen nachführen.
+
+CREATE SEQUENCE app_users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE questions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE game_sessions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE app_users (
+    id       BIGINT       NOT NULL,
+    version  BIGINT,
+    username VARCHAR(50)  NOT NULL,
+    email    VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role     VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_app_users PRIMARY KEY (id),
+    CONSTRAINT uk_app_users_username UNIQUE (username),
+    CONSTRAINT uk_app_users_email UNIQUE (email),
+    CONSTRAINT ck_app_users_role CHECK (role IN ('ADMIN', 'PLAYER'))
+);
+
+CREATE TABLE questions (
+    id                 BIGINT       NOT NULL,
+    question           VARCHAR(128) NOT NULL,
+    correct_answer     VARCHAR(255) NOT NULL,
+    category           VARCHAR(64)  NOT NULL,
+    difficulty         VARCHAR(32)  NOT NULL,
+    version            BIGINT,
+    created_by_user_id BIGINT,
+    CONSTRAINT pk_questions PRIMARY KEY (id),
+    CONSTRAINT fk_questions_created_by FOREIGN KEY (created_by_user_id) REFERENCES app_users (id)
+);
+
+CREATE TABLE question_incorrect_answers (
+    question_id      BIGINT NOT NULL,
+    incorrect_answer VARCHAR(255),
+    CONSTRAINT fk_question_incorrect_answers_question FOREIGN KEY (question_id) REFERENCES questions (id)
+);
+
+CREATE TABLE game_sessions (
+    id              BIGINT       NOT NULL,
+    user_id         BIGINT       NOT NULL,
+    category        VARCHAR(64)  NOT NULL,
+    correct_answers INTEGER      NOT NULL,
+    total_questions INTEGER      NOT NULL,
+    total_score     INTEGER      NOT NULL,
+    played_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_game_sessions PRIMARY KEY (id)
+);
@@ -0,0 +1,20 @@
+-- H2-Variante von postgresql/V2_1__user_stats.sql (nur für Tests und Benchmarks).
+
+CREATE TABLE IF NOT EXISTS user_stats (
+    user_id      BIGINT      NOT NULL,
+    username     VARCHAR(50) NOT NULL,
+    games_played BIGINT      NOT NULL,
+    total_score  BIGINT      NOT NULL,
+    best_score   INTEGER     NOT NULL,
+    CONSTRAINT pk_user_stats PRIMARY KEY (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS user_category_stats (
+    user_id      BIGINT      NOT NULL,
+    category     VARCHAR(64) NOT NULL,
+    games_played BIGINT      NOT NULL,
+    total_score  BIGINT      NOT NULL,
+    best_score   INTEGER     NOT NULL,
+    CONSTRAINT pk_user_category_stats PRIMARY KEY (user_id, category),
+    CONSTRAINT fk_user_category_stats_user FOREIGN KEY (user_id) REFERENCES user_stats (user_id)
+);
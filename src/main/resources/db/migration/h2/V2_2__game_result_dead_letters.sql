@@ -0,0 +1,16 @@
+-- H2-Variante von postgresql/V2_2__game_result_dead_letters.sql (nur für Tests und Benchmarks).
+
+CREATE TABLE IF NOT EXISTS game_result_dead_letters (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    session_id      BIGINT        NOT NULL,
+    user_id         BIGINT        NOT NULL,
+    category        VARCHAR(64)   NOT NULL,
+    correct_answers INTEGER       NOT NULL,
+    score           INTEGER       NOT NULL,
+    played_at       TIMESTAMP(6)  NOT NULL,
+    error           VARCHAR(1000),
+    failed_at       TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_game_result_dead_letters PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_game_result_dead_letters_session ON game_result_dead_letters (session_id);
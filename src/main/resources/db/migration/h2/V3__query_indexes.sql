@@ -0,0 +1,14 @@
+-- H2-Variante von postgresql/V3__query_indexes.sql (nur für Tests und Benchmarks).
+-- H2 kennt weder CONCURRENTLY noch INCLUDE - total_score wird als letzte Index-Spalte angehängt.
+-- V2 (IDENTITY -> Sequences) betrifft nur alte PostgreSQL-Datenbanken und fehlt hier.
+
+CREATE INDEX idx_game_sessions_user_played_at ON game_sessions (user_id, played_at DESC, total_score);
+CREATE INDEX idx_game_sessions_category_user ON game_sessions (category, user_id, total_score);
+CREATE INDEX idx_game_sessions_user_category ON game_sessions (user_id, category, total_score);
+
+CREATE INDEX idx_questions_category_difficulty ON questions (category, difficulty);
+CREATE INDEX idx_questions_difficulty_id ON questions (difficulty, id);
+CREATE INDEX idx_questions_category_question ON questions (category, question);
+
+CREATE INDEX idx_question_incorrect_answers_question ON question_incorrect_answers (question_id);
+CREATE INDEX idx_questions_created_by ON questions (created_by_user_id);
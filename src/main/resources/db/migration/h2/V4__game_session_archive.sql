@@ -0,0 +1,16 @@
+-- H2-Variante von postgresql/V4__partition_game_sessions.sql (nur für Tests und Benchmarks).
+-- H2 kennt keine deklarative Partitionierung: nur die Archivtabelle wird angelegt, damit die
+-- Abfragen über game_sessions + game_session_archive auch in den Tests laufen.
+
+CREATE TABLE game_session_archive (
+    month_start  DATE        NOT NULL,
+    user_id      BIGINT      NOT NULL,
+    category     VARCHAR(64) NOT NULL,
+    games_played BIGINT      NOT NULL,
+    total_score  BIGINT      NOT NULL,
+    best_score   INTEGER     NOT NULL,
+    CONSTRAINT pk_game_session_archive PRIMARY KEY (month_start, user_id, category)
+);
+
+CREATE INDEX idx_game_session_archive_user_category
+    ON game_session_archive (user_id, category, games_played, total_score, best_score);
@@ -0,0 +1,24 @@
+-- Materialisierte Statistik pro User (UserStats, vorher von ddl-auto=update angelegt)
+--
+-- Nicht Teil von V1: Datenbanken aus der Zeit vor user_stats werden auf Version 1 gesetzt
+-- und bekommen die Tabellen erst hier. IF NOT EXISTS für Datenbanken, auf denen
+-- ddl-auto=update sie schon angelegt hat.
+
+CREATE TABLE IF NOT EXISTS user_stats (
+    user_id      BIGINT      NOT NULL,
+    username     VARCHAR(50) NOT NULL,
+    games_played BIGINT      NOT NULL,
+    total_score  BIGINT      NOT NULL,
+    best_score   INTEGER     NOT NULL,
+    CONSTRAINT pk_user_stats PRIMARY KEY (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS user_category_stats (
+    user_id      BIGINT      NOT NULL,
+    category     VARCHAR(64) NOT NULL,
+    games_played BIGINT      NOT NULL,
+    total_score  BIGINT      NOT NULL,
+    best_score   INTEGER     NOT NULL,
+    CONSTRAINT pk_user_category_stats PRIMARY KEY (user_id, category),
+    CONSTRAINT fk_user_category_stats_user FOREIGN KEY (user_id) REFERENCES user_stats (user_id)
+);
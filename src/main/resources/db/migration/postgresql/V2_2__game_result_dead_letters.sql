@@ -0,0 +1,21 @@
+-- Resultate, die der Write-Behind auch nach mehreren Versuchen nicht schreiben konnte
+-- (GameResultDeadLetter, vorher von ddl-auto=update angelegt)
+--
+-- Statt sie zu verwerfen, landen sie hier und können nach Behebung des Fehlers nachgetragen
+-- werden (UPDATE game_sessions + UserStats-Rebuild des Users).
+-- Wie V2_1 nicht Teil von V1, mit IF NOT EXISTS für Datenbanken, die die Tabelle schon haben.
+
+CREATE TABLE IF NOT EXISTS game_result_dead_letters (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    session_id      BIGINT        NOT NULL,
+    user_id         BIGINT        NOT NULL,
+    category        VARCHAR(64)   NOT NULL,
+    correct_answers INTEGER       NOT NULL,
+    score           INTEGER       NOT NULL,
+    played_at       TIMESTAMP(6)  NOT NULL,
+    error           VARCHAR(1000),
+    failed_at       TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_game_result_dead_letters PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_game_result_dead_letters_session ON game_result_dead_letters (session_id);
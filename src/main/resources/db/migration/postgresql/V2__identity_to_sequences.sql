@@ -0,0 +1,25 @@
+-- Umstellung der IDs von IDENTITY auf Sequences (pooled, allocationSize = 50)
+--
+-- Ersetzt das frühere manuelle Skript db/changes/001_identity_to_sequences.sql.
+-- Idempotent: auf neuen Datenbanken (V1) und auf Datenbanken, auf denen das manuelle
+-- Skript schon lief, ändert sich nichts Relevantes.
+--
+-- Der pooled Optimizer verwendet nach nextval() = v die IDs (v - 49) .. v.
+-- setval(max + 50) sorgt dafür, dass der erste Block sicher über allen bestehenden IDs liegt;
+-- GREATEST verhindert, dass eine schon benutzte Sequence zurückgesetzt wird.
+
+CREATE SEQUENCE IF NOT EXISTS questions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS game_sessions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS app_users_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('questions_seq', GREATEST(
+        COALESCE((SELECT MAX(id) FROM questions), 0) + 50, (SELECT last_value FROM questions_seq)));
+SELECT setval('game_sessions_seq', GREATEST(
+        COALESCE((SELECT MAX(id) FROM game_sessions), 0) + 50, (SELECT last_value FROM game_sessions_seq)));
+SELECT setval('app_users_seq', GREATEST(
+        COALESCE((SELECT MAX(id) FROM app_users), 0) + 50, (SELECT last_value FROM app_users_seq)));
+
+-- IDs kommen von Hibernate - die Identity-Defaults werden nicht mehr gebraucht
+ALTER TABLE questions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE game_sessions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE app_users ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,46 @@
+-- Indizes für die Finder in GameSessionRepository, LeaderboardRepository,
+-- UserStatsRepository und QuestionRepository (bisher alles Sequential Scans).
+--
+-- CONCURRENTLY: game_sessions bleibt während dem Aufbau beschreibbar. Flyway erkennt das
+-- und führt dieses Skript ausserhalb einer Transaktion aus - deshalb nur CREATE INDEX hier.
+
+-- game_sessions ---------------------------------------------------------------
+
+-- findByUserId, findByUserIdOrderByPlayedAtDesc (ohne Sort), countGamesByUser;
+-- total_score im Index: sumScoreByUser / averageScoreByUser als Index-Only Scan
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_game_sessions_user_played_at
+    ON game_sessions (user_id, played_at DESC) INCLUDE (total_score);
+
+-- findTop10PlayersByCategory (GROUP BY user_id innerhalb der Kategorie), findByCategory,
+-- countGamesByCategory - alle als Index-Only Scan
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_game_sessions_category_user
+    ON game_sessions (category, user_id) INCLUDE (total_score);
+
+-- findByUserIdAndCategory, UserStatsRepository.aggregateSessionsByCategory (Backfill),
+-- LeaderboardRepository.aggregateScoresByUserAndCategory (Seed des LeaderboardEngine)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_game_sessions_user_category
+    ON game_sessions (user_id, category) INCLUDE (total_score);
+
+-- questions -------------------------------------------------------------------
+
+-- findByCategory, countByCategory, findByCategoryAndDifficulty, countByCategoryAndDifficulty
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_questions_category_difficulty
+    ON questions (category, difficulty);
+
+-- findByDifficulty, countByDifficulty, findByDifficultyOrderByIdDesc (ohne Sort)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_questions_difficulty_id
+    ON questions (difficulty, id);
+
+-- existsByQuestionAndCategory, findByCategoryOrderByQuestionAsc (ohne Sort)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_questions_category_question
+    ON questions (category, question);
+
+-- Fremdschlüssel (PostgreSQL legt dafür keine Indizes an) -----------------------
+
+-- Antworten laden (ElementCollection, findIncorrectAnswersByQuestionIds) und DELETE einer Frage
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_question_incorrect_answers_question
+    ON question_incorrect_answers (question_id);
+
+-- Löschen eines Users prüft die Fragen, die er erstellt hat
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_questions_created_by
+    ON questions (created_by_user_id);
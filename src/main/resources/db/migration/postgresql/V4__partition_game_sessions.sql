@@ -0,0 +1,86 @@
+-- game_sessions monatlich nach played_at partitionieren, plus Archiv für alte Monate
+--
+-- Der GameSessionPartitionJob legt künftige Partitionen an (create_game_sessions_partition)
+-- und fasst Monate ausserhalb der Aufbewahrungsfrist zu Summenzeilen in
+-- game_session_archive zusammen, bevor er die Partition löscht. Lebenslange Summen
+-- (Leaderboard, UserStats-Backfill) kombinieren deshalb immer beide Tabellen.
+
+-- 1. Archiv: eine Zeile pro (Monat, User, Kategorie) ---------------------------
+
+CREATE TABLE game_session_archive (
+    month_start  DATE        NOT NULL,   -- erster Tag des Monats
+    user_id      BIGINT      NOT NULL,
+    category     VARCHAR(64) NOT NULL,
+    games_played BIGINT      NOT NULL,
+    total_score  BIGINT      NOT NULL,
+    best_score   INTEGER     NOT NULL,
+    CONSTRAINT pk_game_session_archive PRIMARY KEY (month_start, user_id, category)
+);
+
+CREATE INDEX idx_game_session_archive_user_category
+    ON game_session_archive (user_id, category) INCLUDE (games_played, total_score, best_score);
+
+-- 2. Partitionierte Tabelle ------------------------------------------------------
+
+-- Der Primary Key muss den Partitionsschlüssel enthalten - er wird nach dem Umkopieren angelegt,
+-- weil die Namen von PK und Indizes der alten Tabelle bis dahin noch belegt sind.
+CREATE TABLE game_sessions_partitioned (
+    id              BIGINT       NOT NULL,
+    user_id         BIGINT       NOT NULL,
+    category        VARCHAR(64)  NOT NULL,
+    correct_answers INTEGER      NOT NULL,
+    total_questions INTEGER      NOT NULL,
+    total_score     INTEGER      NOT NULL,
+    played_at       TIMESTAMP(6) NOT NULL
+) PARTITION BY RANGE (played_at);
+
+-- Auffangbecken für Zeilen ausserhalb aller Monatspartitionen (sollte leer bleiben)
+CREATE TABLE game_sessions_default PARTITION OF game_sessions_partitioned DEFAULT;
+
+-- 3. Monatspartitionen für den Bestand und die nächsten Monate -----------------
+
+CREATE OR REPLACE FUNCTION create_game_sessions_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    from_date      DATE := date_trunc('month', month_start)::date;
+    partition_name TEXT := 'game_sessions_p' || to_char(from_date, 'YYYYMM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF game_sessions FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, from_date, (from_date + INTERVAL '1 month')::date);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    next_month DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(played_at), now()))::date INTO next_month FROM game_sessions;
+    WHILE next_month <= (date_trunc('month', now()) + INTERVAL '3 months')::date LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF game_sessions_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'game_sessions_p' || to_char(next_month, 'YYYYMM'),
+                       next_month, (next_month + INTERVAL '1 month')::date);
+        next_month := (next_month + INTERVAL '1 month')::date;
+    END LOOP;
+END;
+$$;
+
+-- 4. Bestand umkopieren und Tabellen tauschen ------------------------------------
+
+INSERT INTO game_sessions_partitioned (id, user_id, category, correct_answers, total_questions, total_score, played_at)
+SELECT id, user_id, category, correct_answers, total_questions, total_score, played_at
+FROM game_sessions;
+
+DROP TABLE game_sessions;
+ALTER TABLE game_sessions_partitioned RENAME TO game_sessions;
+
+ALTER TABLE game_sessions ADD CONSTRAINT pk_game_sessions PRIMARY KEY (id, played_at);
+
+-- Dieselben Indizes wie in V3, jetzt als partitionierte Indizes (gelten für jede Partition)
+CREATE INDEX idx_game_sessions_user_played_at
+    ON game_sessions (user_id, played_at DESC) INCLUDE (total_score);
+CREATE INDEX idx_game_sessions_category_user
+    ON game_sessions (category, user_id) INCLUDE (total_score);
+CREATE INDEX idx_game_sessions_user_category
+    ON game_sessions (user_id, category) INCLUDE (total_score);
+
+ANALYZE game_sessions;
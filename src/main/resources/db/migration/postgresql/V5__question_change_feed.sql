@@ -0,0 +1,34 @@
+-- Delta-Sync für Clients mit lokalem Fragen-Cache (GET /api/questions/changes?since=)
+--
+-- Jede Änderung an einer Frage bekommt eine Nummer aus question_change_seq (eine pro
+-- Transaktion, siehe QuestionChangeLog). Gelöschte Fragen hinterlassen einen Tombstone mit
+-- ihrer Lösch-Nummer. Alte Tombstones räumt der QuestionTombstoneCompactionJob weg und
+-- merkt sich die höchste entfernte Nummer in question_sync_horizon: Clients, die älter sind,
+-- müssen neu synchronisieren.
+
+-- Bestehende Fragen zählen als Änderung 1
+CREATE SEQUENCE question_change_seq START WITH 2 INCREMENT BY 1;
+
+ALTER TABLE questions ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE questions ALTER COLUMN change_seq DROP DEFAULT;
+
+CREATE INDEX idx_questions_change_seq ON questions (change_seq);
+
+CREATE TABLE question_tombstones (
+    question_id BIGINT       NOT NULL,
+    change_seq  BIGINT       NOT NULL,
+    deleted_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_question_tombstones PRIMARY KEY (question_id)
+);
+
+CREATE INDEX idx_question_tombstones_change_seq ON question_tombstones (change_seq);
+CREATE INDEX idx_question_tombstones_deleted_at ON question_tombstones (deleted_at);
+
+-- Genau eine Zeile: höchste Nummer, deren Tombstones schon entfernt wurden
+CREATE TABLE question_sync_horizon (
+    id            SMALLINT NOT NULL,
+    compacted_seq BIGINT   NOT NULL,
+    CONSTRAINT pk_question_sync_horizon PRIMARY KEY (id)
+);
+
+INSERT INTO question_sync_horizon (id, compacted_seq) VALUES (1, 0);
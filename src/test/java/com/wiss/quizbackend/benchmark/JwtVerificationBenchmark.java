@@ -0,0 +1,81 @@
+package com.wiss.quizbackend.benchmark;
+
+import com.wiss.quizbackend.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Benchmark: JWT-Prüfung pro Request im JwtAuthenticationFilter.
+ * <p>
+ * {@code legacyPerRequest} bildet den bisherigen Ablauf nach: {@code extractUsername}
+ * und {@code validateToken} (nochmals {@code extractUsername} + {@code isTokenExpired}),
+ * also drei Parses mit je neu gebautem Parser und HMAC-Key.
+ * {@code singlePassPerRequest} ist der neue {@link JwtService#verifyToken(String)}
+ * mit vorgebautem Parser und Key.
+ * </p>
+ * Start: {@code main}-Methode aus der IDE, nach {@code mvn test-compile}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "MeinSuperGeheimesSecretDasSehrLangIstUndMindestens256BitHat123456789";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 86400000);
+        token = jwtService.generateToken(1L, "benchuser", "PLAYER");
+    }
+
+    @Benchmark
+    public void legacyPerRequest(Blackhole blackhole) {
+        String username = legacyExtractClaim(token, Claims::getSubject);
+        boolean valid = legacyExtractClaim(token, Claims::getSubject).equals(username)
+                && !legacyExtractClaim(token, Claims::getExpiration).before(new Date());
+        blackhole.consume(username);
+        blackhole.consume(valid);
+    }
+
+    @Benchmark
+    public void singlePassPerRequest(Blackhole blackhole) {
+        Claims claims = jwtService.verifyToken(token).orElseThrow();
+        blackhole.consume(claims.getSubject());
+    }
+
+    // Bisherige Implementierung: Parser und Key bei jedem Aufruf neu
+    private static <T> T legacyExtractClaim(String token, Function<Claims, T> resolver) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        return resolver.apply(claims);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,103 @@
+package com.wiss.quizbackend.benchmark;
+
+import com.wiss.quizbackend.QuizBackendApplication;
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.repository.QuestionRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: 100'000 Fragen über {@code QuestionRepository.saveAll} einfügen.
+ * <p>
+ * {@code batchSize = 1} entspricht dem bisherigen Verhalten mit IDENTITY (ein Roundtrip
+ * pro Insert, Hibernate kann nicht batchen). {@code batchSize = 50} ist die neue
+ * Konfiguration: Sequence mit pooled Optimizer (ein nextval pro 50 IDs) plus JDBC-Batching
+ * für Fragen und Antworten.
+ * </p>
+ * <p>
+ * Startet die Applikation ohne Webserver gegen H2. Für echte Zahlen gegen PostgreSQL:
+ * {@code -Dbench.jdbc.url=jdbc:postgresql://localhost:5434/quiz_bench?reWriteBatchedInserts=true
+ * -Dbench.jdbc.user=... -Dbench.jdbc.password=...} (leere Datenbank verwenden - die Tabellen
+ * werden vor jeder Iteration geleert).
+ * </p>
+ * Start: {@code main}-Methode aus der IDE, nach {@code mvn test-compile}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuestionSaveAllBenchmark {
+
+    private static final int QUESTION_COUNT = 100_000;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private QuestionRepository questionRepository;
+    private JdbcTemplate jdbcTemplate;
+    private List<Question> questions;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(QuizBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + System.getProperty("bench.jdbc.url",
+                                "jdbc:h2:mem:savebench;DB_CLOSE_DELAY=-1"),
+                        "spring.datasource.username=" + System.getProperty("bench.jdbc.user", "sa"),
+                        "spring.datasource.password=" + System.getProperty("bench.jdbc.password", ""),
+                        "spring.datasource.driver-class-name=",
+                        "spring.jpa.hibernate.ddl-auto=validate",   // Schema kommt aus den Flyway-Migrationen
+                        "spring.jpa.show-sql=false",
+                        "game-sessions.partitioning.enabled=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "jwt.secret=benchmarkSecretKeyForBenchmarkPurposesOnly123456789",
+                        "jwt.expiration=3600000")
+                .run();
+        questionRepository = context.getBean(QuestionRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareIteration() {
+        jdbcTemplate.execute("DELETE FROM question_incorrect_answers");
+        jdbcTemplate.execute("DELETE FROM questions");
+
+        questions = new ArrayList<>(QUESTION_COUNT);
+        for (int i = 0; i < QUESTION_COUNT; i++) {
+            questions.add(new Question("Benchmark Frage " + i, "Antwort " + i,
+                    List.of("Falsch A", "Falsch B", "Falsch C"), "sports", "easy", null));
+        }
+    }
+
+    @Benchmark
+    public List<Question> saveAll() {
+        return questionRepository.saveAll(questions);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(QuestionSaveAllBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,118 @@
+package com.wiss.quizbackend.benchmark;
+
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.search.QuestionSearchIndex;
+import com.wiss.quizbackend.service.QuestionCatalog;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: Volltextsuche im {@link QuestionSearchIndex} mit bis zu 1'000'000 Fragen.
+ * <p>
+ * Die Fragen bestehen aus einem Vokabular mit Zipf-ähnlicher Verteilung: wenige Wörter sind
+ * sehr häufig (lange Posting-Listen, tiefer IDF), viele selten. Gemessen werden die typischen
+ * Anfragen der Suchseite: ein häufiges Wort, ein häufiges plus ein seltenes Wort (hier greift
+ * das MaxScore-Pruning am stärksten), eine Type-Ahead-Eingabe mit Präfix und eine tiefe Seite.
+ * Gemessen wird immer inklusive Gesamtanzahl Treffer, so wie die Suchseite sie braucht.
+ * </p>
+ * Läuft ohne Datenbank - der Index wird direkt aus einem vorbereiteten Katalog aufgebaut.
+ * Start: {@code main}-Methode aus der IDE, nach {@code mvn test-compile}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class QuestionSearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"100000", "1000000"})
+    private int questionCount;
+
+    private QuestionSearchIndex searchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<Question> questions = new ArrayList<>(questionCount);
+        for (long id = 1; id <= questionCount; id++) {
+            StringBuilder text = new StringBuilder();
+            int length = 6 + random.nextInt(10);
+            for (int i = 0; i < length; i++) {
+                text.append(word(zipf(random))).append(' ');
+            }
+            questions.add(new Question(id, text.toString(), word(zipf(random)),
+                    List.of(word(zipf(random)), word(zipf(random)), word(zipf(random))),
+                    "geography", "easy", null));
+        }
+
+        QuestionCatalog catalog = new QuestionCatalog(null) {
+            @Override
+            public List<Question> findAll() {
+                return questions;
+            }
+        };
+        searchIndex = new QuestionSearchIndex(catalog);
+        searchIndex.rebuild();
+    }
+
+    /**
+     * Ein sehr häufiges Wort: viele Treffer, eine einzige Posting-Liste
+     */
+    @Benchmark
+    public QuestionSearchIndex.SearchHits frequentTerm() {
+        return searchIndex.search(word(1), 0, PAGE_SIZE);
+    }
+
+    /**
+     * Häufige Wörter plus ein seltenes: die häufigen werden früh nicht-essentiell
+     */
+    @Benchmark
+    public QuestionSearchIndex.SearchHits frequentAndRareTerms() {
+        return searchIndex.search(word(1) + " " + word(2) + " " + word(3) + " " + word(5_000), 0, PAGE_SIZE);
+    }
+
+    /**
+     * Type-Ahead: das letzte Wort wird als Präfix erweitert (bis zu 50 Terme)
+     */
+    @Benchmark
+    public QuestionSearchIndex.SearchHits prefixExpansion() {
+        return searchIndex.search(word(7) + " wort1", 0, PAGE_SIZE);
+    }
+
+    /**
+     * Tiefe Seite: der Heap muss offset + limit Treffer halten, die Schwelle steigt langsamer
+     */
+    @Benchmark
+    public QuestionSearchIndex.SearchHits deepPage() {
+        return searchIndex.search(word(1) + " " + word(2) + " " + word(5_000), 1_000, PAGE_SIZE);
+    }
+
+    // Rang 1 ist das häufigste Wort; "wort" + Rang, damit kein Stoppwort und kein Stemming greift
+    private static String word(int rank) {
+        return "wort" + rank + "x";
+    }
+
+    // Näherung an Zipf (s = 1): P(Rang <= r) ~ log(r) / log(V)
+    private static int zipf(Random random) {
+        return (int) Math.min(VOCABULARY_SIZE, Math.floor(Math.exp(random.nextDouble() * Math.log(VOCABULARY_SIZE))));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(QuestionSearchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
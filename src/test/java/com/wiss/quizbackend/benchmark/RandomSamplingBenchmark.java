@@ -0,0 +1,174 @@
+package com.wiss.quizbackend.benchmark;
+
+import com.wiss.quizbackend.service.RandomSampler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: {@code ORDER BY RANDOM() LIMIT n} gegen {@link RandomSampler}.
+ * <p>
+ * Vergleicht die bisherige Native-Query aus dem QuestionRepository mit dem Ziehen
+ * über einen {@code long[]} ID-Pool - einmal nur die IDs (so wie der QuestionCatalog
+ * es macht) und einmal inkl. Laden genau dieser Zeilen per {@code WHERE id IN (...)}.
+ * </p>
+ * <p>
+ * Läuft standardmässig gegen eine H2 In-Memory DB. Für echte Zahlen gegen PostgreSQL:
+ * {@code -Dbench.jdbc.url=jdbc:postgresql://localhost:5434/quiz_bench
+ * -Dbench.jdbc.user=... -Dbench.jdbc.password=...}
+ * (verwendet eine eigene Tabelle {@code bench_questions}).
+ * </p>
+ * Start: {@code main}-Methode aus der IDE, nach {@code mvn test-compile}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RandomSamplingBenchmark {
+
+    private static final List<String> CATEGORIES =
+            List.of("sports", "games", "movies", "geography", "science", "history");
+    private static final String CATEGORY = "sports";
+    private static final int LIMIT = 10;
+
+    @Param({"10000", "100000", "1000000"})
+    private int questionCount;
+
+    private Connection connection;
+    private PreparedStatement orderByRandom;
+    private PreparedStatement findByIds;
+    private long[] categoryPool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1"),
+                System.getProperty("bench.jdbc.user", "sa"),
+                System.getProperty("bench.jdbc.password", ""));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_questions");
+            statement.execute("""
+                    CREATE TABLE bench_questions (
+                        id BIGINT PRIMARY KEY,
+                        question VARCHAR(128) NOT NULL,
+                        correct_answer VARCHAR(255) NOT NULL,
+                        category VARCHAR(64) NOT NULL,
+                        difficulty VARCHAR(32) NOT NULL
+                    )""");
+        }
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_questions VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= questionCount; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, "Frage " + i);
+                insert.setString(3, "Antwort " + i);
+                insert.setString(4, CATEGORIES.get(i % CATEGORIES.size()));
+                insert.setString(5, i % 3 == 0 ? "hard" : i % 3 == 1 ? "easy" : "medium");
+                insert.addBatch();
+                if (i % 5_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        // ID-Pool der Kategorie einmalig aufbauen (entspricht dem Snapshot im QuestionCatalog)
+        try (PreparedStatement ids = connection.prepareStatement(
+                "SELECT id FROM bench_questions WHERE category = ? ORDER BY id")) {
+            ids.setString(1, CATEGORY);
+            long[] pool = new long[questionCount];
+            int size = 0;
+            try (ResultSet rs = ids.executeQuery()) {
+                while (rs.next()) {
+                    pool[size++] = rs.getLong(1);
+                }
+            }
+            categoryPool = Arrays.copyOf(pool, size);
+        }
+
+        orderByRandom = connection.prepareStatement(
+                "SELECT * FROM bench_questions WHERE category = ? ORDER BY RANDOM() LIMIT ?");
+
+        StringBuilder placeholders = new StringBuilder("?");
+        for (int i = 1; i < LIMIT; i++) {
+            placeholders.append(", ?");
+        }
+        findByIds = connection.prepareStatement(
+                "SELECT * FROM bench_questions WHERE id IN (" + placeholders + ")");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_questions");
+        }
+        connection.close();
+    }
+
+    /**
+     * Bisheriger Weg: QuestionRepository.findRandomByCategory
+     */
+    @Benchmark
+    public void nativeOrderByRandom(Blackhole blackhole) throws SQLException {
+        orderByRandom.setString(1, CATEGORY);
+        orderByRandom.setInt(2, LIMIT);
+        consume(orderByRandom, blackhole);
+    }
+
+    /**
+     * Neuer Weg ohne DB: IDs ziehen, Fragen kommen aus dem QuestionCatalog
+     */
+    @Benchmark
+    public long[] samplerIdsOnly() {
+        return RandomSampler.sample(categoryPool, LIMIT, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Neuer Weg ohne Cache: IDs ziehen und nur genau diese Zeilen laden
+     */
+    @Benchmark
+    public void samplerFetchByIds(Blackhole blackhole) throws SQLException {
+        long[] ids = RandomSampler.sample(categoryPool, LIMIT, ThreadLocalRandom.current());
+        for (int i = 0; i < LIMIT; i++) {
+            findByIds.setLong(i + 1, ids[i]);
+        }
+        consume(findByIds, blackhole);
+    }
+
+    private void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getLong("id"));
+                blackhole.consume(rs.getString("question"));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RandomSamplingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -3,12 +3,19 @@ package com.wiss.quizbackend.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wiss.quizbackend.dto.QuestionDTO;
 import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.event.QuestionChangedEvent;
 import com.wiss.quizbackend.exception.QuestionNotFoundException;
+import com.wiss.quizbackend.service.QuestionCatalogVersion;
+import com.wiss.quizbackend.service.QuestionImportService;
 import com.wiss.quizbackend.service.QuestionService;
+import com.wiss.quizbackend.service.QuestionSyncService;
+import com.wiss.quizbackend.stream.QuestionChangeStream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -17,9 +24,10 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -31,6 +39,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * MockMvc - Simuliert HTTP-Requests
  */
 @WebMvcTest(QuestionController.class)
+@Import(QuestionCatalogVersion.class)
 public class QuestionControllerTest {
 
     @Autowired
@@ -39,9 +48,21 @@ public class QuestionControllerTest {
     @MockBean
     private QuestionService questionService;
 
+    @MockBean
+    private QuestionImportService questionImportService;
+
+    @MockBean
+    private QuestionSyncService questionSyncService;
+
+    @MockBean
+    private QuestionChangeStream questionChangeStream;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private QuestionCatalogVersion catalogVersion;
+
     /**
      * Test 1: GET /api/questions - Alle Fragen abrufen
      */
@@ -196,6 +217,67 @@ public class QuestionControllerTest {
                 .andExpect(status().isNotFound()); // Oder isNotFound(), je nach Exception Handler
     }
 
+    /**
+     * Test 9: GET mit aktuellem ETag - 304 ohne Service-Aufruf, nach einer Änderung wieder 200
+     */
+    @Test
+    public void whenETagMatches_thenNotModifiedUntilCatalogChanges() throws Exception {
+        // Arrange
+        when(questionService.getAllQuestionsAsFormDTO()).thenReturn(List.of());
+        String etag = mockMvc.perform(get("/api/questions/all"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert - unveränderter Katalog
+        mockMvc.perform(get("/api/questions/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(questionService, times(1)).getAllQuestionsAsFormDTO();
+
+        // Act & Assert - nach einer Änderung passt der alte ETag nicht mehr
+        catalogVersion.onQuestionChanged(QuestionChangedEvent.deleted(1L, 2L));
+        mockMvc.perform(get("/api/questions/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+        verify(questionService, times(2)).getAllQuestionsAsFormDTO();
+    }
+
+    /**
+     * Test 10: /count antwortet ebenfalls mit 304, /random wird nie gecacht
+     */
+    @Test
+    public void whenCountRequestedWithETag_thenNotModifiedAndRandomIsNotCached() throws Exception {
+        // Arrange
+        when(questionService.getTotalQuestionsCount()).thenReturn(42L);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/questions/count").header(HttpHeaders.IF_NONE_MATCH, catalogVersion.getETag()))
+                .andExpect(status().isNotModified());
+        verify(questionService, never()).getTotalQuestionsCount();
+
+        mockMvc.perform(get("/api/questions/random").param("category", "sports"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+    }
+
+    /**
+     * Test 11: Ungültiger Filter im ndjson-Stream - JSON-Fehler statt abgebrochenem Stream
+     */
+    @Test
+    public void whenStreamFilterInvalid_thenReturnJsonErrorBeforeStreaming() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/questions/filter")
+                        .param("category", "astrology")
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error", is("INVALID_CATEGORY")));
+        verify(questionService, never()).streamQuestionsAsDTO(any(), any(), any());
+    }
+
     /**
      * Helper-Methode zum Erstellen von Test-Fragen
      */
@@ -0,0 +1,148 @@
+package com.wiss.quizbackend.controller;
+
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import com.wiss.quizbackend.repository.QuestionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Prüft den Second-Level-Cache über die echten Endpoints GET /api/questions/{id} und
+ * GET /api/questions/{id}/edit: Controller, QuestionService, Mapping und Open-Session-in-View
+ * wie in Produktion. Jeder Request hat einen neuen Persistence Context, ein Treffer kann
+ * also nur aus dem Second-Level-Cache kommen.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin", roles = {"ADMIN"})
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private Long questionId;
+    private Long userId;
+
+    @BeforeEach
+    public void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        AppUser creator = appUserRepository.save(
+                new AppUser("cacheuser", "cache@example.com", "secret", Role.ADMIN));
+        Question question = questionRepository.save(new Question(
+                "Wie heisst die Hauptstadt der Schweiz?",
+                "Bern",
+                Arrays.asList("Zürich", "Genf", "Basel"),
+                "geography",
+                "easy",
+                creator
+        ));
+        userId = creator.getId();
+        questionId = question.getId();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        questionRepository.deleteById(questionId);
+        appUserRepository.deleteById(userId);
+    }
+
+    /**
+     * Test 1: Der zweite Request kommt komplett aus dem Cache (Frage, Antworten) - kein SQL
+     */
+    @Test
+    public void whenQuestionRequestedTwice_thenSecondRequestIssuesNoSql() throws Exception {
+        // Arrange - erster Request füllt den Cache
+        mockMvc.perform(get("/api/questions/{id}", questionId))
+                .andExpect(status().isOk());
+        statistics.clear();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/questions/{id}", questionId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.question").value("Wie heisst die Hauptstadt der Schweiz?"))
+                .andExpect(jsonPath("$.answers", hasItems("Bern", "Zürich", "Genf", "Basel")));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(2);
+    }
+
+    /**
+     * Test 2: Auch der Ersteller im Admin-Formular kommt aus dem Cache - kein SQL
+     */
+    @Test
+    public void whenFormRequestedTwice_thenCreatorIsServedFromCache() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/api/questions/{id}/edit", questionId))
+                .andExpect(status().isOk());
+        statistics.clear();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/questions/{id}/edit", questionId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creatorUsername").value("cacheuser"));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(3);
+    }
+
+    /**
+     * Test 3: Eine Änderung über Hibernate aktualisiert den Cache - kein veralteter Text
+     */
+    @Test
+    public void whenQuestionUpdated_thenCacheServesNewValue() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/api/questions/{id}", questionId))
+                .andExpect(status().isOk());
+        transactionTemplate.executeWithoutResult(status -> {
+            Question question = questionRepository.findById(questionId).orElseThrow();
+            question.setQuestion("Welche Stadt ist Bundesstadt der Schweiz?");
+        });
+        statistics.clear();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/questions/{id}", questionId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.question").value("Welche Stadt ist Bundesstadt der Schweiz?"));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
@@ -0,0 +1,111 @@
+package com.wiss.quizbackend.game;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WriteBehindQueueTest {
+
+    @Mock
+    private GameResultWriter writer;
+
+    /**
+     * Test 1: Resultate werden gesammelt geschrieben und beim Stoppen vollständig geleert
+     */
+    @Test
+    public void whenStopped_thenAllResultsAreWrittenInBatches() {
+        // Arrange
+        WriteBehindQueue queue = new WriteBehindQueue(writer, 1000, 50, 10_000, 50, 5, 1000);
+        queue.start();
+
+        // Act
+        for (long i = 1; i <= 120; i++) {
+            queue.submit(finishedGame(i));
+        }
+        queue.stop();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FinishedGame>> batches = ArgumentCaptor.forClass(List.class);
+        verify(writer, atLeastOnce()).writeBatch(batches.capture());
+        assertThat(batches.getAllValues()).allSatisfy(batch -> assertThat(batch.size()).isLessThanOrEqualTo(50));
+        assertThat(batches.getAllValues().stream().mapToInt(List::size).sum()).isEqualTo(120);
+        assertThat(queue.size()).isZero();
+    }
+
+    /**
+     * Test 2: Ohne laufenden Writer (bzw. volle Queue) schreibt der Aufrufer selbst
+     */
+    @Test
+    public void whenNotRunning_thenCallerWritesSynchronously() {
+        // Arrange
+        WriteBehindQueue queue = new WriteBehindQueue(writer, 1, 50, 200, 1, 5, 1000);
+
+        // Act
+        queue.submit(finishedGame(1L));
+
+        // Assert
+        verify(writer, times(1)).writeBatch(anyList());
+        assertThat(queue.size()).isZero();
+    }
+
+    /**
+     * Test 3: Ein vorübergehender Fehler wird mit Backoff wiederholt, das Resultat geht nicht verloren
+     */
+    @Test
+    public void whenWriteFailsOnce_thenResultIsRetried() {
+        // Arrange
+        WriteBehindQueue queue = new WriteBehindQueue(writer, 1000, 50, 1, 50, 5, 1);
+        FinishedGame game = finishedGame(1L);
+        doThrow(new IllegalStateException("Verbindung verloren"))
+                .doNothing()
+                .when(writer).writeBatch(List.of(game));
+        queue.start();
+
+        // Act
+        queue.submit(game);
+
+        // Assert
+        verify(writer, timeout(2000).times(2)).writeBatch(List.of(game));
+        queue.stop();
+        verify(writer, never()).writeDeadLetter(any(), anyString());
+        assertThat(queue.getPendingRetryCount()).isZero();
+    }
+
+    /**
+     * Test 4: Scheitern alle Versuche, landet das Resultat als Dead Letter statt verworfen zu werden
+     */
+    @Test
+    public void whenWriteKeepsFailing_thenResultIsDeadLettered() {
+        // Arrange
+        WriteBehindQueue queue = new WriteBehindQueue(writer, 1000, 50, 1, 50, 3, 1);
+        FinishedGame game = finishedGame(1L);
+        doThrow(new IllegalStateException("Constraint verletzt")).when(writer).writeBatch(List.of(game));
+        queue.start();
+
+        // Act
+        queue.submit(game);
+
+        // Assert
+        verify(writer, timeout(2000)).writeDeadLetter(eq(game), eq("Constraint verletzt"));
+        queue.stop();
+        verify(writer, times(3)).writeBatch(List.of(game));
+        assertThat(queue.getPendingRetryCount()).isZero();
+    }
+
+    private FinishedGame finishedGame(Long sessionId) {
+        return new FinishedGame(sessionId, 7L, "sports", 5, 50, LocalDateTime.of(2025, 11, 3, 20, 15));
+    }
+}
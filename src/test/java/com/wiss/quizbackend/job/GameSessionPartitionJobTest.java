@@ -0,0 +1,72 @@
+package com.wiss.quizbackend.job;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GameSessionPartitionJobTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private GameSessionArchiver archiver;
+
+    /**
+     * Test 1: Partitionen für den aktuellen und die nächsten Monate werden angelegt
+     */
+    @Test
+    public void whenMaintain_thenFuturePartitionsCreated() {
+        // Arrange
+        GameSessionPartitionJob job = new GameSessionPartitionJob(jdbcTemplate, archiver, 2, 12);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of());
+
+        // Act
+        job.maintain(YearMonth.of(2025, 11));
+
+        // Assert
+        verify(jdbcTemplate).queryForObject(anyString(), eq(String.class), eq(Date.valueOf(LocalDate.of(2025, 11, 1))));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(String.class), eq(Date.valueOf(LocalDate.of(2025, 12, 1))));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(String.class), eq(Date.valueOf(LocalDate.of(2026, 1, 1))));
+        verify(archiver, never()).archivePartition(anyString(), any());
+    }
+
+    /**
+     * Test 2: Nur Monate ausserhalb der Aufbewahrungsfrist werden archiviert, die Default-Partition nie
+     */
+    @Test
+    public void whenPartitionsOlderThanRetention_thenOnlyThoseArchived() {
+        // Arrange
+        GameSessionPartitionJob job = new GameSessionPartitionJob(jdbcTemplate, archiver, 1, 3);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "game_sessions_default",
+                "game_sessions_p202506",
+                "game_sessions_p202507",
+                "game_sessions_p202508",
+                "game_sessions_p202511"
+        ));
+
+        // Act - aktueller Monat November: August bis November bleiben live
+        job.maintain(YearMonth.of(2025, 11));
+
+        // Assert
+        verify(archiver).archivePartition("game_sessions_p202506", YearMonth.of(2025, 6));
+        verify(archiver).archivePartition("game_sessions_p202507", YearMonth.of(2025, 7));
+        verify(archiver, never()).archivePartition(eq("game_sessions_p202508"), any());
+        verify(archiver, never()).archivePartition(eq("game_sessions_default"), any());
+        verify(archiver).archiveDefaultPartition(YearMonth.of(2025, 8));
+    }
+}
@@ -0,0 +1,231 @@
+package com.wiss.quizbackend.leaderboard;
+
+import com.wiss.quizbackend.event.ScoreChangedEvent;
+import com.wiss.quizbackend.repository.LeaderboardRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaderboardEngineTest {
+
+    @Mock
+    private LeaderboardRepository leaderboardRepository;
+
+    @Spy
+    private ScoreCommitGate scoreCommitGate = new ScoreCommitGate();
+
+    @InjectMocks
+    private LeaderboardEngine leaderboardEngine;
+
+    /**
+     * Test 1: Seed aus der Aggregation, danach keine weitere DB-Abfrage
+     */
+    @Test
+    public void whenSeeded_thenTopIsServedFromMemory() {
+        // Arrange
+        when(leaderboardRepository.aggregateScoresByUserAndCategory()).thenReturn(List.of(
+                row(1L, "sports", 50, 2),
+                row(1L, "math", 30, 1),
+                row(2L, "sports", 100, 3),
+                row(3L, "math", 10, 1)
+        ));
+
+        // Act
+        List<LeaderboardEntry> global = leaderboardEngine.top(null, 10);
+        List<LeaderboardEntry> sports = leaderboardEngine.top("Sports", 10);
+        Map<String, Long> games = leaderboardEngine.gamesPerCategory();
+
+        // Assert
+        assertThat(global).extracting(LeaderboardEntry::getUserId).containsExactly(2L, 1L, 3L);
+        assertThat(global.get(1).getTotalScore()).isEqualTo(80);
+        assertThat(global.get(1).getGamesPlayed()).isEqualTo(3);
+        assertThat(sports).extracting(LeaderboardEntry::getUserId).containsExactly(2L, 1L);
+        assertThat(leaderboardEngine.top("history", 10)).isEmpty();
+        assertThat(games).containsExactly(Map.entry("sports", 5L), Map.entry("math", 2L));
+
+        verify(leaderboardRepository, times(1)).aggregateScoresByUserAndCategory();
+    }
+
+    /**
+     * Test 2: Score-Events verschieben den User in der Rangliste
+     */
+    @Test
+    public void whenScoreChanged_thenRankingIsUpdated() {
+        // Arrange
+        when(leaderboardRepository.aggregateScoresByUserAndCategory()).thenReturn(List.of(
+                row(1L, "sports", 50, 1),
+                row(2L, "sports", 40, 1)
+        ));
+        leaderboardEngine.warmUp();
+
+        // Act
+        leaderboardEngine.onScoreChanged(ScoreChangedEvent.gameStarted(2L, "sports", LocalDateTime.now()));
+        leaderboardEngine.onScoreChanged(ScoreChangedEvent.gameFinished(2L, "sports", 30, LocalDateTime.now()));
+        leaderboardEngine.onScoreChanged(ScoreChangedEvent.gameStarted(3L, "games", LocalDateTime.now()));
+
+        // Assert
+        List<LeaderboardEntry> global = leaderboardEngine.top(null, 10);
+        assertThat(global).extracting(LeaderboardEntry::getUserId).containsExactly(2L, 1L, 3L);
+        assertThat(global.get(0).getTotalScore()).isEqualTo(70);
+        assertThat(global.get(0).getGamesPlayed()).isEqualTo(2);
+        assertThat(leaderboardEngine.top("games", 10)).extracting(LeaderboardEntry::getUserId)
+                .containsExactly(3L);
+    }
+
+    /**
+     * Test 3: Der ScoreTree liefert Rang und Ausschnitte passend zur sortierten Liste
+     */
+    @Test
+    public void whenManyEntries_thenRankAndRangeMatchSortedOrder() {
+        // Arrange
+        ScoreTree tree = new ScoreTree();
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        for (long userId = 1; userId <= 500; userId++) {
+            LeaderboardEntry entry = new LeaderboardEntry(userId, (userId * 37) % 101, 1);
+            entries.add(entry);
+            tree.insert(entry);
+        }
+        for (int i = 0; i < 100; i++) {
+            tree.remove(entries.remove(entries.size() - 1 - i));
+        }
+        entries.sort(ScoreTree.ORDER);
+
+        // Assert
+        assertThat(tree.size()).isEqualTo(entries.size());
+        assertThat(tree.range(0, entries.size())).containsExactlyElementsOf(entries);
+        assertThat(tree.range(123, 10)).containsExactlyElementsOf(entries.subList(123, 133));
+        for (int i = 0; i < entries.size(); i++) {
+            assertThat(tree.rank(entries.get(i))).isEqualTo(i);
+        }
+    }
+
+    /**
+     * Test 4: Ein Commit, der während des Aufbaus läuft, wird genau einmal gezählt
+     */
+    @Test
+    public void whenScoreCommitsDuringSeed_thenItIsCountedOnce() throws Exception {
+        // Arrange - der Seed sieht den Commit (Score 30 ist schon in der Aggregation)
+        when(leaderboardRepository.aggregateScoresByUserAndCategory()).thenReturn(List.of(
+                row(1L, "sports", 30, 1)
+        ));
+        ScoreChangedEvent event = ScoreChangedEvent.gameFinished(1L, "sports", 30, LocalDateTime.now());
+
+        TransactionSynchronizationManager.initSynchronization();
+        CompletableFuture<Void> seed;
+        try {
+            scoreCommitGate.onScoreCommitting(event);  // BEFORE_COMMIT der Score-Transaktion
+
+            // Act - der Aufbau wartet, bis die Transaktion samt Listenern durch ist
+            seed = CompletableFuture.runAsync(leaderboardEngine::warmUp);
+            Thread.sleep(100);
+            assertThat(seed).isNotDone();
+            verify(leaderboardRepository, never()).aggregateScoresByUserAndCategory();
+
+            leaderboardEngine.onScoreChanged(event);  // AFTER_COMMIT, noch nicht aufgebaut
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        seed.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(leaderboardEngine.top(null, 10).get(0).getTotalScore()).isEqualTo(30);
+    }
+
+    /**
+     * Test 5: Aufbau aus einem Score-Commit heraus würde ewig warten und wird abgelehnt
+     */
+    @Test
+    public void whenSeedingInsideScoreCommit_thenExceptionIsThrown() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scoreCommitGate.onScoreCommitting(ScoreChangedEvent.gameStarted(1L, "sports", LocalDateTime.now()));
+
+            // Act & Assert
+            assertThatThrownBy(() -> leaderboardEngine.top(null, 10))
+                    .isInstanceOf(IllegalStateException.class);
+            verify(leaderboardRepository, never()).aggregateScoresByUserAndCategory();
+        } finally {
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Test 6: Rang und Nachbarn eines Users, am Rand der Rangliste abgeschnitten
+     */
+    @Test
+    public void whenAroundUser_thenRankAndNeighborsAreReturned() {
+        // Arrange
+        when(leaderboardRepository.aggregateScoresByUserAndCategory()).thenReturn(List.of(
+                row(1L, "sports", 10, 1),
+                row(2L, "sports", 40, 1),
+                row(3L, "sports", 30, 1),
+                row(4L, "sports", 20, 1),
+                row(5L, "math", 50, 1)
+        ));
+
+        // Act
+        LeaderboardSlice me = leaderboardEngine.around(null, 3L, 0).orElseThrow();
+        LeaderboardSlice neighbors = leaderboardEngine.around("sports", 2L, 2).orElseThrow();
+
+        // Assert
+        assertThat(me.getFirstRank()).isEqualTo(3);
+        assertThat(me.getEntries()).extracting(LeaderboardEntry::getUserId).containsExactly(3L);
+        assertThat(neighbors.getFirstRank()).isEqualTo(1);
+        assertThat(neighbors.getEntries()).extracting(LeaderboardEntry::getUserId)
+                .containsExactly(2L, 3L, 4L);
+        assertThat(leaderboardEngine.around("math", 2L, 2)).isEmpty();
+    }
+
+    /**
+     * Test 7: Alle Kategorien auf einmal, jeweils auf limit gekürzt
+     */
+    @Test
+    public void whenTopPerCategory_thenEveryCategoryIsRankedAndLimited() {
+        // Arrange
+        when(leaderboardRepository.aggregateScoresByUserAndCategory()).thenReturn(List.of(
+                row(1L, "sports", 50, 1),
+                row(2L, "sports", 90, 2),
+                row(3L, "sports", 70, 1),
+                row(1L, "math", 20, 1),
+                row(4L, "history", 40, 1)
+        ));
+
+        // Act
+        Map<String, List<LeaderboardEntry>> result = leaderboardEngine.topPerCategory(2);
+
+        // Assert
+        assertThat(result.keySet()).containsExactly("history", "math", "sports");
+        assertThat(result.get("sports")).extracting(LeaderboardEntry::getUserId).containsExactly(2L, 3L);
+        assertThat(result.get("math")).extracting(LeaderboardEntry::getUserId).containsExactly(1L);
+        verify(leaderboardRepository, times(1)).aggregateScoresByUserAndCategory();
+    }
+
+    private Object[] row(Long userId, String category, long totalScore, long gamesPlayed) {
+        return new Object[]{userId, category, totalScore, gamesPlayed};
+    }
+}
@@ -0,0 +1,155 @@
+package com.wiss.quizbackend.leaderboard;
+
+import com.wiss.quizbackend.event.ScoreChangedEvent;
+import com.wiss.quizbackend.repository.LeaderboardRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WindowedLeaderboardTest {
+
+    @Mock
+    private LeaderboardRepository leaderboardRepository;
+
+    private final MutableClock clock = new MutableClock(LocalDateTime.of(2025, 11, 10, 12, 30));
+
+    /**
+     * Test 1: Seed aus den Stunden-Summen verteilt die Games auf die richtigen Fenster
+     */
+    @Test
+    public void whenSeeded_thenEachWindowContainsOnlyItsPeriod() {
+        // Arrange
+        when(leaderboardRepository.aggregateScoresByUserCategoryAndHour(any())).thenReturn(List.of(
+                row(1L, "sports", LocalDateTime.of(2025, 11, 10, 11, 0), 2, 50),
+                row(2L, "sports", LocalDateTime.of(2025, 11, 8, 9, 0), 1, 80),
+                row(3L, "math", LocalDateTime.of(2025, 10, 20, 10, 0), 1, 100)
+        ));
+        WindowedLeaderboard leaderboard = new WindowedLeaderboard(leaderboardRepository, new ScoreCommitGate(), clock);
+
+        // Act
+        leaderboard.warmUp();
+
+        // Assert
+        assertThat(userIds(leaderboard.top(LeaderboardWindow.DAY, null, 10))).containsExactly(1L);
+        assertThat(userIds(leaderboard.top(LeaderboardWindow.WEEK, null, 10))).containsExactly(2L, 1L);
+        assertThat(userIds(leaderboard.top(LeaderboardWindow.MONTH, null, 10))).containsExactly(3L, 2L, 1L);
+        assertThat(userIds(leaderboard.top(LeaderboardWindow.WEEK, "Sports", 10))).containsExactly(2L, 1L);
+        assertThat(leaderboard.top(LeaderboardWindow.DAY, "math", 10)).isEmpty();
+
+        // Ältester Bucket des Monatsfensters: heute minus 29 Tage, 00:00
+        verify(leaderboardRepository, times(1))
+                .aggregateScoresByUserCategoryAndHour(Timestamp.valueOf(LocalDateTime.of(2025, 10, 12, 0, 0)));
+    }
+
+    /**
+     * Test 2: Beim Weiterrücken der Zeit fallen alte Buckets aus den Fenstern
+     */
+    @Test
+    public void whenTimeAdvances_thenExpiredBucketsAreSubtracted() {
+        // Arrange
+        when(leaderboardRepository.aggregateScoresByUserCategoryAndHour(any())).thenReturn(List.of());
+        WindowedLeaderboard leaderboard = new WindowedLeaderboard(leaderboardRepository, new ScoreCommitGate(), clock);
+        leaderboard.warmUp();
+
+        LocalDateTime firstGame = LocalDateTime.of(2025, 11, 10, 12, 5);
+        leaderboard.onScoreChanged(ScoreChangedEvent.gameStarted(1L, "sports", firstGame));
+        leaderboard.onScoreChanged(ScoreChangedEvent.gameFinished(1L, "sports", 60, firstGame));
+
+        clock.set(LocalDateTime.of(2025, 11, 10, 13, 15));
+        LocalDateTime secondGame = LocalDateTime.of(2025, 11, 10, 13, 10);
+        leaderboard.onScoreChanged(ScoreChangedEvent.gameStarted(2L, "sports", secondGame));
+        leaderboard.onScoreChanged(ScoreChangedEvent.gameFinished(2L, "sports", 30, secondGame));
+
+        // Act + Assert - nach 24 Stunden ist nur noch das zweite Game im Tagesfenster
+        clock.set(LocalDateTime.of(2025, 11, 11, 12, 30));
+        assertThat(userIds(leaderboard.top(LeaderboardWindow.DAY, null, 10))).containsExactly(2L);
+        assertThat(userIds(leaderboard.top(LeaderboardWindow.WEEK, null, 10))).containsExactly(1L, 2L);
+
+        // Eine Woche später sind beide aus dem Wochenfenster, aber noch im Monat
+        clock.set(LocalDateTime.of(2025, 11, 17, 0, 30));
+        assertThat(leaderboard.top(LeaderboardWindow.DAY, null, 10)).isEmpty();
+        assertThat(leaderboard.top(LeaderboardWindow.WEEK, "sports", 10)).isEmpty();
+        assertThat(userIds(leaderboard.top(LeaderboardWindow.MONTH, null, 10))).containsExactly(1L, 2L);
+
+        // Nach 30 Tagen ist alles weg - ohne erneute Aggregations-Query
+        clock.set(LocalDateTime.of(2025, 12, 10, 8, 0));
+        assertThat(leaderboard.top(LeaderboardWindow.MONTH, null, 10)).isEmpty();
+        verify(leaderboardRepository, times(1)).aggregateScoresByUserCategoryAndHour(any());
+    }
+
+    /**
+     * Test 3: Der Score zählt zum Start des Games - ein spät beendetes Game landet nicht im Tagesfenster
+     */
+    @Test
+    public void whenOldGameFinished_thenScoreCountsInItsOwnBucket() {
+        // Arrange
+        when(leaderboardRepository.aggregateScoresByUserCategoryAndHour(any())).thenReturn(List.of(
+                row(1L, "games", LocalDateTime.of(2025, 11, 8, 20, 0), 1, 0)
+        ));
+        WindowedLeaderboard leaderboard = new WindowedLeaderboard(leaderboardRepository, new ScoreCommitGate(), clock);
+        leaderboard.warmUp();
+
+        // Act
+        leaderboard.onScoreChanged(ScoreChangedEvent.gameFinished(
+                1L, "games", 40, LocalDateTime.of(2025, 11, 8, 20, 45)));
+
+        // Assert
+        assertThat(leaderboard.top(LeaderboardWindow.DAY, null, 10)).isEmpty();
+        List<LeaderboardEntry> week = leaderboard.top(LeaderboardWindow.WEEK, "games", 10);
+        assertThat(week).hasSize(1);
+        assertThat(week.get(0).getTotalScore()).isEqualTo(40);
+        assertThat(week.get(0).getGamesPlayed()).isEqualTo(1);
+    }
+
+    private static Object[] row(Long userId, String category, LocalDateTime hour, long games, long score) {
+        return new Object[]{userId, category, Timestamp.valueOf(hour), games, score};
+    }
+
+    private static List<Long> userIds(List<LeaderboardEntry> entries) {
+        return entries.stream().map(LeaderboardEntry::getUserId).toList();
+    }
+
+    /**
+     * Uhr, die der Test vorstellen kann.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(LocalDateTime time) {
+            set(time);
+        }
+
+        void set(LocalDateTime time) {
+            this.instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.wiss.quizbackend.repository;
 
 import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.mapper.QuestionMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -10,6 +13,7 @@ import org.springframework.test.context.ActiveProfiles;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -173,4 +177,55 @@ public class QuestionRepositoryTest {
         // Assert - Sollte leer sein
         assertThat(found).isEmpty();
     }
-}
\ No newline at end of file
+
+    /**
+     * Test 6: Anzahl Queries für Listen wächst nicht mit der Anzahl Fragen (kein N+1)
+     */
+    @Test
+    public void whenLoadingQuestionLists_thenQueryCountDoesNotGrowWithResultSize() {
+        // Act - gleiche Listen-Methoden mit 2 und mit 20 Fragen ausführen
+        long queriesForFindAllSmall = countQueries(2, () -> questionRepository.findAll());
+        long queriesForFindAllLarge = countQueries(20, () -> questionRepository.findAll());
+
+        long queriesForCategorySmall = countQueries(2, () -> questionRepository.findByCategory("sports"));
+        long queriesForCategoryLarge = countQueries(20, () -> questionRepository.findByCategory("sports"));
+
+        // Assert - konstante Anzahl Round-Trips, unabhängig von der Grösse
+        assertThat(queriesForFindAllLarge).isEqualTo(queriesForFindAllSmall);
+        assertThat(queriesForCategoryLarge).isEqualTo(queriesForCategorySmall);
+        assertThat(queriesForFindAllLarge).isLessThanOrEqualTo(2);
+    }
+
+    /**
+     * Helper-Methode: Speichert {@code size} Fragen, lädt sie über {@code loader},
+     * mappt sie wie der QuestionService auf DTOs und zählt die ausgeführten Queries.
+     */
+    private long countQueries(int size, Supplier<List<Question>> loader) {
+        questionRepository.deleteAll();
+        for (int i = 0; i < size; i++) {
+            entityManager.persist(new Question(
+                    "Frage " + i,
+                    "Antwort " + i,
+                    Arrays.asList("Falsch 1", "Falsch 2", "Falsch 3"),
+                    "sports",
+                    "easy",
+                    null
+            ));
+        }
+        entityManager.flush();
+        entityManager.clear();  // nichts aus dem Persistence Context, alles muss aus der DB kommen
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<Question> loaded = loader.get();
+        QuestionMapper.toDTOList(loaded);
+        QuestionMapper.toFormDTOList(loaded);
+
+        assertThat(loaded).hasSize(size);
+        return statistics.getPrepareStatementCount();
+    }
+}
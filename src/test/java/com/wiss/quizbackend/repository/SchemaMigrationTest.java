@@ -0,0 +1,52 @@
+package com.wiss.quizbackend.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prüft, dass die Tests auf dem von Flyway migrierten Schema laufen
+ * (und Hibernate es mit ddl-auto=validate akzeptiert - sonst startet der Context nicht).
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+public class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test 1: Alle Migrationen wurden erfolgreich ausgeführt
+     */
+    @Test
+    public void whenContextStarts_thenAllMigrationsApplied() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" = TRUE ORDER BY \"installed_rank\"",
+                String.class);
+
+        assertThat(versions).contains("1", "3");
+    }
+
+    /**
+     * Test 2: Die Indizes für die Repository-Finder existieren
+     */
+    @Test
+    public void whenSchemaMigrated_thenQueryIndexesExist() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES", String.class);
+
+        assertThat(indexes).contains(
+                "idx_game_sessions_user_played_at",
+                "idx_game_sessions_category_user",
+                "idx_game_sessions_user_category",
+                "idx_questions_category_difficulty",
+                "idx_question_incorrect_answers_question"
+        );
+    }
+}
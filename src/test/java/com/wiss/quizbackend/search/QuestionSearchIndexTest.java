@@ -0,0 +1,197 @@
+package com.wiss.quizbackend.search;
+
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.event.QuestionChangedEvent;
+import com.wiss.quizbackend.service.QuestionCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class QuestionSearchIndexTest {
+
+    @Mock
+    private QuestionCatalog questionCatalog;
+
+    @InjectMocks
+    private QuestionSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(questionCatalog.findAll()).thenReturn(List.of(
+                createTestQuestion(1L, "Was ist die Hauptstadt der Schweiz?", "Bern", "Zürich", "Basel", "Genf"),
+                createTestQuestion(2L, "Welche Städte liegen am Rhein?", "Basel", "Bern", "Genf", "Lugano"),
+                createTestQuestion(3L, "What is the capital of France?", "Paris", "Lyon", "Nice", "Lille"),
+                createTestQuestion(4L, "Wie hoch ist das Matterhorn?", "4478 m", "3000 m", "5000 m", "4000 m")
+        ));
+    }
+
+    /**
+     * Test 1: Umlaute werden gefaltet (Zürich = Zuerich) und Antworten sind durchsuchbar
+     */
+    @Test
+    public void whenSearchWithFoldedUmlaut_thenFindQuestionByAnswer() {
+        // Act
+        QuestionSearchIndex.SearchHits hits = searchIndex.search("Zuerich", 0, 10);
+
+        // Assert
+        assertThat(hits.getQuestionIds()).containsExactly(1L);
+        assertThat(hits.getTotalHits()).isEqualTo(1);
+    }
+
+    /**
+     * Test 2: Einfache Wortformen (Städte/Stadt, capitals/capital) werden gefunden
+     */
+    @Test
+    public void whenSearchWithInflectedForm_thenFindQuestion() {
+        assertThat(searchIndex.search("Städte", 0, 10).getQuestionIds()).containsExactly(2L);
+        assertThat(searchIndex.search("capitals", 0, 10).getQuestionIds()).containsExactly(3L);
+    }
+
+    /**
+     * Test 3: Das letzte Wort wird auch als Präfix gesucht
+     */
+    @Test
+    public void whenSearchWithPrefix_thenFindQuestion() {
+        assertThat(searchIndex.search("Schwe", 0, 10).getQuestionIds()).containsExactly(1L);
+    }
+
+    /**
+     * Test 4: Mehr passende Terme = höherer BM25-Score, Paging über die Treffer
+     */
+    @Test
+    public void whenSearchMultipleTerms_thenRankByRelevanceAndPage() {
+        // Act - "Basel" kommt in Frage 1 und 2 vor, "Rhein" nur in Frage 2
+        QuestionSearchIndex.SearchHits firstPage = searchIndex.search("Basel Rhein", 0, 1);
+        QuestionSearchIndex.SearchHits secondPage = searchIndex.search("Basel Rhein", 1, 1);
+
+        // Assert
+        assertThat(firstPage.getQuestionIds()).containsExactly(2L);
+        assertThat(secondPage.getQuestionIds()).containsExactly(1L);
+        assertThat(firstPage.getTotalHits()).isEqualTo(2);
+    }
+
+    /**
+     * Test 5: Änderungen werden inkrementell übernommen
+     */
+    @Test
+    public void whenQuestionChanged_thenIndexIsUpdated() {
+        // Arrange - Index aufbauen
+        assertThat(searchIndex.search("Matterhorn", 0, 10).getQuestionIds()).containsExactly(4L);
+
+        // Act
+        searchIndex.onQuestionChanged(QuestionChangedEvent.updated(
+                createTestQuestion(4L, "Wie hoch ist der Mont Blanc?", "4805 m", "3000 m", "5000 m", "4000 m")));
+        searchIndex.onQuestionChanged(QuestionChangedEvent.deleted(1L, 2L));
+
+        // Assert
+        assertThat(searchIndex.search("Matterhorn", 0, 10).getQuestionIds()).isEmpty();
+        assertThat(searchIndex.search("Mont Blanc", 0, 10).getQuestionIds()).containsExactly(4L);
+        assertThat(searchIndex.search("Bern", 0, 10).getQuestionIds()).containsExactly(2L);
+    }
+
+    /**
+     * Test 6: Das Pruning liefert dieselben besten Treffer wie eine vollständige Rangliste
+     */
+    @Test
+    public void whenManyDocuments_thenPrunedTopHitsMatchFullRanking() {
+        // Arrange - 2000 zufällige Fragen aus wenigen Wörtern, damit es viele Treffer gibt
+        String[] vocabulary = {"alpen", "see", "fluss", "berg", "stadt", "kanton", "bruecke", "tunnel", "pass", "tal"};
+        Random random = new Random(42);
+        List<Question> questions = new ArrayList<>();
+        for (long id = 100; id < 2_100; id++) {
+            StringBuilder text = new StringBuilder();
+            int length = 3 + random.nextInt(8);
+            for (int i = 0; i < length; i++) {
+                text.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+            }
+            questions.add(createTestQuestion(id, text.toString(), "ja", "nein"));
+        }
+        when(questionCatalog.findAll()).thenReturn(questions);
+
+        // Act - mit grossem Limit wird der Heap nie voll, also auch nichts übersprungen
+        QuestionSearchIndex.SearchHits all = searchIndex.search("alpen tunnel pass", 0, 5_000);
+        QuestionSearchIndex.SearchHits top = searchIndex.search("alpen tunnel pass", 0, 10);
+        QuestionSearchIndex.SearchHits secondPage = searchIndex.search("alpen tunnel pass", 10, 10);
+
+        // Assert
+        assertThat(top.getQuestionIds()).containsExactlyElementsOf(all.getQuestionIds().subList(0, 10));
+        assertThat(secondPage.getQuestionIds()).containsExactlyElementsOf(all.getQuestionIds().subList(10, 20));
+        assertThat(all.isTotalHitsExact()).isTrue();
+        assertThat(all.getTotalHits()).isEqualTo(all.getQuestionIds().size());
+    }
+
+    /**
+     * Test 7: Über der Schwelle wird nicht mehr exakt gezählt, sondern eine untere Schranke geliefert
+     */
+    @Test
+    public void whenMoreHitsThanThreshold_thenTotalIsLowerBound() {
+        // Arrange - jede zweite Frage enthält "alpen", jede dritte "tunnel"
+        List<Question> questions = new ArrayList<>();
+        for (long id = 100; id < 100 + 3 * QuestionSearchIndex.TOTAL_HITS_THRESHOLD; id++) {
+            String text = (id % 2 == 0 ? "alpen " : "see ") + (id % 3 == 0 ? "tunnel" : "tal");
+            questions.add(createTestQuestion(id, text, "ja", "nein"));
+        }
+        when(questionCatalog.findAll()).thenReturn(questions);
+
+        // Act
+        QuestionSearchIndex.SearchHits many = searchIndex.search("alpen tunnel", 0, 10);
+        QuestionSearchIndex.SearchHits few = searchIndex.search("alpen tunnel", 0, 10_000);
+
+        // Assert - exakt wären es 2/3 aller Fragen
+        assertThat(few.isTotalHitsExact()).isTrue();
+        assertThat(few.getTotalHits()).isEqualTo(2L * QuestionSearchIndex.TOTAL_HITS_THRESHOLD);
+        assertThat(many.isTotalHitsExact()).isFalse();
+        assertThat(many.getTotalHits())
+                .isGreaterThanOrEqualTo(QuestionSearchIndex.TOTAL_HITS_THRESHOLD)
+                .isLessThanOrEqualTo(few.getTotalHits());
+    }
+
+    /**
+     * Test 8: Unter der Schwelle bleibt das Total exakt, auch wenn der Heap voll wird
+     */
+    @Test
+    public void whenFewerHitsThanThreshold_thenTotalIsExact() {
+        // Arrange
+        List<Question> questions = new ArrayList<>();
+        for (long id = 100; id < 160; id++) {
+            String text = (id % 2 == 0 ? "alpen " : "see ") + (id % 3 == 0 ? "tunnel" : "tal");
+            questions.add(createTestQuestion(id, text, "ja", "nein"));
+        }
+        when(questionCatalog.findAll()).thenReturn(questions);
+
+        // Act
+        QuestionSearchIndex.SearchHits hits = searchIndex.search("alpen tunnel", 0, 5);
+
+        // Assert
+        assertThat(hits.getQuestionIds()).hasSize(5);
+        assertThat(hits.isTotalHitsExact()).isTrue();
+        assertThat(hits.getTotalHits()).isEqualTo(40);
+    }
+
+    /**
+     * Helper-Methode zum Erstellen von Test-Fragen
+     */
+    private Question createTestQuestion(Long id, String text, String correctAnswer, String... incorrectAnswers) {
+        return new Question(
+                id,
+                text,
+                correctAnswer,
+                Arrays.asList(incorrectAnswers),
+                "geography",
+                "easy",
+                null
+        );
+    }
+}
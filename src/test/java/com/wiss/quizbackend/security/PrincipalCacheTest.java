@@ -0,0 +1,103 @@
+package com.wiss.quizbackend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrincipalCacheTest {
+
+    /**
+     * Test 1: Zweiter Zugriff kommt aus dem Cache, Invalidierung erzwingt neues Laden
+     */
+    @Test
+    public void whenLoadedTwice_thenSecondIsHitUntilInvalidated() {
+        // Arrange
+        PrincipalCache cache = new PrincipalCache(300, 100);
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, UserDetails> loader = countingLoader(loads);
+
+        // Act
+        cache.get("alice", loader);
+        cache.get("alice", loader);
+        cache.invalidate("alice");
+        cache.get("alice", loader);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.getStats()).containsEntry("hits", 1L).containsEntry("misses", 2L);
+    }
+
+    /**
+     * Test 2: Abgelaufene Einträge werden neu geladen
+     */
+    @Test
+    public void whenTtlExpired_thenPrincipalIsReloaded() {
+        // Arrange
+        PrincipalCache cache = new PrincipalCache(0, 100);
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, UserDetails> loader = countingLoader(loads);
+
+        // Act
+        cache.get("alice", loader);
+        cache.get("alice", loader);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    /**
+     * Test 3: Der Cache wächst nicht über die maximale Grösse
+     */
+    @Test
+    public void whenMoreUsersThanMaxSize_thenCacheStaysBounded() {
+        // Arrange
+        PrincipalCache cache = new PrincipalCache(300, 10);
+        Function<String, UserDetails> loader = countingLoader(new AtomicInteger());
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            cache.get("user" + i, loader);
+        }
+
+        // Assert
+        assertThat((Long) cache.getStats().get("size")).isLessThanOrEqualTo(10L);
+        assertThat((Long) cache.getStats().get("evictions")).isEqualTo(40L);
+    }
+
+    /**
+     * Test 4: Eine Invalidierung während des Ladens verhindert, dass der alte Stand gecacht wird
+     */
+    @Test
+    public void whenInvalidatedWhileLoading_thenStalePrincipalIsNotCached() {
+        // Arrange
+        PrincipalCache cache = new PrincipalCache(300, 100);
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, UserDetails> loader = countingLoader(loads);
+        Function<String, UserDetails> racingLoader = username -> {
+            UserDetails stale = loader.apply(username);
+            cache.invalidate(username);  // Passwortwechsel, nachdem der alte Stand gelesen wurde
+            return stale;
+        };
+
+        // Act
+        cache.get("alice", racingLoader);
+        cache.get("alice", loader);
+        cache.get("alice", loader);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.getStats()).containsEntry("hits", 1L).containsEntry("misses", 2L);
+    }
+
+    private Function<String, UserDetails> countingLoader(AtomicInteger loads) {
+        return username -> {
+            loads.incrementAndGet();
+            return User.withUsername(username).password("hash").roles("PLAYER").build();
+        };
+    }
+}
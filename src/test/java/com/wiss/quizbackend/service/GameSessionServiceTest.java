@@ -0,0 +1,200 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.dto.AnswerResultDTO;
+import com.wiss.quizbackend.dto.GameStartDTO;
+import com.wiss.quizbackend.entity.GameSession;
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.game.ActiveGameStore;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import com.wiss.quizbackend.repository.GameSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GameSessionServiceTest {
+
+    @Mock
+    private GameSessionRepository gameSessionRepository;
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private QuestionCatalog questionCatalog;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ActiveGameStore activeGameStore;
+    private GameSessionService gameSessionService;
+
+    @BeforeEach
+    public void setUp() {
+        activeGameStore = new ActiveGameStore(1800);
+        gameSessionService = new GameSessionService(gameSessionRepository, appUserRepository,
+                userStatsService, questionCatalog, activeGameStore, Optional.empty(), eventPublisher);
+    }
+
+    /**
+     * Test 1: Start liefert das Deck ohne korrekte Antworten, Antworten werden serverseitig gezählt
+     */
+    @Test
+    public void whenGamePlayed_thenOnlyStartAndFinishAreWritten() {
+        // Arrange
+        GameSession session = startSession(List.of(
+                createTestQuestion(11L, "Bern"),
+                createTestQuestion(12L, "Paris")
+        ));
+
+        // Act
+        AnswerResultDTO first = gameSessionService.answerQuestion(1L, 7L, 11L, "bern");
+        AnswerResultDTO second = gameSessionService.answerQuestion(1L, 7L, 12L, "Rom");
+        when(gameSessionRepository.findByIdAndPlayedAt(eq(1L), any())).thenReturn(Optional.of(session));
+        GameSession finished = gameSessionService.finishGame(1L, 7L);
+
+        // Assert
+        assertThat(first.isCorrect()).isTrue();
+        assertThat(second.isCorrect()).isFalse();
+        assertThat(second.getCorrectAnswer()).isEqualTo("Paris");
+        assertThat(second.isComplete()).isTrue();
+        assertThat(finished.getCorrectAnswers()).isEqualTo(1);
+        assertThat(finished.getTotalScore()).isEqualTo(10);
+        assertThat(activeGameStore.size()).isZero();
+        // Start per INSERT, Resultat per UPDATE über (id, played_at)
+        verify(gameSessionRepository, times(1)).save(any(GameSession.class));
+        verify(gameSessionRepository, times(1)).updateResult(eq(1L), any(), eq(1), eq(10));
+    }
+
+    /**
+     * Test 2: Fremde User, doppelte Antworten und doppeltes Beenden werden abgelehnt
+     */
+    @Test
+    public void whenInvalidInteraction_thenThrowsException() {
+        // Arrange
+        GameSession session = startSession(List.of(createTestQuestion(11L, "Bern")));
+        gameSessionService.answerQuestion(1L, 7L, 11L, "Bern");
+        when(gameSessionRepository.findByIdAndPlayedAt(eq(1L), any())).thenReturn(Optional.of(session));
+
+        // Act & Assert
+        assertThatThrownBy(() -> gameSessionService.answerQuestion(1L, 8L, 11L, "Bern"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> gameSessionService.answerQuestion(1L, 7L, 11L, "Bern"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> gameSessionService.answerQuestion(1L, 7L, 99L, "Bern"))
+                .isInstanceOf(IllegalArgumentException.class);
+        gameSessionService.finishGame(1L, 7L);
+        assertThatThrownBy(() -> gameSessionService.finishGame(1L, 7L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Test 3: Schlägt der Commit fehl, bleibt das Game aktiv und kann nochmals beendet werden
+     */
+    @Test
+    public void whenFinishRolledBack_thenGameStaysActiveForRetry() {
+        // Arrange
+        GameSession session = startSession(List.of(createTestQuestion(11L, "Bern")));
+        gameSessionService.answerQuestion(1L, 7L, 11L, "Bern");
+        when(gameSessionRepository.findByIdAndPlayedAt(eq(1L), any())).thenReturn(Optional.of(session));
+
+        // Act - Beenden in einer (simulierten) Transaktion, die danach zurückgerollt wird
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            gameSessionService.finishGame(1L, 7L);
+
+            // Während der Transaktion: noch im Speicher, aber kein zweites Beenden
+            assertThat(activeGameStore.size()).isEqualTo(1);
+            assertThatThrownBy(() -> gameSessionService.finishGame(1L, 7L))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert - Retry ohne Transaktion klappt und entfernt das Game
+        GameSession finished = gameSessionService.finishGame(1L, 7L);
+        assertThat(finished.getTotalScore()).isEqualTo(10);
+        assertThat(activeGameStore.size()).isZero();
+    }
+
+    /**
+     * Test 4: Schlägt der Commit beim Start fehl, wird kein Game registriert
+     */
+    @Test
+    public void whenStartRolledBack_thenNoGameIsRegistered() {
+        // Arrange
+        when(appUserRepository.existsById(7L)).thenReturn(true);
+        when(questionCatalog.findRandom("geography", 10)).thenReturn(List.of(createTestQuestion(11L, "Bern")));
+        when(gameSessionRepository.save(any(GameSession.class))).thenAnswer(invocation -> {
+            GameSession saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        // Act - Start in einer (simulierten) Transaktion, deren Commit scheitert
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            gameSessionService.startGame(7L, "geography", 10);
+
+            // Vor dem Commit: noch nicht spielbar
+            assertThat(activeGameStore.size()).isZero();
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert - keine Antworten für eine Session, die es nicht gibt
+        assertThat(activeGameStore.size()).isZero();
+        assertThatThrownBy(() -> gameSessionService.answerQuestion(1L, 7L, 11L, "Bern"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private GameSession startSession(List<Question> deck) {
+        when(appUserRepository.existsById(7L)).thenReturn(true);
+        when(questionCatalog.findRandom("geography", 10)).thenReturn(deck);
+        when(gameSessionRepository.save(any(GameSession.class))).thenAnswer(invocation -> {
+            GameSession saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        GameStartDTO started = gameSessionService.startGame(7L, "geography", 10);
+
+        assertThat(started.getTotalQuestions()).isEqualTo(deck.size());
+        assertThat(started.getQuestions()).hasSize(deck.size());
+        assertThat(started.getQuestions().get(0).getAnswers()).contains(deck.get(0).getCorrectAnswer());
+
+        GameSession session = new GameSession(7L, "geography", 0, deck.size(), 0);
+        session.setId(1L);
+        return session;
+    }
+
+    private Question createTestQuestion(Long id, String correctAnswer) {
+        return new Question(id, "Frage " + id, correctAnswer, List.of("A", "B", "C"),
+                "geography", "easy", null);
+    }
+}
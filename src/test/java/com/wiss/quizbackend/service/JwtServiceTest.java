@@ -0,0 +1,52 @@
+package com.wiss.quizbackend.service;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JwtServiceTest {
+
+    private static final String SECRET = "testSecretKeyForTestingPurposesOnly123456789";
+
+    private final JwtService jwtService = new JwtService(SECRET, 3600000);
+
+    /**
+     * Test 1: Gültiger Token liefert die verifizierten Claims in einem Durchgang
+     */
+    @Test
+    public void whenTokenValid_thenClaimsAreReturned() {
+        // Arrange
+        String token = jwtService.generateToken(1L, "alice", "PLAYER");
+
+        // Act
+        Optional<Claims> claims = jwtService.verifyToken(token);
+
+        // Assert
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo("alice");
+        assertThat(claims.get().get("role", String.class)).isEqualTo("PLAYER");
+        assertThat(claims.get().get(JwtService.USER_ID_CLAIM, Long.class)).isEqualTo(1L);
+        assertThat(jwtService.validateToken(token, "alice")).isTrue();
+    }
+
+    /**
+     * Test 2: Manipulierter, fremd signierter oder abgelaufener Token wird abgelehnt
+     */
+    @Test
+    public void whenTokenInvalidOrExpired_thenEmpty() {
+        // Arrange
+        String token = jwtService.generateToken(1L, "alice", "PLAYER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        String foreign = new JwtService(SECRET + "-other", 3600000).generateToken(1L, "alice", "ADMIN");
+        String expired = new JwtService(SECRET, -1000).generateToken(1L, "alice", "PLAYER");
+
+        // Act & Assert
+        assertThat(jwtService.verifyToken(tampered)).isEmpty();
+        assertThat(jwtService.verifyToken(foreign)).isEmpty();
+        assertThat(jwtService.verifyToken(expired)).isEmpty();
+        assertThat(jwtService.verifyToken("kein-jwt")).isEmpty();
+    }
+}
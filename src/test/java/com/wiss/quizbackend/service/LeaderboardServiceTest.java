@@ -0,0 +1,199 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.dto.LeaderboardDTO;
+import com.wiss.quizbackend.entity.UserStats;
+import com.wiss.quizbackend.leaderboard.LeaderboardEngine;
+import com.wiss.quizbackend.leaderboard.LeaderboardEntry;
+import com.wiss.quizbackend.leaderboard.LeaderboardSlice;
+import com.wiss.quizbackend.leaderboard.LeaderboardWindow;
+import com.wiss.quizbackend.leaderboard.WindowedLeaderboard;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import com.wiss.quizbackend.repository.LeaderboardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaderboardServiceTest {
+
+    @Mock
+    private LeaderboardRepository leaderboardRepository;
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    @Mock
+    private LeaderboardEngine leaderboardEngine;
+
+    @Mock
+    private WindowedLeaderboard windowedLeaderboard;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    public void setUp() {
+        leaderboardService = new LeaderboardService(
+                leaderboardRepository, appUserRepository, leaderboardEngine, windowedLeaderboard, userStatsService,
+                10, 100);
+    }
+
+    /**
+     * Test 1: Usernames werden für die ganze Seite mit einer Query geladen (kein N+1)
+     */
+    @Test
+    public void whenTopPlayersLoaded_thenUsernamesAreFetchedInOneQuery() {
+        // Arrange
+        when(leaderboardEngine.top(null, 50)).thenReturn(List.of(
+                new LeaderboardEntry(2L, 300, 3),
+                new LeaderboardEntry(1L, 200, 2),
+                new LeaderboardEntry(3L, 100, 1)
+        ));
+        when(appUserRepository.findUsernamesByIds(any())).thenReturn(List.of(
+                new Object[]{1L, "alice"},
+                new Object[]{2L, "bob"}
+        ));
+
+        // Act
+        List<LeaderboardDTO> result = leaderboardService.getTopPlayers(50);
+
+        // Assert
+        assertThat(result).extracting(LeaderboardDTO::getUsername)
+                .containsExactly("bob", "alice", "Unknown User");
+        verify(appUserRepository, times(1)).findUsernamesByIds(any());
+        verify(appUserRepository, never()).findById(anyLong());
+    }
+
+    /**
+     * Test 2: Ohne limit gilt die Standard-Seitengrösse, zu grosse Seiten werden abgelehnt
+     */
+    @Test
+    public void whenLimitMissingOrTooLarge_thenDefaultOrException() {
+        // Arrange
+        when(leaderboardEngine.top("sports", 10)).thenReturn(List.of());
+
+        // Act
+        List<LeaderboardDTO> result = leaderboardService.getTop10PlayersByCategory("sports");
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(appUserRepository, never()).findUsernamesByIds(any());
+        assertThatThrownBy(() -> leaderboardService.getTopPlayers(101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Test 3: Nachbarn kommen mit fortlaufenden Rängen ab dem ersten Platz des Ausschnitts
+     */
+    @Test
+    public void whenNeighborsLoaded_thenRanksAreContinuous() {
+        // Arrange
+        when(leaderboardEngine.around(null, 7L, 1)).thenReturn(Optional.of(new LeaderboardSlice(41, List.of(
+                new LeaderboardEntry(5L, 300, 3),
+                new LeaderboardEntry(7L, 250, 2),
+                new LeaderboardEntry(9L, 200, 2)
+        ))));
+        when(appUserRepository.findUsernamesByIds(any())).thenReturn(List.of());
+
+        // Act
+        List<LeaderboardDTO> result = leaderboardService.getUserNeighbors(7L, null, 1);
+
+        // Assert
+        assertThat(result).extracting(LeaderboardDTO::getRank).containsExactly(41, 42, 43);
+        assertThatThrownBy(() -> leaderboardService.getUserNeighbors(7L, null, 26))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Test 4: User-Statistik kommt aus user_stats, ohne Aggregationen über game_sessions
+     */
+    @Test
+    public void whenUserStatsLoaded_thenMaterializedStatsAreUsed() {
+        // Arrange
+        UserStats userStats = new UserStats(1L, "alice");
+        userStats.recordGameStarted("sports");
+        userStats.recordGameFinished("sports", 80, 80);
+        userStats.recordGameStarted("math");
+        userStats.recordGameFinished("math", 40, 40);
+        when(userStatsService.findStats(1L)).thenReturn(Optional.of(userStats));
+
+        // Act
+        Map<String, Object> result = leaderboardService.getUserStats(1L);
+
+        // Assert
+        assertThat(result).containsEntry("username", "alice")
+                .containsEntry("gamesPlayed", 2L)
+                .containsEntry("totalScore", 120L)
+                .containsEntry("averageScore", 60.0)
+                .containsEntry("bestScore", 80);
+        assertThat((Map<?, ?>) result.get("categories")).containsOnlyKeys("math", "sports");
+        verifyNoInteractions(leaderboardRepository, appUserRepository);
+    }
+
+    /**
+     * Test 5: Zeitfenster wird geparst, unbekannte Fenster werden abgelehnt
+     */
+    @Test
+    public void whenWindowRequested_thenWindowedLeaderboardIsUsed() {
+        // Arrange
+        when(windowedLeaderboard.top(LeaderboardWindow.WEEK, "sports", 10)).thenReturn(List.of(
+                new LeaderboardEntry(1L, 90, 2)
+        ));
+        when(appUserRepository.findUsernamesByIds(any())).thenReturn(List.<Object[]>of(
+                new Object[]{1L, "alice"}
+        ));
+
+        // Act
+        List<LeaderboardDTO> result = leaderboardService.getTopPlayersInWindow("Week", "sports", null);
+
+        // Assert
+        assertThat(result).extracting(LeaderboardDTO::getUsername).containsExactly("alice");
+        assertThat(result.get(0).getRank()).isEqualTo(1);
+        assertThatThrownBy(() -> leaderboardService.getTopPlayersInWindow("year", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(leaderboardEngine);
+    }
+
+    /**
+     * Test 6: Alle Kategorien in einer Antwort, Usernames mit einer einzigen Query
+     */
+    @Test
+    public void whenTopPerCategoryLoaded_thenUsernamesAreFetchedOnce() {
+        // Arrange
+        Map<String, List<LeaderboardEntry>> perCategory = new LinkedHashMap<>();
+        perCategory.put("math", List.of(new LeaderboardEntry(1L, 40, 1)));
+        perCategory.put("sports", List.of(new LeaderboardEntry(2L, 90, 2), new LeaderboardEntry(1L, 30, 1)));
+        when(leaderboardEngine.topPerCategory(10)).thenReturn(perCategory);
+        when(appUserRepository.findUsernamesByIds(any())).thenReturn(List.of(
+                new Object[]{1L, "alice"},
+                new Object[]{2L, "bob"}
+        ));
+
+        // Act
+        Map<String, List<LeaderboardDTO>> result = leaderboardService.getTopPlayersPerCategory(null);
+
+        // Assert
+        assertThat(result).containsOnlyKeys("math", "sports");
+        assertThat(result.get("sports")).extracting(LeaderboardDTO::getUsername).containsExactly("bob", "alice");
+        assertThat(result.get("sports")).extracting(LeaderboardDTO::getRank).containsExactly(1, 2);
+        assertThat(result.get("math").get(0).getCategory()).isEqualTo("math");
+        verify(appUserRepository, times(1)).findUsernamesByIds(any());
+        verify(leaderboardEngine, never()).top(any(), anyInt());
+    }
+}
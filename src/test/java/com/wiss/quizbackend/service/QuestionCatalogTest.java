@@ -0,0 +1,105 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.event.QuestionChangedEvent;
+import com.wiss.quizbackend.repository.QuestionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class QuestionCatalogTest {
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @InjectMocks
+    private QuestionCatalog questionCatalog;
+
+    /**
+     * Test 1: Indizes werden beim ersten Zugriff einmalig aus der DB aufgebaut
+     */
+    @Test
+    public void whenReadTwice_thenDatabaseIsQueriedOnce() {
+        // Arrange
+        when(questionRepository.findAllForCatalog()).thenReturn(List.of(
+                createTestQuestion(1L, "sports", "easy"),
+                createTestQuestion(2L, "sports", "hard"),
+                createTestQuestion(3L, "history", "easy")
+        ));
+
+        // Act
+        List<Question> sports = questionCatalog.findByCategory("sports");
+        List<Question> easy = questionCatalog.findByDifficulty("EASY");
+        List<Question> sportsEasy = questionCatalog.findByCategoryAndDifficulty("sports", "easy");
+
+        // Assert
+        assertThat(sports).extracting(Question::getId).containsExactly(1L, 2L);
+        assertThat(easy).extracting(Question::getId).containsExactly(1L, 3L);
+        assertThat(sportsEasy).extracting(Question::getId).containsExactly(1L);
+        assertThat(questionCatalog.count()).isEqualTo(3);
+
+        verify(questionRepository, times(1)).findAllForCatalog();
+    }
+
+    /**
+     * Test 2: Änderungen werden ohne erneute DB-Abfrage in den Snapshot übernommen
+     */
+    @Test
+    public void whenQuestionChanged_thenSnapshotIsSwapped() {
+        // Arrange
+        when(questionRepository.findAllForCatalog()).thenReturn(List.of(
+                createTestQuestion(1L, "sports", "easy"),
+                createTestQuestion(2L, "sports", "hard")
+        ));
+        List<Question> before = questionCatalog.findByCategory("sports");
+
+        // Act
+        questionCatalog.onQuestionChanged(QuestionChangedEvent.updated(createTestQuestion(2L, "history", "hard")));
+        questionCatalog.onQuestionChanged(QuestionChangedEvent.created(createTestQuestion(3L, "sports", "medium")));
+        questionCatalog.onQuestionChanged(QuestionChangedEvent.deleted(1L, 2L));
+
+        // Assert - alter Snapshot bleibt unverändert, neuer hat alle Änderungen
+        assertThat(before).extracting(Question::getId).containsExactly(1L, 2L);
+        assertThat(questionCatalog.findByCategory("sports")).extracting(Question::getId).containsExactly(3L);
+        assertThat(questionCatalog.findByCategory("history")).extracting(Question::getId).containsExactly(2L);
+        assertThat(questionCatalog.findById(1L)).isEmpty();
+
+        verify(questionRepository, times(1)).findAllForCatalog();
+    }
+
+    /**
+     * Test 3: Events vor dem ersten Laden werden ignoriert (kein DB-Zugriff)
+     */
+    @Test
+    public void whenEventBeforeFirstLoad_thenNothingIsLoaded() {
+        // Act
+        questionCatalog.onQuestionChanged(QuestionChangedEvent.deleted(1L, 2L));
+
+        // Assert
+        verifyNoInteractions(questionRepository);
+    }
+
+    /**
+     * Helper-Methode zum Erstellen von Test-Fragen mit ID
+     */
+    private Question createTestQuestion(Long id, String category, String difficulty) {
+        return new Question(
+                id,
+                "Frage " + id,
+                "Antwort " + id,
+                Arrays.asList("Falsch 1", "Falsch 2", "Falsch 3"),
+                category,
+                difficulty,
+                null
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package com.wiss.quizbackend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QuestionCatalogVersionTest {
+
+    private static final Instant START = Instant.parse("2025-11-10T12:00:00.250Z");
+
+    /**
+     * Test 1: Viele Änderungen in derselben Sekunde - neue Version, aber Last-Modified nie nach der Uhr
+     */
+    @Test
+    public void whenManyChangesWithinOneSecond_thenLastModifiedStaysAtClock() {
+        // Arrange
+        QuestionCatalogVersion catalogVersion = new QuestionCatalogVersion(Clock.fixed(START, ZoneOffset.UTC));
+        String initialETag = catalogVersion.getETag();
+
+        // Act - z.B. ein grosser Import in vielen Chunks
+        for (int i = 0; i < 2_000; i++) {
+            catalogVersion.increment();
+        }
+
+        // Assert
+        assertThat(catalogVersion.getVersion()).isEqualTo(2_001);
+        assertThat(catalogVersion.getETag()).isNotEqualTo(initialETag);
+        assertThat(catalogVersion.getLastModified()).isEqualTo(Instant.parse("2025-11-10T12:00:00Z"));
+    }
+
+    /**
+     * Test 2: Nach einem Neustart bekommt ein Client mit altem If-Modified-Since die geänderten Daten
+     */
+    @Test
+    public void whenChangedAfterRestart_thenOldIfModifiedSinceIsNotModified() {
+        // Arrange - vor dem Neustart viele Änderungen, der Client merkt sich Last-Modified
+        QuestionCatalogVersion beforeRestart = new QuestionCatalogVersion(Clock.fixed(START, ZoneOffset.UTC));
+        for (int i = 0; i < 2_000; i++) {
+            beforeRestart.increment();
+        }
+        long clientLastModified = beforeRestart.getLastModified().toEpochMilli();
+
+        QuestionCatalogVersion afterRestart = new QuestionCatalogVersion(
+                Clock.fixed(START.plusSeconds(60), ZoneOffset.UTC));
+        afterRestart.increment();
+
+        // Act
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/questions");
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, clientLastModified);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean notModified = afterRestart.checkNotModified(new ServletWebRequest(request, response));
+
+        // Assert
+        assertThat(notModified).isFalse();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getDateHeader(HttpHeaders.LAST_MODIFIED))
+                .isEqualTo(START.plusSeconds(60).toEpochMilli() / 1000 * 1000);
+    }
+}
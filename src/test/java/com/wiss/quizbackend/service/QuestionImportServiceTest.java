@@ -0,0 +1,177 @@
+package com.wiss.quizbackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.quizbackend.dto.ImportReportDTO;
+import com.wiss.quizbackend.entity.Question;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class QuestionImportServiceTest {
+
+    @Mock
+    private QuestionCatalog questionCatalog;
+
+    @Mock
+    private QuestionImportWriter writer;
+
+    /**
+     * Test 1: JSON-Array im OpenTDB-Format wird gelesen und in einem Chunk gespeichert
+     */
+    @Test
+    public void whenJsonArrayInOpenTdbFormat_thenAllQuestionsImported() throws Exception {
+        // Arrange
+        QuestionImportService service = createService(500);
+        String json = """
+                [
+                  {"type": "multiple", "difficulty": "Easy", "category": "geography",
+                   "question": "Was ist die Hauptstadt der Schweiz?", "correct_answer": "Bern",
+                   "incorrect_answers": ["Genf", "Zürich", "Zug"]},
+                  {"type": "multiple", "difficulty": "medium", "category": "science",
+                   "question": "Welches Element hat das Symbol O?", "correct_answer": "Sauerstoff",
+                   "incorrect_answers": ["Gold", "Osmium", "Ozon"]}
+                ]
+                """;
+
+        // Act
+        ImportReportDTO report = service.importQuestions(stream(json), 7L);
+
+        // Assert
+        assertThat(report.getReceived()).isEqualTo(2);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getFailed()).isZero();
+        assertThat(report.isAborted()).isFalse();
+
+        ArgumentCaptor<List<Question>> chunk = chunkCaptor();
+        verify(writer).writeChunk(chunk.capture(), eq(7L));
+        assertThat(chunk.getValue()).extracting(Question::getDifficulty).containsExactly("easy", "medium");
+        assertThat(chunk.getValue().get(0).getIncorrectAnswers()).containsExactly("Genf", "Zürich", "Zug");
+    }
+
+    /**
+     * Test 2: ndjson - ungültige Einträge und Duplikate (Bestand und Upload) werden gemeldet
+     */
+    @Test
+    public void whenNdjsonWithInvalidAndDuplicateEntries_thenOnlyValidImported() throws Exception {
+        // Arrange
+        when(questionCatalog.findAll()).thenReturn(List.of(new Question(1L,
+                "Was ist die Hauptstadt der Schweiz?", "Bern", List.of("Genf", "Zürich", "Zug"),
+                "geography", "easy", null)));
+        QuestionImportService service = createService(500);
+        String ndjson = """
+                {"question": "was ist die Hauptstadt der Schweiz? ", "correctAnswer": "Bern", "answers": ["Bern", "Genf", "Zürich", "Zug"], "category": "geography", "difficulty": "easy"}
+                {"question": "Wer malte die Mona Lisa?", "correctAnswer": "Da Vinci", "answers": ["Da Vinci", "Picasso", "Monet", "Dali"], "category": "art", "difficulty": "easy"}
+                {"question": "Wie viele Spieler hat ein Fussballteam?", "correctAnswer": "11", "answers": ["11", "10", "9", "12"], "category": "sports", "difficulty": "easy"}
+                {"question": "Wie viele Spieler hat ein Fussballteam?", "correctAnswer": "11", "answers": ["11", "10", "9", "12"], "category": "sports", "difficulty": "easy"}
+                {"question": "Zu wenig Antworten?", "correctAnswer": "Ja", "answers": ["Ja", "Nein"], "category": "sports", "difficulty": "easy"}
+                """;
+
+        // Act
+        ImportReportDTO report = service.importQuestions(stream(ndjson), 7L);
+
+        // Assert
+        assertThat(report.getReceived()).isEqualTo(5);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getDuplicates()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(ImportReportDTO.ImportError::getIndex).containsExactly(1, 4);
+        verify(writer, times(1)).writeChunk(anyList(), eq(7L));
+    }
+
+    /**
+     * Test 3: Grosse Uploads werden in Chunks geschrieben
+     */
+    @Test
+    public void whenMoreQuestionsThanChunkSize_thenWrittenInChunks() throws Exception {
+        // Arrange
+        QuestionImportService service = createService(2);
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            ndjson.append(line("Testfrage Nummer " + i)).append('\n');
+        }
+
+        // Act
+        ImportReportDTO report = service.importQuestions(stream(ndjson.toString()), 7L);
+
+        // Assert
+        assertThat(report.getImported()).isEqualTo(5);
+        assertThat(report.getChunks()).isEqualTo(3);
+
+        ArgumentCaptor<List<Question>> chunk = chunkCaptor();
+        verify(writer, times(3)).writeChunk(chunk.capture(), eq(7L));
+        assertThat(chunk.getAllValues()).extracting(List::size).containsExactly(2, 2, 1);
+    }
+
+    /**
+     * Test 4: Kaputtes JSON bricht ab, bereits gelesene Fragen werden trotzdem gespeichert
+     */
+    @Test
+    public void whenJsonBreaks_thenImportAbortedAfterValidPart() throws Exception {
+        // Arrange
+        QuestionImportService service = createService(500);
+        String ndjson = line("Erste gültige Frage") + "\n{\"question\": \"kaputt\n";
+
+        // Act
+        ImportReportDTO report = service.importQuestions(stream(ndjson), 7L);
+
+        // Assert
+        assertThat(report.isAborted()).isTrue();
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(1);
+        verify(writer).writeChunk(anyList(), eq(7L));
+    }
+
+    /**
+     * Test 5: Schlägt ein Chunk fehl, zählen alle seine Fragen als fehlerhaft - der Rest läuft weiter
+     */
+    @Test
+    public void whenChunkFails_thenOtherChunksStillWritten() throws Exception {
+        // Arrange
+        QuestionImportService service = createService(2);
+        doThrow(new RuntimeException("DB weg")).doNothing().when(writer).writeChunk(anyList(), any());
+        String ndjson = line("Frage eins hier") + "\n" + line("Frage zwei hier") + "\n" + line("Frage drei hier");
+
+        // Act
+        ImportReportDTO report = service.importQuestions(stream(ndjson), 7L);
+
+        // Assert
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).hasSize(1);
+        assertThat(report.getErrors().get(0).getIndex()).isZero();
+    }
+
+    // ==================== Hilfsmethoden ====================
+
+    private QuestionImportService createService(int chunkSize) {
+        return new QuestionImportService(new ObjectMapper(), questionCatalog, writer, chunkSize, 100);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String line(String question) {
+        return "{\"question\": \"" + question + "\", \"correct_answer\": \"A\", " +
+                "\"incorrect_answers\": [\"B\", \"C\", \"D\"], \"category\": \"history\", \"difficulty\": \"hard\"}";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Question>> chunkCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
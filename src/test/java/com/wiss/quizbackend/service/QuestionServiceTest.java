@@ -1,14 +1,18 @@
 package com.wiss.quizbackend.service;
 
+import com.wiss.quizbackend.dto.CursorPageDTO;
 import com.wiss.quizbackend.dto.QuestionDTO;
 import com.wiss.quizbackend.entity.Question;
 import com.wiss.quizbackend.repository.QuestionRepository;
+import com.wiss.quizbackend.search.QuestionSearchIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +27,18 @@ public class QuestionServiceTest {
     @Mock
     private QuestionRepository questionRepository;
 
+    @Mock
+    private QuestionCatalog questionCatalog;
+
+    @Mock
+    private QuestionSearchIndex questionSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private QuestionChangeLog changeLog;
+
     @InjectMocks
     private QuestionService questionService;
 
@@ -205,6 +221,38 @@ public class QuestionServiceTest {
         verify(questionRepository, times(1)).save(any(Question.class));
     }
 
+    /**
+     * Test 8: Keyset-Pagination über den Katalog
+     */
+    @Test
+    public void whenGetQuestionPage_thenReturnItemsAfterCursorAndNextCursor() {
+        // Arrange - Katalog liefert Fragen sortiert nach ID
+        List<Question> catalogQuestions = new ArrayList<>();
+        for (long id : new long[]{2L, 4L, 6L, 8L, 10L}) {
+            Question question = createTestQuestion("Frage " + id, "Antwort " + id);
+            question.setId(id);
+            catalogQuestions.add(question);
+        }
+        when(questionCatalog.findByFilter(null, null)).thenReturn(catalogQuestions);
+
+        // Act
+        CursorPageDTO<QuestionDTO> firstPage = questionService.getQuestionPageAsDTO(null, null, null, 2);
+        CursorPageDTO<QuestionDTO> middlePage = questionService.getQuestionPageAsDTO(null, null, 5L, 2);
+        CursorPageDTO<QuestionDTO> lastPage = questionService.getQuestionPageAsDTO(null, null, 8L, 2);
+
+        // Assert
+        assertThat(firstPage.getItems()).extracting(QuestionDTO::getId).containsExactly(2L, 4L);
+        assertThat(firstPage.getNextCursor()).isEqualTo(4L);
+
+        assertThat(middlePage.getItems()).extracting(QuestionDTO::getId).containsExactly(6L, 8L);
+        assertThat(middlePage.getNextCursor()).isEqualTo(8L);
+
+        assertThat(lastPage.getItems()).extracting(QuestionDTO::getId).containsExactly(10L);
+        assertThat(lastPage.hasNext()).isFalse();
+
+        verifyNoInteractions(questionRepository);
+    }
+
     /**
      * Helper-Methode zum Erstellen von Test-Fragen
      */
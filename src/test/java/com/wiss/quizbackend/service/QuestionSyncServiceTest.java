@@ -0,0 +1,142 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.dto.QuestionChangesDTO;
+import com.wiss.quizbackend.dto.QuestionFormDTO;
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.entity.QuestionTombstone;
+import com.wiss.quizbackend.repository.QuestionRepository;
+import com.wiss.quizbackend.repository.QuestionTombstoneRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class QuestionSyncServiceTest {
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private QuestionTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private QuestionChangeLog changeLog;
+
+    @InjectMocks
+    private QuestionSyncService syncService;
+
+    /**
+     * Test 1: Mehr Änderungen als limit - die Seite endet an der Nummer der limit-ten Änderung
+     */
+    @Test
+    public void whenMoreChangesThanLimit_thenPageEndsAtBoundaryAndHasMore() {
+        // Arrange
+        when(changeLog.safeWatermark()).thenReturn(20L);
+        when(changeLog.getCompactedSeq()).thenReturn(0L);
+        when(questionRepository.findChangeSeqAt(10L, 20L, 1)).thenReturn(14L);
+        when(questionRepository.findChangedBetween(10L, 14L)).thenReturn(List.of(question(3L, "Frage 3")));
+        when(tombstoneRepository.findChangedBetween(10L, 14L)).thenReturn(List.of(new QuestionTombstone(7L, 12L)));
+
+        // Act
+        QuestionChangesDTO changes = syncService.getChangesSince(10L, 2);
+
+        // Assert
+        assertThat(changes.isReset()).isFalse();
+        assertThat(changes.isHasMore()).isTrue();
+        assertThat(changes.getSince()).isEqualTo(10L);
+        assertThat(changes.getNextSince()).isEqualTo(14L);
+        assertThat(changes.getUpserts()).extracting(QuestionFormDTO::getId).containsExactly(3L);
+        assertThat(changes.getDeleted()).containsExactly(7L);
+    }
+
+    /**
+     * Test 2: Letzte Seite - nextSince ist die Obergrenze, keine weiteren Seiten
+     */
+    @Test
+    public void whenFewerChangesThanLimit_thenPageReachesWatermark() {
+        // Arrange
+        when(changeLog.safeWatermark()).thenReturn(20L);
+        when(changeLog.getCompactedSeq()).thenReturn(0L);
+        when(questionRepository.findChangeSeqAt(14L, 20L, 499)).thenReturn(null);
+        when(questionRepository.findChangedBetween(14L, 20L)).thenReturn(List.of(question(4L, "Frage 4")));
+        when(tombstoneRepository.findChangedBetween(14L, 20L)).thenReturn(List.of());
+
+        // Act
+        QuestionChangesDTO changes = syncService.getChangesSince(14L, null);
+
+        // Assert
+        assertThat(changes.isHasMore()).isFalse();
+        assertThat(changes.getNextSince()).isEqualTo(20L);
+        assertThat(changes.getUpserts()).hasSize(1);
+        assertThat(changes.getDeleted()).isEmpty();
+    }
+
+    /**
+     * Test 3: since älter als die kompaktierten Tombstones - Reset mit dem ganzen Katalog
+     */
+    @Test
+    public void whenSinceBeforeCompactedTombstones_thenResetWithFullCatalog() {
+        // Arrange
+        when(changeLog.safeWatermark()).thenReturn(50L);
+        when(changeLog.getCompactedSeq()).thenReturn(30L);
+        when(questionRepository.findChangedBetween(0L, 50L))
+                .thenReturn(List.of(question(1L, "Frage 1"), question(2L, "Frage 2")));
+
+        // Act
+        QuestionChangesDTO changes = syncService.getChangesSince(5L, 100);
+
+        // Assert
+        assertThat(changes.isReset()).isTrue();
+        assertThat(changes.isHasMore()).isFalse();
+        assertThat(changes.getNextSince()).isEqualTo(50L);
+        assertThat(changes.getUpserts()).extracting(QuestionFormDTO::getId).containsExactly(1L, 2L);
+        assertThat(changes.getDeleted()).isEmpty();
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    /**
+     * Test 4: Client ist aktuell - leere Antwort ohne weitere Queries
+     */
+    @Test
+    public void whenNothingChanged_thenEmptyResponse() {
+        // Arrange
+        when(changeLog.safeWatermark()).thenReturn(20L);
+        when(changeLog.getCompactedSeq()).thenReturn(0L);
+
+        // Act
+        QuestionChangesDTO changes = syncService.getChangesSince(20L, null);
+
+        // Assert
+        assertThat(changes.getNextSince()).isEqualTo(20L);
+        assertThat(changes.getUpserts()).isEmpty();
+        assertThat(changes.getDeleted()).isEmpty();
+        verify(questionRepository, never()).findChangeSeqAt(anyLong(), anyLong(), anyInt());
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    /**
+     * Test 5: Ungültiges limit wird abgelehnt
+     */
+    @Test
+    public void whenLimitTooLarge_thenThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThatThrownBy(() -> syncService.getChangesSince(0L, 5000))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Limit");
+        verifyNoInteractions(changeLog);
+    }
+
+    private static Question question(Long id, String text) {
+        return new Question(id, text, "Antwort", List.of("A", "B", "C"), "science", "easy", null);
+    }
+}
@@ -0,0 +1,66 @@
+package com.wiss.quizbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RandomSamplerTest {
+
+    /**
+     * Test 1: k verschiedene Elemente aus dem Pool ziehen
+     */
+    @Test
+    public void whenSample_thenReturnDistinctElementsFromPool() {
+        // Arrange
+        long[] pool = LongStream.rangeClosed(1, 1_000).toArray();
+
+        // Act
+        long[] result = RandomSampler.sample(pool, 50, new Random(42));
+
+        // Assert
+        assertThat(result).hasSize(50);
+        assertThat(Arrays.stream(result).distinct().count()).isEqualTo(50);
+        assertThat(Arrays.stream(result).boxed().toList()).allMatch(id -> id >= 1 && id <= 1_000);
+    }
+
+    /**
+     * Test 2: Pool kleiner als k - alle Elemente gemischt zurückgeben
+     */
+    @Test
+    public void whenPoolSmallerThanLimit_thenReturnWholePool() {
+        // Arrange
+        long[] pool = {3L, 7L, 9L};
+
+        // Act
+        long[] result = RandomSampler.sample(pool, 5, new Random(42));
+
+        // Assert
+        assertThat(result).containsExactlyInAnyOrder(3L, 7L, 9L);
+        assertThat(pool).containsExactly(3L, 7L, 9L);  // Pool bleibt unverändert
+    }
+
+    /**
+     * Test 3: Jedes Element wird ungefähr gleich oft gezogen
+     */
+    @Test
+    public void whenSampledOften_thenDistributionIsUniform() {
+        // Arrange
+        long[] pool = LongStream.range(0, 10).toArray();
+        int[] hits = new int[10];
+        Random random = new Random(7);
+
+        // Act
+        for (int i = 0; i < 20_000; i++) {
+            for (long id : RandomSampler.sample(pool, 3, random)) {
+                hits[(int) id]++;
+            }
+        }
+
+        // Assert - erwartet: 20'000 * 3 / 10 = 6'000 pro Element
+        assertThat(Arrays.stream(hits).boxed().toList()).allMatch(count -> count > 5_500 && count < 6_500);
+    }
+}
@@ -0,0 +1,196 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.CategoryStats;
+import com.wiss.quizbackend.entity.GameSession;
+import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.entity.UserStats;
+import com.wiss.quizbackend.job.UserStatsBackfillJob;
+import com.wiss.quizbackend.repository.UserStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testet UserStatsService und UserStatsBackfillJob gegen das von Flyway migrierte H2-Schema:
+ * das MERGE beim ersten Game, die Zeilen-Sperre und die Aggregation über game_sessions + Archiv.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(UserStatsService.class)
+public class UserStatsServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    private Long userId;
+
+    @BeforeEach
+    public void setUp() {
+        AppUser user = entityManager.persistAndFlush(
+                new AppUser("statsuser", "stats@example.com", "secret", Role.PLAYER));
+        userId = user.getId();
+    }
+
+    /**
+     * Test 1: Das erste Game legt die Zeile per MERGE an und zählt es
+     */
+    @Test
+    public void whenFirstGame_thenStatsRowIsCreated() {
+        // Arrange
+        assertThat(countStatsRows(userId)).isZero();
+
+        // Act
+        userStatsService.recordGameStarted(userId, "Geography");
+        userStatsService.recordGameFinished(userId, "Geography", 80, 80);
+
+        // Assert
+        UserStats stats = reload(userId).orElseThrow();
+        assertThat(stats.getUsername()).isEqualTo("statsuser");
+        assertThat(stats.getGamesPlayed()).isEqualTo(1);
+        assertThat(stats.getTotalScore()).isEqualTo(80);
+        assertThat(stats.getBestScore()).isEqualTo(80);
+        assertThat(stats.getCategories()).containsOnlyKeys("geography");
+        assertThat(countStatsRows(userId)).isEqualTo(1);
+    }
+
+    /**
+     * Test 2: Ein weiteres Game sperrt die bestehende Zeile und zählt weiter, statt sie neu anzulegen
+     */
+    @Test
+    public void whenRepeatGame_thenStatsAreAccumulated() {
+        // Arrange
+        userStatsService.recordGameStarted(userId, "geography");
+        userStatsService.recordGameFinished(userId, "geography", 80, 80);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        userStatsService.recordGameStarted(userId, "history");
+        userStatsService.recordGameFinished(userId, "history", 50, 50);
+
+        // Assert
+        UserStats stats = reload(userId).orElseThrow();
+        assertThat(stats.getGamesPlayed()).isEqualTo(2);
+        assertThat(stats.getTotalScore()).isEqualTo(130);
+        assertThat(stats.getBestScore()).isEqualTo(80);
+        assertThat(stats.getCategories()).containsOnlyKeys("geography", "history");
+        assertThat(countStatsRows(userId)).isEqualTo(1);
+    }
+
+    /**
+     * Test 3: Rebuild überschreibt die Werte aus game_sessions + Archiv, auch mehrfach hintereinander
+     */
+    @Test
+    public void whenRebuiltTwice_thenStatsAreOverwrittenNotAdded() {
+        // Arrange - veraltete Statistik plus Games live und im Archiv (Kategorie in zwei Schreibweisen)
+        userStatsService.recordGameStarted(userId, "geography");
+        userStatsService.recordGameFinished(userId, "geography", 999, 999);
+        entityManager.persist(new GameSession(userId, "Geography", 5, 10, 50));
+        entityManager.persist(new GameSession(userId, "geography", 8, 10, 80));
+        entityManager.persist(new GameSession(userId, "history", 3, 10, 30));
+        entityManager.flush();
+        insertArchive(userId, "geography", 4, 200, 70);
+
+        // Act
+        userStatsService.rebuild(userId);
+        entityManager.flush();
+        userStatsService.rebuild(userId);
+
+        // Assert
+        UserStats stats = reload(userId).orElseThrow();
+        assertThat(stats.getGamesPlayed()).isEqualTo(7);
+        assertThat(stats.getTotalScore()).isEqualTo(360);
+        assertThat(stats.getBestScore()).isEqualTo(80);
+
+        CategoryStats geography = stats.getCategories().get("geography");
+        assertThat(geography.getGamesPlayed()).isEqualTo(6);
+        assertThat(geography.getTotalScore()).isEqualTo(330);
+        assertThat(geography.getBestScore()).isEqualTo(80);
+        assertThat(stats.getCategories()).containsOnlyKeys("geography", "history");
+    }
+
+    /**
+     * Test 4: Der Backfill-Job berechnet alle User mit Games neu und lässt User ohne Games aus
+     */
+    @Test
+    public void whenBackfillRuns_thenOnlyUsersWithSessionsGetStats() {
+        // Arrange - ein zweiter User ohne ein einziges Game
+        AppUser idle = entityManager.persistAndFlush(
+                new AppUser("idleuser", "idle@example.com", "secret", Role.PLAYER));
+        entityManager.persist(new GameSession(userId, "geography", 5, 10, 50));
+        entityManager.flush();
+        insertArchive(userId, "history", 2, 60, 40);
+
+        UserStatsBackfillJob job = new UserStatsBackfillJob(userStatsRepository, userStatsService);
+
+        // Act - zweimal, der Job muss wiederholbar sein
+        job.run(null);
+        entityManager.flush();
+        job.run(null);
+
+        // Assert
+        UserStats stats = reload(userId).orElseThrow();
+        assertThat(stats.getGamesPlayed()).isEqualTo(3);
+        assertThat(stats.getTotalScore()).isEqualTo(110);
+        assertThat(stats.getBestScore()).isEqualTo(50);
+        assertThat(stats.getCategories()).containsOnlyKeys("geography", "history");
+
+        assertThat(reload(idle.getId())).isEmpty();
+    }
+
+    /**
+     * Test 5: Rebuild für einen User ohne Games legt eine leere Statistik an
+     */
+    @Test
+    public void whenRebuiltWithoutSessions_thenStatsAreZero() {
+        // Act
+        userStatsService.rebuild(userId);
+
+        // Assert
+        UserStats stats = reload(userId).orElseThrow();
+        assertThat(stats.getGamesPlayed()).isZero();
+        assertThat(stats.getTotalScore()).isZero();
+        assertThat(stats.getBestScore()).isZero();
+        assertThat(stats.getCategories()).isEmpty();
+    }
+
+    /**
+     * Helper-Methode: Änderungen schreiben und die Statistik frisch aus der Datenbank laden
+     */
+    private Optional<UserStats> reload(Long id) {
+        entityManager.flush();
+        entityManager.clear();
+        return userStatsService.findStats(id);
+    }
+
+    private int countStatsRows(Long id) {
+        entityManager.flush();
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_stats WHERE user_id = ?", Integer.class, id);
+    }
+
+    private void insertArchive(Long id, String category, long games, long totalScore, int bestScore) {
+        jdbcTemplate.update("""
+                INSERT INTO game_session_archive (month_start, user_id, category, games_played, total_score, best_score)
+                VALUES (DATE '2026-01-01', ?, ?, ?, ?, ?)
+                """, id, category, games, totalScore, bestScore);
+    }
+}
@@ -0,0 +1,110 @@
+package com.wiss.quizbackend.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.quizbackend.dto.LeaderboardDTO;
+import com.wiss.quizbackend.event.ScoreChangedEvent;
+import com.wiss.quizbackend.service.LeaderboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaderboardStreamTest {
+
+    @Mock
+    private SseBroadcaster broadcaster;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    private LeaderboardStream stream;
+
+    @BeforeEach
+    public void setUp() {
+        stream = new LeaderboardStream(broadcaster, leaderboardService, new ObjectMapper(), 10);
+    }
+
+    /**
+     * Test 1: 1'000 beendete Games in einem Tick ergeben EIN Update pro Leaderboard
+     */
+    @Test
+    public void whenBurstOfFinishedGames_thenOneUpdatePerBoardAndTick() {
+        // Arrange
+        when(leaderboardService.getTopPlayers(10))
+                .thenReturn(List.of(entry(1L, 100L, 1)))
+                .thenReturn(List.of(entry(2L, 900L, 1), entry(1L, 100L, 2)));
+        when(leaderboardService.getTopPlayersByCategory("sports", 10))
+                .thenReturn(List.of(entry(1L, 100L, 1)))
+                .thenReturn(List.of(entry(2L, 900L, 1), entry(1L, 100L, 2)));
+        when(broadcaster.hasSubscribers(anyString())).thenReturn(true);
+        stream.subscribe(null);
+        stream.subscribe("Sports");
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            stream.onScoreChanged(ScoreChangedEvent.gameFinished(2L, "sports", 1, LocalDateTime.now()));
+        }
+        stream.tick();
+        stream.tick();  // nichts mehr markiert - kein weiteres Lesen
+
+        // Assert
+        verify(leaderboardService, times(2)).getTopPlayers(10);
+        verify(leaderboardService, times(2)).getTopPlayersByCategory("sports", 10);
+        verify(broadcaster, times(1)).publish(eq("*"), anyList());
+        verify(broadcaster, times(1)).publish(eq("sports"), anyList());
+        verify(broadcaster).subscribe(eq("sports"), anyList());
+    }
+
+    /**
+     * Test 2: Ändert sich an den Top N nichts, wird auch nichts verschickt
+     */
+    @Test
+    public void whenTopPositionsUnchanged_thenNoUpdate() {
+        // Arrange
+        List<LeaderboardDTO> top = List.of(entry(1L, 100L, 3));
+        when(leaderboardService.getTopPlayersByCategory("math", 10)).thenReturn(top);
+        when(broadcaster.hasSubscribers("math")).thenReturn(true);
+        when(broadcaster.hasSubscribers("*")).thenReturn(false);
+        stream.subscribe("math");
+
+        // Act
+        stream.onScoreChanged(ScoreChangedEvent.gameFinished(9L, "math", 5, LocalDateTime.now()));
+        stream.tick();
+
+        // Assert - globales Leaderboard ohne Abonnenten wird gar nicht gelesen
+        verify(leaderboardService, never()).getTopPlayers(anyInt());
+        verify(broadcaster, never()).publish(anyString(), anyList());
+    }
+
+    /**
+     * Test 3: Das Update enthält nur die Plätze, die sich geändert haben
+     */
+    @Test
+    public void whenUserOvertakes_thenOnlyChangedPositionsAreSent() {
+        // Arrange
+        List<LeaderboardDTO> previous = List.of(entry(1L, 100L, 1), entry(2L, 50L, 2));
+        List<LeaderboardDTO> current = List.of(entry(1L, 100L, 1), entry(3L, 70L, 2), entry(2L, 50L, 3));
+
+        // Act
+        List<LeaderboardDTO> changed = LeaderboardStream.changedPositions(previous, current);
+
+        // Assert
+        assertThat(changed).extracting(LeaderboardDTO::getUserId).containsExactly(3L, 2L);
+        assertThat(changed).extracting(LeaderboardDTO::getRank).containsExactly(2, 3);
+    }
+
+    private static LeaderboardDTO entry(Long userId, Long totalScore, int rank) {
+        LeaderboardDTO dto = new LeaderboardDTO(userId, "user" + userId, 1L, totalScore);
+        dto.setRank(rank);
+        return dto;
+    }
+}
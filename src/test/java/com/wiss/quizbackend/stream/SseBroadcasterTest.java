@@ -0,0 +1,112 @@
+package com.wiss.quizbackend.stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SseBroadcasterTest {
+
+    /**
+     * Test 1: Events kommen in der richtigen Reihenfolge beim Abonnenten an
+     */
+    @Test
+    public void whenEventsPublished_thenSubscriberReceivesThemInOrder() {
+        // Arrange - direkter Executor: geschrieben wird sofort im Test-Thread
+        SseBroadcaster broadcaster = new SseBroadcaster("test", 10, 0L, Runnable::run);
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        broadcaster.subscribe(emitter);
+
+        // Act
+        broadcaster.publish(SseEmitter.event().name("created").data("1"));
+        broadcaster.publish(List.of(
+                SseEmitter.event().name("created").data("2"),
+                SseEmitter.event().name("created").data("3")));
+
+        // Assert - "connected"-Kommentar, dann die Events
+        assertThat(emitter.sent).hasSize(4);
+        assertThat(emitter.sent.get(0)).contains(":connected");
+        assertThat(emitter.sent.get(1)).contains("event:created", "data:1");
+        assertThat(emitter.sent.get(3)).contains("data:3");
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+    }
+
+    /**
+     * Test 2: Ein blockierter Client hält weder den Absender noch andere Clients auf
+     * und wird bei vollem Puffer getrennt
+     */
+    @Test
+    public void whenSubscriberTooSlow_thenItIsDroppedWithoutBlockingOthers() throws Exception {
+        // Arrange
+        SseBroadcaster broadcaster = new SseBroadcaster("test", 2, 0L, Executors.newVirtualThreadPerTaskExecutor());
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        broadcaster.subscribe(slow);
+        broadcaster.subscribe(fast);
+
+        // Act - der blockierte Client darf die Schleife nicht aufhalten; gewartet wird nur
+        // auf den schnellen Client, damit dessen Puffer nie voll wird
+        for (int i = 1; i <= 10; i++) {
+            broadcaster.publish(SseEmitter.event().name("updated").data(String.valueOf(i)));
+            assertThat(fast.awaitSends(i + 1)).isTrue();
+        }
+        release.countDown();
+
+        // Assert
+        assertThat(fast.sent.get(10)).contains("data:10");
+
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slow.sent).hasSizeLessThanOrEqualTo(1);
+        assertThat(broadcaster.getDroppedSubscriberCount()).isEqualTo(1);
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+    }
+
+    /**
+     * Emitter ohne Servlet-Request: merkt sich, was geschrieben wird. Mit {@code release}
+     * blockiert jedes send(), bis der Test den Latch freigibt (wie ein hängender Client).
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch release;
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        boolean awaitSends(int expected) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (sent.size() < expected && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            return sent.size() >= expected;
+        }
+    }
+}